@@ -0,0 +1,43 @@
+package com.mygdx.game.bench;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.mygdx.game.headless.HeadlessSimulation;
+import com.mygdx.game.utility.assets.AssetDirectory;
+
+/**
+ * Process-wide libGDX context shared by all benchmarks of a JMH fork.
+ * <br>
+ * Starting the headless backend sets up Gdx.files/Gdx.audio and loads the natives. Loading
+ * assets.json takes several seconds, so the directory is loaded once per fork and handed to
+ * every HeadlessSimulation created by the benchmark states.
+ */
+public class BenchContext {
+
+    /** the shared asset directory */
+    private static AssetDirectory directory;
+
+    /**
+     * @return the loaded asset directory, starting the headless backend on first use
+     */
+    public static synchronized AssetDirectory assets() {
+        if (directory == null) {
+            HeadlessApplicationConfiguration config = new HeadlessApplicationConfiguration();
+            // benchmarks drive everything from their own threads, never call render()
+            config.updatesPerSecond = -1;
+            new HeadlessApplication(new ApplicationAdapter() {}, config);
+            directory = HeadlessSimulation.loadAssets("assets.json");
+        }
+        return directory;
+    }
+
+    /**
+     * @return a new simulation over the shared asset directory
+     */
+    public static HeadlessSimulation simulation() {
+        return new HeadlessSimulation(assets(), false);
+    }
+
+    private BenchContext() {}
+}
@@ -0,0 +1,82 @@
+package com.mygdx.game.bench;
+
+import com.mygdx.game.headless.HeadlessSimulation;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-frame cost of the gameplay loop on the golden master levels.
+ * <br>
+ * frame measures a whole GameMode frame minus drawing. update and postUpdate measure the two
+ * halves separately; the other half is run outside of the measurement by a per-invocation
+ * fixture so that the level keeps advancing like it does in game.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GameplayBenchmark {
+
+    @State(Scope.Thread)
+    public static class Running {
+        @Param({"1", "11", "16", "27", "30"})
+        public int level;
+
+        public HeadlessSimulation sim;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            sim = BenchContext.simulation();
+            sim.loadLevel(level);
+            // let the player land and the level settle before measuring
+            sim.run(120);
+        }
+
+        /** restarts the level once it is over so every frame does real work */
+        void keepRunning() {
+            if (sim.isDone()) sim.restart();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            sim.dispose();
+        }
+    }
+
+    /** runs postUpdate after every measured update */
+    @State(Scope.Thread)
+    public static class UpdatePhase extends Running {
+        @TearDown(Level.Invocation)
+        public void finishFrame() {
+            sim.postUpdate();
+            keepRunning();
+        }
+    }
+
+    /** runs update before every measured postUpdate */
+    @State(Scope.Thread)
+    public static class PostUpdatePhase extends Running {
+        @Setup(Level.Invocation)
+        public void startFrame() {
+            keepRunning();
+            sim.update();
+        }
+    }
+
+    @Benchmark
+    public void frame(Running state) {
+        if (!state.sim.step()) state.sim.restart();
+    }
+
+    @Benchmark
+    public void update(UpdatePhase state) {
+        state.sim.update();
+    }
+
+    @Benchmark
+    public void postUpdate(PostUpdatePhase state) {
+        state.sim.postUpdate();
+    }
+}
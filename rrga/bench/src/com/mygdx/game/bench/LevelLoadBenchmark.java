@@ -0,0 +1,109 @@
+package com.mygdx.game.bench;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.JsonReader;
+import com.badlogic.gdx.utils.JsonValue;
+import com.mygdx.game.headless.HeadlessSimulation;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Level start cost: LevelParser.parseLevel on raw Tiled JSON, LevelParser.parseCompiledLevel on the
+ * precompiled form of the same level, LevelContainer.populateLevel in a fresh world and
+ * the in-place restart used when a level is replayed.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class LevelLoadBenchmark {
+
+    @Param({"1", "16", "30"})
+    public int level;
+
+    private HeadlessSimulation sim;
+    private String levelFile;
+    /** fingerprint of the inputs of the level, stored in the precompiled copies */
+    private long fingerprint;
+    /**
+     * two copies of the precompiled level. parseCompiledLevel skips the file it loaded last time,
+     * so alternating between copies forces a full read on every call.
+     */
+    private final FileHandle[] compiled = new FileHandle[2];
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        sim = BenchContext.simulation();
+        levelFile = String.format("levels/golden_master/t%02d.json", level);
+        sim.loadLevel(new JsonReader().parse(Gdx.files.internal(levelFile)));
+        fingerprint = sim.getParser().getLevelFingerprint(sim.getDirectory(), level);
+        for (int ii = 0; ii < compiled.length; ii++) {
+            compiled[ii] = FileHandle.tempFile("level" + level);
+            OutputStream out = compiled[ii].write(false);
+            try {
+                sim.getParser().writeCompiledLevel(out, fingerprint);
+                out.close();
+            } catch (IOException e) {
+                throw new GdxRuntimeException(e);
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        for (FileHandle file : compiled) {
+            file.delete();
+        }
+        sim.dispose();
+    }
+
+    /**
+     * Freshly read level JSON. parseLevel annotates the raw objects it visits, so every parse
+     * needs its own copy (this also defeats the parser's "same data as last time" shortcut).
+     * Kept in its own state so that the other benchmarks do not pay for the read.
+     */
+    @State(Scope.Thread)
+    public static class LevelJson {
+        JsonValue data;
+
+        @Setup(Level.Invocation)
+        public void read(LevelLoadBenchmark bench) {
+            data = new JsonReader().parse(Gdx.files.internal(bench.levelFile));
+        }
+    }
+
+    @Benchmark
+    public void parseLevel(LevelJson json) {
+        sim.getParser().parseLevel(json.data);
+    }
+
+    @Benchmark
+    public void parseCompiledLevel() {
+        next ^= 1;
+        sim.getParser().parseCompiledLevel(compiled[next], fingerprint);
+    }
+
+    /**
+     * GameplayController.reset(): tears down the old world, then populates the parsed level.
+     */
+    @Benchmark
+    public void populateLevel() {
+        sim.getGameplayController().reset();
+    }
+
+    /**
+     * GameplayController.restart(): rewinds the populated level in the same world.
+     */
+    @Benchmark
+    public void restartLevel() {
+        sim.getGameplayController().restart();
+    }
+}
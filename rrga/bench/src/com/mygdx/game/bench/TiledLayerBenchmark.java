@@ -0,0 +1,79 @@
+package com.mygdx.game.bench;
+
+import com.badlogic.gdx.math.Vector2;
+import com.mygdx.game.GameCanvas;
+import com.mygdx.game.GameplayController;
+import com.mygdx.game.headless.HeadlessSimulation;
+import com.mygdx.game.utility.util.TiledLayer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CPU cost of TiledLayer.draw for every tile layer of a level, as GameMode.draw calls it.
+ * <br>
+ * GL is stubbed out, so this measures culling, region lookup and sprite batch vertex work
+ * (including batch flushes), but not the driver or GPU.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class TiledLayerBenchmark {
+
+    /** display size in world units (global constants "world") */
+    private static final float DISPLAY_WIDTH = 16;
+    private static final float DISPLAY_HEIGHT = 9;
+    /** draw scale at the default 1024x576 window */
+    private static final float DRAW_SCALE = 64;
+
+    @Param({"1", "16", "30"})
+    public int level;
+
+    /** camera zoom (GameMode.maximumZoom is the largest view) */
+    @Param({"1.0", "1.4"})
+    public float zoom;
+
+    private HeadlessSimulation sim;
+    private GameCanvas canvas;
+    private ArrayList<TiledLayer> layers;
+    private float ax;
+    private float ay;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        sim = BenchContext.simulation();
+        sim.loadLevel(level);
+        canvas = new GameCanvas();
+
+        layers = sim.getParser().getLayers();
+        Vector2 scale = new Vector2(DRAW_SCALE, DRAW_SCALE);
+        for (TiledLayer layer : layers) {
+            layer.setDrawScale(scale);
+        }
+        GameplayController controller = sim.getGameplayController();
+        ax = controller.getPlayer().getX();
+        ay = controller.getPlayer().getY();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        canvas.dispose();
+        sim.dispose();
+    }
+
+    @Benchmark
+    public int draw() {
+        int drawn = 0;
+        canvas.beginTranslated(ax * DRAW_SCALE, ay * DRAW_SCALE);
+        for (TiledLayer layer : layers) {
+            layer.draw(canvas, ax, ay, DISPLAY_WIDTH / 2 * zoom, DISPLAY_HEIGHT / 2 * zoom);
+            drawn += layer.lastDrawn();
+        }
+        canvas.end();
+        return drawn;
+    }
+}
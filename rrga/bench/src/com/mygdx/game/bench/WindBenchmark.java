@@ -0,0 +1,73 @@
+package com.mygdx.game.bench;
+
+import com.mygdx.game.GameplayController;
+import com.mygdx.game.headless.HeadlessSimulation;
+import com.mygdx.game.model.NewWindModel;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of NewWindModel.update (particle simulation) for all winds of a level, with every wind simulated
+ * and with only the winds near a camera view at the player's spawn simulated.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class WindBenchmark {
+
+    @Param({"10", "15", "30"})
+    public int level;
+
+    private HeadlessSimulation sim;
+    private NewWindModel[] winds;
+
+    /** half size of a typical camera view (game units) */
+    private static final float VIEW_HALF_WIDTH = 8f;
+    private static final float VIEW_HALF_HEIGHT = 4.5f;
+
+    /** player spawn, used as the camera center */
+    private float px, py;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        sim = BenchContext.simulation();
+        sim.loadLevel(level);
+        winds = new NewWindModel[sim.getGameplayController().getLevelContainer().getWinds().size];
+        int i = 0;
+        for (NewWindModel w : sim.getGameplayController().getLevelContainer().getWinds()) {
+            winds[i++] = w;
+        }
+        px = sim.getGameplayController().getPlayer().getX();
+        py = sim.getGameplayController().getPlayer().getY();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        sim.dispose();
+    }
+
+    @Benchmark
+    public int update() {
+        for (NewWindModel w : winds) {
+            w.update(GameplayController.WORLD_STEP);
+        }
+        return winds.length;
+    }
+
+    @Benchmark
+    public int updateNearView() {
+        float left = px - VIEW_HALF_WIDTH - GameplayController.WIND_SIMULATION_MARGIN;
+        float right = px + VIEW_HALF_WIDTH + GameplayController.WIND_SIMULATION_MARGIN;
+        float bottom = py - VIEW_HALF_HEIGHT - GameplayController.WIND_SIMULATION_MARGIN;
+        float top = py + VIEW_HALF_HEIGHT + GameplayController.WIND_SIMULATION_MARGIN;
+        for (NewWindModel w : winds) {
+            w.setSimulationView(left, bottom, right, top);
+            w.update(GameplayController.WORLD_STEP);
+        }
+        return winds.length;
+    }
+}
@@ -22,6 +22,7 @@ import com.badlogic.gdx.math.*;
 import com.badlogic.gdx.graphics.*;
 import com.badlogic.gdx.graphics.g2d.*;
 import com.badlogic.gdx.graphics.glutils.*;
+import com.badlogic.gdx.utils.IntArray;
 import com.badlogic.gdx.physics.box2d.*;
 
 /**
@@ -95,6 +96,19 @@ public class GameCanvas {
 
     /** Cache for draw position */
     private Vector2 positionCache = new Vector2();
+    /** Cache for laying out text */
+    private final GlyphLayout textLayout = new GlyphLayout();
+
+    /** Number of floats per particle quad (4 corners of x, y, packed color, u, v) */
+    private static final int PARTICLE_QUAD_SIZE = 20;
+    /** Maximum number of particle quads buffered before they are written to the sprite batch */
+    private static final int MAX_PARTICLES = 256;
+    /** Vertices of the buffered particle quads */
+    private final float[] particleVertices = new float[MAX_PARTICLES * PARTICLE_QUAD_SIZE];
+    /** Number of floats of particleVertices in use */
+    private int particleSize;
+    /** Texture of the buffered particle quads */
+    private Texture particleTexture;
 
     /**
      * Private method to process the wrap offset of an image.
@@ -425,10 +439,43 @@ public class GameCanvas {
      * Ends a drawing sequence, flushing textures to the graphics card.
      */
     public void end() {
+        flushParticles();
         spriteBatch.end();
         active = DrawPass.INACTIVE;
     }
 
+    /**
+     * Draws entries of a sprite cache in the middle of a drawing sequence.
+     *
+     * The sprite batch is flushed first, so anything drawn before stays below the cached
+     * sprites. The cache is drawn with the camera, transform and blend function of the batch.
+     *
+     * @param cache the sprite cache
+     * @param ids   the ids of the cache entries to draw, in drawing order
+     */
+    public void drawCache(SpriteCache cache, IntArray ids) {
+        if (active != DrawPass.STANDARD) {
+            Gdx.app.error("GameCanvas", "Cannot draw without active begin()", new IllegalStateException());
+            return;
+        }
+        if (ids.size == 0) {
+            return;
+        }
+
+        spriteBatch.end();
+        Gdx.gl.glEnable(GL20.GL_BLEND);
+        Gdx.gl.glBlendFuncSeparate(spriteBatch.getBlendSrcFunc(), spriteBatch.getBlendDstFunc(),
+                spriteBatch.getBlendSrcFuncAlpha(), spriteBatch.getBlendDstFuncAlpha());
+        cache.setProjectionMatrix(spriteBatch.getProjectionMatrix());
+        cache.setTransformMatrix(spriteBatch.getTransformMatrix());
+        cache.begin();
+        for (int ii = 0; ii < ids.size; ii++) {
+            cache.draw(ids.get(ii));
+        }
+        cache.end();
+        spriteBatch.begin();
+    }
+
     /**
      * Draws the tinted texture at the given position.
      *
@@ -580,30 +627,118 @@ public class GameCanvas {
     }
 
     /**
-     * Draw the seamless background image.
+     * Buffers an untransformed particle quad, centered at the given position.
+     *
+     * Particles are not drawn one by one: their quads are written straight into a
+     * vertex array, with the tint packed into the vertex color, and the array is
+     * handed to the sprite batch in one call by flushParticles(). This skips the
+     * per-sprite transform and tint of the other draw methods. All particles of a
+     * system should come from one texture page; a different texture flushes the
+     * buffered particles first.
+     *
+     * Buffered particles are only drawn when flushed, so call flushParticles()
+     * before drawing anything that must appear on top of them (end() flushes too).
+     *
+     * @param region The particle frame to draw
+     * @param color  The packed tint of the particle (@see Color#toFloatBits)
+     * @param x      The x-coordinate of the particle center
+     * @param y      The y-coordinate of the particle center
+     * @param width  The particle width
+     * @param height The particle height
+     */
+    public void drawParticle(TextureRegion region, float color, float x, float y, float width, float height) {
+        if (active != DrawPass.STANDARD) {
+            Gdx.app.error("GameCanvas", "Cannot draw without active begin()", new IllegalStateException());
+            return;
+        }
+        Texture texture = region.getTexture();
+        if (texture != particleTexture || particleSize == particleVertices.length) {
+            flushParticles();
+            particleTexture = texture;
+        }
+
+        float x1 = x - width / 2;
+        float y1 = y - height / 2;
+        float x2 = x1 + width;
+        float y2 = y1 + height;
+        float u = region.getU();
+        float v = region.getV2();
+        float u2 = region.getU2();
+        float v2 = region.getV();
+
+        float[] vertices = particleVertices;
+        int idx = particleSize;
+        vertices[idx++] = x1;
+        vertices[idx++] = y1;
+        vertices[idx++] = color;
+        vertices[idx++] = u;
+        vertices[idx++] = v;
+
+        vertices[idx++] = x1;
+        vertices[idx++] = y2;
+        vertices[idx++] = color;
+        vertices[idx++] = u;
+        vertices[idx++] = v2;
+
+        vertices[idx++] = x2;
+        vertices[idx++] = y2;
+        vertices[idx++] = color;
+        vertices[idx++] = u2;
+        vertices[idx++] = v2;
+
+        vertices[idx++] = x2;
+        vertices[idx++] = y1;
+        vertices[idx++] = color;
+        vertices[idx++] = u2;
+        vertices[idx++] = v;
+        particleSize = idx;
+    }
+
+    /**
+     * Draws the particles buffered by drawParticle() with a single sprite batch call.
+     */
+    public void flushParticles() {
+        if (particleSize == 0) {
+            return;
+        }
+        spriteBatch.draw(particleTexture, particleVertices, 0, particleSize);
+        particleSize = 0;
+    }
+
+    /**
+     * Draws a seamless, horizontally scrolling background layer.
      *
-     * The background image is drawn (with NO SCALING) at position x, y.  Width-wise,
-     * the image is seamlessly scrolled; when we reach the image we draw a second copy.
+     * The layer is drawn (with NO SCALING) with its bottom left corner at position x, y,
+     * wrapped to the view like the other background layers. Width-wise, the image is
+     * repeated across the whole view. Instead of drawing copies of the image side by
+     * side, the view is covered by a single quad whose texture coordinates run past the
+     * image, so the texture must have a repeating horizontal wrap.
      *
-     * To work properly, the image should be wide enough to fill the screen. However,
-     * it can be of any height.
+     * The image can be of any height; it is not repeated vertically.
      *
-     * @param image  Texture to draw as an overlay
+     * @param image  Texture to draw as an overlay (with wrapU set to Repeat)
      * @param x     The x-coordinate of the bottom left corner
      * @param y     The y-coordinate of the bottom left corner
+     * @param px    The x-coordinate of the camera
+     * @param py    The y-coordinate of the camera
+     * @param worldHeight The height of the world (on screen)
+     * @param zoomScl The camera zoom
      */
-    public void drawWrapped(TextureRegion image, float x, float y, float px, float py, float worldHeight, float zoomScl, float sclX, float sclY) {
+    public void drawParallax(Texture image, float x, float y, float px, float py, float worldHeight, float zoomScl) {
+        if (active != DrawPass.STANDARD) {
+            Gdx.app.error("GameCanvas", "Cannot draw without active begin()", new IllegalStateException());
+            return;
+        }
         positionCache.set(x,y);
         wrapPosition(positionCache, px, py, worldHeight,zoomScl);
 
-        float w = camera.getViewWidth();
+        float left = px - camera.getViewWidth() * zoomScl / 2;
+        float right = px + camera.getViewWidth() * zoomScl / 2;
+        float u = (left - positionCache.x) / image.getWidth();
+        float u2 = (right - positionCache.x) / image.getWidth();
 
-        // Have to draw the background twice for continuous scrolling.
-        spriteBatch.draw(image, positionCache.x,   positionCache.y, image.getRegionWidth()/2, image.getRegionHeight()/2, image.getRegionWidth(), image.getRegionHeight(), 1, 1, 0);
-        spriteBatch.draw(image, positionCache.x - w,   positionCache.y, image.getRegionWidth()/2, image.getRegionHeight()/2, image.getRegionWidth(), image.getRegionHeight(), 1, 1, 0);
-        spriteBatch.draw(image, positionCache.x + w,   positionCache.y, image.getRegionWidth()/2, image.getRegionHeight()/2, image.getRegionWidth(), image.getRegionHeight(), 1, 1, 0);
-        spriteBatch.draw(image, positionCache.x - 2*w,   positionCache.y, image.getRegionWidth()/2, image.getRegionHeight()/2, image.getRegionWidth(), image.getRegionHeight(), 1, 1, 0);
-        spriteBatch.draw(image, positionCache.x + 2*w,   positionCache.y, image.getRegionWidth()/2, image.getRegionHeight()/2, image.getRegionWidth(), image.getRegionHeight(), 1, 1, 0);
+        spriteBatch.setColor(Color.WHITE);
+        spriteBatch.draw(image, left, positionCache.y, right - left, image.getHeight(), u, 1, u2, 0);
     }
 
     /**
@@ -972,8 +1107,8 @@ public class GameCanvas {
             Gdx.app.error("GameCanvas", "Cannot draw without active begin()", new IllegalStateException());
             return;
         }
-        GlyphLayout layout = new GlyphLayout(font,text);
-        font.draw(spriteBatch, layout, x, y);
+        textLayout.setText(font, text);
+        font.draw(spriteBatch, textLayout, x, y);
     }
 
     /**
@@ -989,10 +1124,10 @@ public class GameCanvas {
             return;
         }
 
-        GlyphLayout layout = new GlyphLayout(font,text);
-        float x = (getWidth()  - layout.width) / 2.0f;
-        float y = (getHeight() + layout.height) / 2.0f;
-        font.draw(spriteBatch, layout, x, y+offset);
+        textLayout.setText(font, text);
+        float x = (getWidth()  - textLayout.width) / 2.0f;
+        float y = (getHeight() + textLayout.height) / 2.0f;
+        font.draw(spriteBatch, textLayout, x, y+offset);
     }
 
     /**
@@ -12,6 +12,7 @@ import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.JsonValue;
 import com.mygdx.game.model.GoalDoor;
 import com.mygdx.game.model.MovingPlatformModel;
@@ -40,16 +41,16 @@ public class GameMode implements Screen {
     private TextureRegion backgroundTexture;
 
     /** Texture asset for SKY parallax layer A*/
-    private TextureRegion skyLayerTextureA;
+    private Texture skyLayerTextureA;
 
     /** Texture asset for SKY parallax layer B*/
-    private TextureRegion skyLayerTextureB;
+    private Texture skyLayerTextureB;
 
     /** Texture asset for SKY parallax layer C*/
-    private TextureRegion skyLayerTextureC;
+    private Texture skyLayerTextureC;
 
     /** Texture asset for FOREST parallax layer C*/
-    private TextureRegion forestLayerTextureC;
+    private Texture forestLayerTextureC;
 
     /** Texture asset for skip prompt image */
     private TextureRegion skipPromptTexture;
@@ -130,8 +131,14 @@ public class GameMode implements Screen {
 
     private LevelParser parser;
 
+    /** parses the next level in the background while the current one is played */
+    private LevelPreloader preloader;
+
     private int currentLevel;
 
+    /** level currently populated in the gameplay controller, 0 if none */
+    private int loadedLevel;
+
     private BitmapFont debugFont;
 
     /** reference to asset manager to get level JSON files. */
@@ -140,6 +147,15 @@ public class GameMode implements Screen {
     /** temporary vector cache */
     private Vector2 cache;
 
+    /** cache of the drawables near the camera, refilled every frame */
+    private final Array<Drawable> visibleDrawables = new Array<>();
+
+    /** bytes allocated by update, measured in debug mode */
+    private final AllocationCounter updateAllocations = new AllocationCounter("update");
+
+    /** bytes allocated by draw, measured in debug mode */
+    private final AllocationCounter drawAllocations = new AllocationCounter("draw");
+
     /** level in development */
     private JsonValue sampleLevel;
 
@@ -186,6 +202,15 @@ public class GameMode implements Screen {
      */
     private static final int WIN_COUNTDOWN_TIMER = 10;
 
+    /** longest frame time fed to the simulation, so a stall does not trigger a burst of steps */
+    private static final float MAX_FRAME_TIME = 0.25f;
+
+    /** most fixed steps run in a single frame */
+    private static final int MAX_STEPS = 5;
+
+    /** frame time not yet consumed by fixed steps */
+    private float accumulator;
+
 
     private enum ParallaxType {
         SKY,
@@ -310,6 +335,10 @@ public class GameMode implements Screen {
      */
     public void dispose() {
         // Dispose Controllers
+        if (preloader != null) {
+            preloader.dispose();
+        }
+        disposeLayers();
         gameplayController.dispose();
         inputController = null;
         gameplayController = null;
@@ -318,6 +347,7 @@ public class GameMode implements Screen {
         scale  = null;
         canvas = null;
         parser = null;
+        preloader = null;
         cache = null;
 
         // GameMode does not own the directory, so it does not unload assets
@@ -325,6 +355,17 @@ public class GameMode implements Screen {
     }
 
 
+    /**
+     * Releases the tile geometry cached by the tiled layers of the parsed level.
+     */
+    private void disposeLayers() {
+        if (parser != null) {
+            for (TiledLayer layer : parser.getLayers()) {
+                layer.dispose();
+            }
+        }
+    }
+
     /**
      * Gather the assets for this controller.
      *
@@ -344,18 +385,19 @@ public class GameMode implements Screen {
 
         gameplayController.gatherAssets(directory);
 
-        backgroundTexture = new TextureRegion(directory.getEntry("game:background", Texture.class));
-        skyLayerTextureA =  new TextureRegion(directory.getEntry("game:skylayerA", Texture.class));
-        skyLayerTextureB =  new TextureRegion(directory.getEntry("game:skylayerB", Texture.class));
-        skyLayerTextureC =  new TextureRegion(directory.getEntry("game:skylayerC", Texture.class));
-        forestLayerTextureC =  new TextureRegion(directory.getEntry("game:forestLayerC", Texture.class));
+        backgroundTexture = new TextureRegion(directory.getEntry("game:background", TextureRegion.class));
+        skyLayerTextureA = directory.getEntry("game:skylayerA", Texture.class);
+        skyLayerTextureB = directory.getEntry("game:skylayerB", Texture.class);
+        skyLayerTextureC = directory.getEntry("game:skylayerC", Texture.class);
+        forestLayerTextureC = directory.getEntry("game:forestLayerC", Texture.class);
 
-        cursorTexture = new TextureRegion(directory.getEntry("game:cursor_ingame", Texture.class));
+        cursorTexture = new TextureRegion(directory.getEntry("game:cursor_ingame", TextureRegion.class));
 
         debugFont = directory.getEntry("shared:minecraft", BitmapFont.class);
 
         // instantiate level parser for loading levels
         parser = new LevelParser(directory);
+        preloader = new LevelPreloader(directory);
         // pass parser reference to level container to lessen the traffic on GameMode -> Gameplay -> Container.
         gameplayController.getLevelContainer().setParser(parser);
 
@@ -366,14 +408,15 @@ public class GameMode implements Screen {
         backgroundMusicCollection.put("over_the_cliffs", directory.getEntry("music:over_the_cliffs", Music.class));
         backgroundMusicCollection.put("exploring_the_forest", directory.getEntry("music:exploring_the_forest", Music.class));
 
-        skipPromptTexture = new TextureRegion(directory.getEntry("game:skip_prompt", Texture.class));
+        skipPromptTexture = new TextureRegion(directory.getEntry("game:skip_prompt", TextureRegion.class));
     }
 
     private final Vector2 camPos = new Vector2();
     /**
      * Resets the status of the game so that we can play again.
      *
-     * This method disposes of the world and creates a new one.
+     * A new level is parsed into a new world; replaying the level that is already loaded
+     * restarts it in place instead (see GameplayController.restart()).
      */
     public void reset() {
         // this ignores all levels, always runs the given file
@@ -381,7 +424,19 @@ public class GameMode implements Screen {
 //            parser.parseLevel(sampleLevel);
 //        }
 //        else { parse the level }
-        parser.parseLevel(directory.getEntry("tiled:level"+currentLevel, JsonValue.class));
+        boolean replay = currentLevel == loadedLevel;
+        if (!replay) {
+            // the tile caches of the old level are only valid on this (render) thread
+            disposeLayers();
+            LevelParser next = preloader.swap(parser, currentLevel);
+            if (next == parser) {
+                parser.parseLevel(directory, currentLevel);
+            }
+            else {
+                parser = next;
+                gameplayController.getLevelContainer().setParser(parser);
+            }
+        }
 
         // set music and parallax after parsing
         backgroundMusic = backgroundMusicCollection.get(parser.getSelectedMusic());
@@ -391,7 +446,15 @@ public class GameMode implements Screen {
         physicsHeight = parser.getWorldSize().y;
         this.bounds.set(0,0, physicsWidth, physicsHeight);
         gameplayController.setBounds(this.bounds);
-        gameplayController.reset();
+        if (replay) {
+            gameplayController.restart();
+        }
+        else {
+            gameplayController.reset();
+            loadedLevel = currentLevel;
+            // the victory screen continues with the following level
+            preloader.preload(currentLevel < maxLevelCount ? currentLevel + 1 : 1);
+        }
 
         // Setting scale for display
         float sx = ((float)canvas.getCamera().getViewWidth()/1024);
@@ -399,6 +462,8 @@ public class GameMode implements Screen {
         displayScale = Math.min(sx, sy);
 
         countdown = 0;
+        accumulator = 0;
+        Obstacle.setRenderAlpha(1);
         showGoal = true;
         backgroundMusic.play();
         backgroundMusic.setVolume(backgroundMusicVolume);
@@ -500,9 +565,35 @@ public class GameMode implements Screen {
      * made about updating the game state. This method should be followed by a call
      * to draw the elements of the world.
      *
+     * The simulation runs in fixed steps of GameplayController.WORLD_STEP; the frame time
+     * is accumulated and as many steps are run as fit into it. The remainder is used to
+     * interpolate the drawn positions between the last two steps.
+     *
      * @param dt    Number of seconds since last animation frame
      */
     public void update(float dt) {
+        accumulator += Math.min(dt, MAX_FRAME_TIME);
+        int steps = 0;
+        while (accumulator >= GameplayController.WORLD_STEP && steps < MAX_STEPS) {
+            step();
+            accumulator -= GameplayController.WORLD_STEP;
+            steps++;
+            if (gameplayController.isCompleted() || gameplayController.isFailed()) {
+                break;
+            }
+        }
+        if (steps == MAX_STEPS || accumulator > GameplayController.WORLD_STEP) {
+            // fell behind, drop the backlog instead of catching up over the next frames
+            accumulator %= GameplayController.WORLD_STEP;
+        }
+        Obstacle.setRenderAlpha(accumulator / GameplayController.WORLD_STEP);
+    }
+
+    /**
+     * Advances the game by a single fixed step of GameplayController.WORLD_STEP seconds.
+     */
+    private void step() {
+        gameplayController.savePreviousStates();
         if (!showGoal && inputController.didZoom() && gameplayController.canAvatarZoom()){
             zoomAlpha += zoomAlphaDelta;
         }
@@ -520,10 +611,32 @@ public class GameMode implements Screen {
         canvas.getCamera().setZoom(zoomScl);
 
         if (!showGoal){
-            gameplayController.update(inputController, dt);
+            gameplayController.update(inputController, GameplayController.WORLD_STEP);
         }
-        gameplayController.postUpdate(dt);
-    };
+        gameplayController.postUpdate(GameplayController.WORLD_STEP);
+        inputController.clearTriggers();
+    }
+
+    /**
+     * Returns whether the bounding box of the drawable overlaps the camera view.
+     *
+     * @param drawable the drawable to test
+     * @param ax camera center x (game units)
+     * @param ay camera center y (game units)
+     * @param halfWidth half of the view width (game units)
+     * @param halfHeight half of the view height (game units)
+     * @return whether the drawable may be seen
+     */
+    private boolean isVisible(Drawable drawable, float ax, float ay, float halfWidth, float halfHeight) {
+        cache.set(drawable.getBoxCorner());
+        float bx = cache.x;
+        float by = cache.y;
+        cache.set(drawable.getDimensions());
+        float width = cache.x;
+        float height = cache.y;
+        return !(bx > ax + halfWidth || bx + width < ax - halfWidth
+                || by < ay - halfHeight || by - height > ay + halfHeight);
+    }
 
     /**
      * Draw the physics objects to the canvas
@@ -541,8 +654,8 @@ public class GameMode implements Screen {
         // focus camera on player
         float px = gameplayController.getPlayerScreenX();
         float py = gameplayController.getPlayerScreenY();
-        float gx = gameplayController.getLevelContainer().getShowGoal().getX();
-        float gy = gameplayController.getLevelContainer().getShowGoal().getY();
+        float gx = gameplayController.getLevelContainer().getShowGoal().getDrawX();
+        float gy = gameplayController.getLevelContainer().getShowGoal().getDrawY();
 
         Vector2 scl = gameplayController.getPlayer().getDrawScale();
 
@@ -567,19 +680,16 @@ public class GameMode implements Screen {
         float worldHeight = physicsHeight * scale.y;
 
         // Parallax Drawing
-        TextureRegion layerC;
+        Texture layerC;
         if (selectedParallax.equals(ParallaxType.SKY)){
             layerC = skyLayerTextureC;
         }
         else {
             layerC = forestLayerTextureC;
         }
-        canvas.drawWrapped(skyLayerTextureA, -camPos.x * horizontalA, -camPos.y * verticalA, camPos.x, camPos.y, worldHeight, zoomScl, sclX, sclY);
-        canvas.drawWrapped(skyLayerTextureB, -camPos.x * horizontalB, -camPos.y * verticalB, camPos.x, camPos.y, worldHeight, zoomScl, sclX, sclY);
-        canvas.drawWrapped(layerC, -camPos.x * horizontalC, -camPos.y * verticalC, camPos.x, camPos.y, worldHeight, zoomScl, sclX, sclY);
-//        canvas.drawWrapped(skyLayerTextureA, -px * horizontalA, -py * verticalA, px, py, worldHeight, zoomScl, sclX, sclY);
-//        canvas.drawWrapped(skyLayerTextureB, -px * horizontalB, -py * verticalB, px, py, worldHeight, zoomScl, sclX, sclY);
-//        canvas.drawWrapped(skyLayerTextureC, -px * horizontalC, -py * verticalC, px, py, worldHeight, zoomScl, sclX, sclY);
+        canvas.drawParallax(skyLayerTextureA, -camPos.x * horizontalA, -camPos.y * verticalA, camPos.x, camPos.y, worldHeight, zoomScl);
+        canvas.drawParallax(skyLayerTextureB, -camPos.x * horizontalB, -camPos.y * verticalB, camPos.x, camPos.y, worldHeight, zoomScl);
+        canvas.drawParallax(layerC, -camPos.x * horizontalC, -camPos.y * verticalC, camPos.x, camPos.y, worldHeight, zoomScl);
 
         PlayerModel avatar = gameplayController.getPlayer();
         avatar.showIndicator(false);
@@ -596,9 +706,20 @@ public class GameMode implements Screen {
         // a change in player's position should yield a different perspective.
         float ax = camPos.x/scl.x;
         float ay = camPos.y/scl.y;
+        float halfWidth = zoomScl * displayWidth/2f;
+        float halfHeight = zoomScl * displayHeight/2f;
+        // the next gameplay steps only simulate particles near this view
+        gameplayController.setSimulationView(ax, ay, halfWidth, halfHeight);
+        if (!isVisible((GoalDoor) scarf, ax, ay, halfWidth, halfHeight)) {
+            // goal not in sight, draw indicator
+            avatar.showIndicator(true);
+        }
+        // only visit static drawables in grid cells around the camera, in depth order
+        gameplayController.getLevelContainer().getRenderQueue().collect(ax - halfWidth, ay - halfHeight,
+                ax + halfWidth, ay + halfHeight, visibleDrawables);
         int objCount = 0;
         int tileCount = 0;
-        for(Drawable drawable : gameplayController.getDrawables()) {
+        for(Drawable drawable : visibleDrawables) {
             if (drawable instanceof TiledLayer){
                 TiledLayer tiledLayer = (TiledLayer) drawable;
                 tiledLayer.draw(canvas, ax, ay, displayWidth/2 * zoomScl, displayHeight/2 * zoomScl);
@@ -610,18 +731,7 @@ public class GameMode implements Screen {
                 objCount++;
             }
             else {
-                cache.set(drawable.getBoxCorner());
-                float bx = cache.x;
-                float by = cache.y;
-                cache.set(drawable.getDimensions());
-                float width = cache.x;
-                float height = cache.y;
-                if (bx > ax + zoomScl * displayWidth/2f || bx + width < ax - zoomScl * displayWidth/2f
-                    || by < ay - zoomScl * displayHeight/2f || by - height > ay + zoomScl * displayHeight/2f ){
-                    if (drawable instanceof GoalDoor){
-                        // goal not in sight, draw indicator
-                        avatar.showIndicator(true);
-                    }
+                if (!isVisible(drawable, ax, ay, halfWidth, halfHeight)){
                     continue;
                 }
                 drawable.draw(canvas);
@@ -783,9 +893,21 @@ public class GameMode implements Screen {
      */
     public void render(float delta) {
             if (preUpdate(delta)) {
-                update(delta); // This is the one that must be defined.
+                if (debug) {
+                    updateAllocations.begin();
+                    update(delta); // This is the one that must be defined.
+                    updateAllocations.end();
+                } else {
+                    update(delta);
+                }
+            }
+            if (debug) {
+                drawAllocations.begin();
+                draw(delta);
+                drawAllocations.end();
+            } else {
+                draw(delta);
             }
-            draw(delta);
     }
 
     /**
@@ -5,7 +5,6 @@ import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.physics.box2d.*;
 import com.badlogic.gdx.physics.box2d.joints.*;
 import com.badlogic.gdx.utils.JsonValue;
-import com.badlogic.gdx.utils.ObjectMap;
 import com.badlogic.gdx.utils.ObjectSet;
 import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector2;
@@ -15,8 +14,10 @@ import com.mygdx.game.model.hazard.*;
 import com.mygdx.game.utility.assets.AssetDirectory;
 import com.mygdx.game.utility.obstacle.BoxObstacle;
 import com.mygdx.game.utility.obstacle.Obstacle;
+import com.mygdx.game.utility.util.ContactDispatcher;
 import com.mygdx.game.utility.util.Drawable;
 import com.mygdx.game.utility.util.PooledList;
+import com.mygdx.game.utility.util.RenderQueue;
 
 import java.util.Iterator;
 
@@ -41,6 +42,11 @@ public class GameplayController implements ContactListener {
      */
     public static final int NUM_I_FRAMES = 120;
 
+    /**
+     * margin (game units) added around the camera view inside which wind particles are simulated
+     */
+    public static final float WIND_SIMULATION_MARGIN = 6f;
+
     /**
      * Queue for adding objects
      */
@@ -151,6 +157,21 @@ public class GameplayController implements ContactListener {
      */
     protected ObjectSet<Fixture> contactHazardFixtures = new ObjectSet<>();
 
+    /**
+     * handlers of beginning contacts, per pair of collision categories
+     */
+    private final ContactDispatcher beginContacts = new ContactDispatcher();
+
+    /**
+     * handlers of ending contacts, per pair of collision categories
+     */
+    private final ContactDispatcher endContacts = new ContactDispatcher();
+
+    /**
+     * handlers of contacts before their collision response, per pair of collision categories
+     */
+    private final ContactDispatcher preSolveContacts = new ContactDispatcher();
+
     /**
      * weld joint definition struct
      */
@@ -188,6 +209,26 @@ public class GameplayController implements ContactListener {
      */
     Vector2 temp = new Vector2();
 
+    /**
+     * line of sight checks of the birds (ray casts within a per-step budget)
+     */
+    private final BirdPerception birdPerception = new BirdPerception();
+
+    /**
+     * puts patrolling birds far from the player and the camera to sleep
+     */
+    private final BirdScheduler birdScheduler = new BirdScheduler();
+
+    /**
+     * the last camera view (game units), winds far from it are not simulated
+     */
+    private final Rectangle simulationView = new Rectangle();
+
+    /**
+     * whether simulationView has been set (without a view, e.g. headless, everything is simulated)
+     */
+    private boolean hasSimulationView;
+
     //THESE ARE USED FOR MAKING THE UMBRELLA FOLLOW THE MOUSE POINTER
 
     /**
@@ -247,6 +288,7 @@ public class GameplayController implements ContactListener {
 
         world.setContactListener(this);
         sensorFixtures = new ObjectSet<Fixture>();
+        registerContactHandlers();
 
         // Initialize level container
         levelContainer = new LevelContainer(world, this.bounds, this.scale);
@@ -319,6 +361,32 @@ public class GameplayController implements ContactListener {
         stopSFX();
     }
 
+    /**
+     * Restarts the current level in the existing world.
+     * <p>
+     * Unlike reset(), the world is not disposed: static geometry, winds and lightning keep their
+     * bodies and are rewound in place, only the player, umbrella and birds are rebuilt. The level
+     * must have been populated by reset() before and the parser must still hold the same level.
+     */
+    public void restart() {
+        if (avatarWeldJoint != null) {
+            world.destroyJoint(avatarWeldJoint);
+        }
+        avatarWeldJoint = null;
+        touchingMovingCloud = false;
+
+        // game status reset
+        failed = false;
+        completed = false;
+
+        levelContainer.restartLevel();
+        goalDoor = levelContainer.getGoalDoor();
+        avatar = levelContainer.getAvatar();
+        umbrella = levelContainer.getUmbrella();
+
+        stopSFX();
+    }
+
     // track updates to player
     /**
      * whether there is input to move player
@@ -565,15 +633,13 @@ public class GameplayController implements ContactListener {
         }
 
         //Bird Updates
-        int birdRays = 5;
-        BirdRayCastCallback rccb = new BirdRayCastCallback();
-        // vector reference (alias to make code more readable)
-        Vector2 pos = cache;
-        Vector2 target = temp;
-
         //loop through birds
         for (BirdHazard bird : levelContainer.getBirds()) {
             bird.setSfxVol(SFXVolume);
+            // sleeping birds are far away, they are caught up once they wake up
+            if (!birdScheduler.update(bird, avatar, bounds)) {
+                continue;
+            }
             //If sees target, wait before attacking
             if (bird.seesTarget) {
                 if (bird.attackWait == 0) {
@@ -607,60 +673,22 @@ public class GameplayController implements ContactListener {
             float by = bird.getY();
             float px = avatar.getX();
             float py = avatar.getY();
-            temp.set(px, py);
-            temp.sub(bx, by);
-            temp.nor();
-
-            //adapted from https://stackoverflow.com/questions/6247153/angle-from-2d-unit-vector
-            if (temp.x == 0) {
-                angle = (temp.y > 0) ? (float) Math.PI / 2 : (temp.y == 0) ? 0 : 3 * (float) Math.PI / 2;
-            } else if (temp.y == 0) {
-                angle = (temp.x >= 0) ? 0 : (float) Math.PI;
-            } else {
-                angle = (float) Math.atan(temp.y / temp.x);
-                if (temp.x < 0 && temp.y < 0) // quadrant Ⅲ
-                    angle += Math.PI;
-                else if (temp.x < 0) // quadrant Ⅱ
-                    angle += Math.PI;
-                else if (temp.y < 0) // quadrant Ⅳ
-                    angle += 2 * Math.PI;
-            }
-
             float dist = (float) Math.sqrt(Math.pow(px - bx, 2) + Math.pow(py - by, 2));
             boolean check = dist < bird.getSensorRadius();
             //send out rays and check for collisions with player
             if (bird.getAttack() && check) {
-                // load position into cache
-                pos.set(bx, by);
-                for (int i = 0; i < birdRays; i++) {
-                    rccb.collisions.clear();
-                    float minDist = Integer.MAX_VALUE;
-                    // load ray target into temporary cache
-                    target.set(bx + bird.getSensorRadius(), by).rotateAroundRad(pos, angle - (float) (Math.PI / 16) + (float) (Math.PI / 8) * i / birdRays);
-                    //DEPRECIATED
-                    // target.set(bx, by + bird.getSensorRadius()).rotateAroundDeg(pos, 360f * i / birdRays);
-                    world.rayCast(rccb, pos, target);
-                    for (ObjectMap.Entry<Fixture, Float> e : rccb.collisions.entries()) {
-                        if (e.value < minDist) {
-                            minDist = e.value;
-                        }
-                    }
-                    for (ObjectMap.Entry<Fixture, Float> e : rccb.collisions.entries()) {
-                        if ((e.key).getBody().getUserData() == avatar) {
-                            if (Math.abs(e.value - minDist) < .001) {
-                                if (!bird.seesTarget) {
-                                    bird.seesTarget = true;
-                                    bird.setFaceRight(!(px - bx < 0));
-                                    birdAlertSFX.play(SFXVolume);
-                                    bird.warning = true;
-                                }
-                            }
-                        }
-                    }
-                }
+                birdPerception.request(bird);
             }
         }
 
+        // line of sight of the birds near the player (closest-hit rays, within the per-step ray budget)
+        for (BirdHazard bird : birdPerception.cast(world, levelContainer.getOcclusionGrid(), avatar)) {
+            bird.seesTarget = true;
+            bird.setFaceRight(!(avatar.getX() - bird.getX() < 0));
+            birdAlertSFX.play(SFXVolume);
+            bird.warning = true;
+        }
+
         //criterion to disconnect player from moving platform when ANY of the following holds
         // - player can move (on platform) and tries to move
         // - player comes into contact with hazards
@@ -689,6 +717,32 @@ public class GameplayController implements ContactListener {
         }
     }
 
+    /**
+     * Records the state of every object before the next fixed step, so that drawing can
+     * blend between the two (see Obstacle.setRenderAlpha).
+     */
+    public void savePreviousStates() {
+        for (Obstacle obj : levelContainer.getObjects()) {
+            obj.savePreviousState();
+        }
+    }
+
+    /**
+     * Sets the camera view that was last drawn. Wind particle systems outside of this view (plus
+     * WIND_SIMULATION_MARGIN) are frozen until the camera gets close again, patrolling birds far from it
+     * and from the player are put to sleep (see BirdScheduler).
+     *
+     * @param x camera center x (game units)
+     * @param y camera center y (game units)
+     * @param halfWidth half of the view width (game units)
+     * @param halfHeight half of the view height (game units)
+     */
+    public void setSimulationView(float x, float y, float halfWidth, float halfHeight) {
+        simulationView.set(x - halfWidth, y - halfHeight, 2 * halfWidth, 2 * halfHeight);
+        hasSimulationView = true;
+        birdScheduler.setView(x, y, halfWidth, halfHeight);
+    }
+
     /**
      * Processes physics
      * <p>
@@ -717,6 +771,17 @@ public class GameplayController implements ContactListener {
         //its position after the world step so that it properly follows the player
         umbrella.setPosition(avatar.getX(), avatar.getY());
 
+        // only simulate the particles of winds near the camera
+        if (hasSimulationView) {
+            float left = simulationView.x - WIND_SIMULATION_MARGIN;
+            float bottom = simulationView.y - WIND_SIMULATION_MARGIN;
+            float right = simulationView.x + simulationView.width + WIND_SIMULATION_MARGIN;
+            float top = simulationView.y + simulationView.height + WIND_SIMULATION_MARGIN;
+            for (NewWindModel wind : levelContainer.getWinds()) {
+                wind.setSimulationView(left, bottom, right, top);
+            }
+        }
+
         // Garbage collect the deleted objects.
         // Note how we use the linked list nodes to delete O(1) in place.
         // This is O(n) without copying.
@@ -727,6 +792,9 @@ public class GameplayController implements ContactListener {
             if (obj.isRemoved()) {
                 obj.deactivatePhysics(world);
                 entry.remove();
+                if (obj instanceof Drawable) {
+                    levelContainer.getRenderQueue().remove((Drawable) obj);
+                }
             } else {
                 // Note that update is called last!
                 if (obj instanceof AnimatedLightningHazard) ((AnimatedLightningHazard) obj).setSfxVol(SFXVolume);
@@ -744,17 +812,6 @@ public class GameplayController implements ContactListener {
             }
         }
 
-        // delete from drawables if some object has been deleted
-        // INVARIANT: sorted list after removals is still sorted.
-        Iterator<PooledList<Drawable>.Entry> iterator2 = levelContainer.getDrawables().entryIterator();
-        while (iterator2.hasNext()) {
-            PooledList<Drawable>.Entry entry = iterator2.next();
-            Drawable drawable = entry.getValue();
-            if (drawable instanceof Obstacle && ((Obstacle) drawable).isRemoved()) {
-                entry.remove();
-            }
-        }
-
         // TODO: TEMPORARY SCROLL
         if (levelContainer.getShowGoal().getPosition().dst(avatar.getPosition()) > 0.0001)
             levelContainer.getShowGoal().move();
@@ -766,106 +823,163 @@ public class GameplayController implements ContactListener {
      * This method is called when we first get a collision between two objects.  We use
      * this method to test if it is the "right" kind of collision.  In particular, we
      * use it to test if we made it to the win door.
+     * <p>
+     * The contact is handed to the handler registered for the collision categories of its
+     * two fixtures (see registerContactHandlers()).
      *
      * @param contact The two bodies that collided
      */
     public void beginContact(Contact contact) {
-        Fixture fix1 = contact.getFixtureA();
-        Fixture fix2 = contact.getFixtureB();
-
-        Body body1 = fix1.getBody();
-        Body body2 = fix2.getBody();
-
-        Object fd1 = fix1.getUserData();
-        Object fd2 = fix2.getUserData();
-
-        try {
-            Obstacle bd1 = (Obstacle) body1.getUserData();
-            Obstacle bd2 = (Obstacle) body2.getUserData();
-
-            // See if we have landed on the ground.
-            boolean isAvatarSensor = avatar.getSensorName().equals(fd2) || avatar.getSensorName().equals(fd1);
-            if ((isAvatarSensor && bd1.getName().contains("platform")) ||
-                    (isAvatarSensor && bd2.getName().contains("platform"))
-                    // ||(isAvatarSensor && bd1 instanceof RockHazard) || (isAvatarSensor && bd2 instanceof RockHazard)
-                ) {
-                boolean prev = avatar.isGrounded();
-                if(bd1.getName().contains("moving_platform") || bd2.getName().contains("moving_platform")) avatar.onCloud = true;
-                avatar.setGrounded(true);
-                if (avatar.isGrounded() != prev) {
-                    avatar.startLand();
-                }
-                sensorFixtures.add(avatar == bd1 ? fix2 : fix1); // Could have more than one ground
-
-                // TODO : cloud platforms are named "moving_platform" hence they have the "platform" part in their name.
-                //  it might be better to have platform class. Using debug name is not safe for all obstacles (sometimes
-                //  we might forget to assign object names and get unnecessary nullptr.
-                Body cloudBody = null;
-                MovingPlatformModel cloud = null;
-                if (bd1 instanceof MovingPlatformModel) {
-                    cloudBody = body1;
-                    cloud = (MovingPlatformModel) bd1;
-                } else if (bd2 instanceof MovingPlatformModel) {
-                    cloudBody = body2;
-                    cloud = (MovingPlatformModel) bd2;
-                }
-                // TODO (revisit this choice): the FIRST cloud touched is the one Gale sticks to.
-                //  (revisit again): second edit, updated to the LAST CLOUD touched
-                //  To optimize joint-create-destroy time, non-movable clouds of course don't need joints with avatar.
-                if (cloudBody != null && cloud.getMoveSpeed() > 0) {
-                    touchingMovingCloud = true;
-                    contactedCloudBody = cloudBody;
+        beginContacts.dispatch(contact);
+    }
+
+    /**
+     * Registers the contact handlers of each pair of collision categories (see CollisionCategory).
+     */
+    private void registerContactHandlers() {
+        final short grounds = CollisionCategory.PLATFORM | CollisionCategory.MOVING_PLATFORM;
+        final short hazards = CollisionCategory.HAZARD | CollisionCategory.STATIC_HAZARD;
+        final short player = CollisionCategory.PLAYER | CollisionCategory.PLAYER_SENSOR;
+
+        // See if we have landed on the ground.
+        beginContacts.register(CollisionCategory.PLAYER_SENSOR, grounds, new ContactDispatcher.Handler() {
+            @Override
+            public void handle(Contact contact, Fixture sensor, Fixture ground) {
+                land(ground);
+            }
+        });
+        endContacts.register(CollisionCategory.PLAYER_SENSOR, grounds, new ContactDispatcher.Handler() {
+            @Override
+            public void handle(Contact contact, Fixture sensor, Fixture ground) {
+                takeOff(ground);
+            }
+        });
+
+        // See if umbrella touches wind
+        beginContacts.register(CollisionCategory.UMBRELLA_SENSOR, CollisionCategory.WIND,
+                new ContactDispatcher.Handler() {
+            @Override
+            public void handle(Contact contact, Fixture sensor, Fixture wind) {
+                if (wind.getBody().getUserData() instanceof NewWindModel) {
+                    contactNewWindFix.add(wind);
+                } else {
+                    contactWindFix.add(wind);
                 }
             }
-
-            // See if umbrella touches wind
-            if ((fd2 == "umbrellaSensor" && (bd1.getClass() == WindModel.class)) ||
-                    (fd1 == "umbrellaSensor" && (bd2.getClass() == WindModel.class))) {
-                Fixture windFix = (umbrella == bd2 ? fix1 : fix2);
-                contactWindFix.add(windFix);
+        });
+        endContacts.register(CollisionCategory.UMBRELLA_SENSOR, CollisionCategory.WIND,
+                new ContactDispatcher.Handler() {
+            @Override
+            public void handle(Contact contact, Fixture sensor, Fixture wind) {
+                contactWindFix.remove(wind);
+                contactNewWindFix.remove(wind);
             }
+        });
 
-            if ((fd2 == "umbrellaSensor" && (bd1.getClass() == NewWindModel.class)) ||
-                    (fd1 == "umbrellaSensor" && (bd2.getClass() == NewWindModel.class))) {
-                Fixture windFix = (umbrella == bd2 ? fix1 : fix2);
-                contactNewWindFix.add(windFix);
+        // Check for hazard collision
+        beginContacts.register(player | CollisionCategory.UMBRELLA_SENSOR, hazards, new ContactDispatcher.Handler() {
+            @Override
+            public void handle(Contact contact, Fixture target, Fixture hazard) {
+                hitHazard(contact, hazard);
             }
+        });
+        endContacts.register(player | CollisionCategory.UMBRELLA_SENSOR, hazards, new ContactDispatcher.Handler() {
+            @Override
+            public void handle(Contact contact, Fixture target, Fixture hazard) {
+                contactHazardFixtures.remove(hazard);
+            }
+        });
 
-            // Check for hazard collision
-            // Is there any way to add fixture data to all fixtures in a polygon obstacle without changing the
-            // implementation? If so, want to change to fd1 == "damage"
-            if (((fd2 == "umbrellaSensor" || avatar == bd2) && (bd1 instanceof HazardModel && fd1 == null) ||
-                    ((fd1 == "umbrellaSensor" || avatar == bd1) && (bd2 instanceof HazardModel && fd2 == null)))) {
-                HazardModel h = (HazardModel) (bd1 instanceof HazardModel ? bd1 : bd2);
-
-                //norm from a to b
-                WorldManifold wm = contact.getWorldManifold();
-                Vector2 norm = cache.set(wm.getNormal());
-                if (norm.len() != 0.0f) {
-                    norm.nor();
-                    float flip = (bd1 instanceof HazardModel ? 1 : -1);
-                    h.setKnockBackForce(norm.scl(flip));
-                    contactHazardFixtures.add(bd1 instanceof HazardModel ? fix1 : fix2);
-                }
-                else if (h.getDamage() == avatar.getMaxHealth()){
-                    // death zone
-                    contactHazardFixtures.add(bd1 instanceof HazardModel ? fix1 : fix2);
-                }
-
+        // the player passes through hazards that move
+        preSolveContacts.register(CollisionCategory.PLAYER, CollisionCategory.HAZARD, new ContactDispatcher.Handler() {
+            @Override
+            public void handle(Contact contact, Fixture avatarPart, Fixture hazard) {
+                contact.setEnabled(false);
             }
+        });
 
-            // Check for win condition
-            if ((bd1 == avatar && bd2 == goalDoor) ||
-                    (bd1 == goalDoor && bd2 == avatar)) {
+        // Check for win condition
+        beginContacts.register(player, CollisionCategory.GOAL, new ContactDispatcher.Handler() {
+            @Override
+            public void handle(Contact contact, Fixture avatarPart, Fixture goal) {
                 // player wins
                 if (!failed && !completed) {
                     setCompleted();
                 }
             }
-        } catch (Exception e) {
-            e.printStackTrace();
+        });
+    }
+
+    /**
+     * Grounds the player when their ground sensor starts touching a platform.
+     *
+     * @param ground the platform fixture
+     */
+    private void land(Fixture ground) {
+        boolean prev = avatar.isGrounded();
+        Body groundBody = ground.getBody();
+        boolean isCloud = ground.getFilterData().categoryBits == CollisionCategory.MOVING_PLATFORM;
+        if (isCloud) avatar.onCloud = true;
+        avatar.setGrounded(true);
+        if (avatar.isGrounded() != prev) {
+            avatar.startLand();
+        }
+        sensorFixtures.add(ground); // Could have more than one ground
+
+        // TODO (revisit this choice): the FIRST cloud touched is the one Gale sticks to.
+        //  (revisit again): second edit, updated to the LAST CLOUD touched
+        //  To optimize joint-create-destroy time, non-movable clouds of course don't need joints with avatar.
+        if (isCloud && ((MovingPlatformModel) groundBody.getUserData()).getMoveSpeed() > 0) {
+            touchingMovingCloud = true;
+            contactedCloudBody = groundBody;
+        }
+    }
+
+    /**
+     * Updates the grounded state of the player when their ground sensor stops touching a platform.
+     *
+     * @param ground the platform fixture
+     */
+    private void takeOff(Fixture ground) {
+        sensorFixtures.remove(ground);
+        if (sensorFixtures.size == 0) {
+            boolean prev = avatar.isGrounded();
+            avatar.setGrounded(false);
+            if (avatar.isGrounded() != prev) {
+                avatar.startTakeoff();
+            }
         }
+        boolean isCloud = ground.getFilterData().categoryBits == CollisionCategory.MOVING_PLATFORM;
+        Body cloudBody = isCloud ? ground.getBody() : null;
+        if (cloudBody == contactedCloudBody) {
+            touchingMovingCloud = false;
+            contactedCloudBody = null;
+            destroyWeldJoint = true;
+        }
+    }
 
+    /**
+     * Records the contact of the player (or the umbrella sensor) with a hazard.
+     *
+     * @param contact the contact
+     * @param hazard the hazard fixture
+     */
+    private void hitHazard(Contact contact, Fixture hazard) {
+        HazardModel h = (HazardModel) hazard.getBody().getUserData();
+
+        //norm from a to b
+        WorldManifold wm = contact.getWorldManifold();
+        Vector2 norm = cache.set(wm.getNormal());
+        if (norm.len() != 0.0f) {
+            norm.nor();
+            float flip = (hazard == contact.getFixtureA() ? 1 : -1);
+            h.setKnockBackForce(norm.scl(flip));
+            contactHazardFixtures.add(hazard);
+        }
+        else if (h.getDamage() == avatar.getMaxHealth()){
+            // death zone
+            contactHazardFixtures.add(hazard);
+        }
     }
 
     /**
@@ -876,56 +990,7 @@ public class GameplayController implements ContactListener {
      * double jumping.
      */
     public void endContact(Contact contact) {
-        Fixture fix1 = contact.getFixtureA();
-        Fixture fix2 = contact.getFixtureB();
-
-        Body body1 = fix1.getBody();
-        Body body2 = fix2.getBody();
-
-        Object fd1 = fix1.getUserData();
-        Object fd2 = fix2.getUserData();
-
-        Obstacle bd1 = (Obstacle) body1.getUserData();
-        Obstacle bd2 = (Obstacle) body2.getUserData();
-
-        if ((avatar.getSensorName().equals(fd2) && avatar != bd1) ||
-                (avatar.getSensorName().equals(fd1) && avatar != bd2)) {
-            sensorFixtures.remove(avatar == bd1 ? fix2 : fix1);
-            if (sensorFixtures.size == 0) {
-                boolean prev = avatar.isGrounded();
-                avatar.setGrounded(false);
-                if (avatar.isGrounded() != prev) {
-                    avatar.startTakeoff();
-                }
-            }
-            boolean isCloud1 = bd1 instanceof MovingPlatformModel;
-            boolean isCloud2 = bd2 instanceof MovingPlatformModel;
-            Body cloudBody = isCloud1 ? body1 : isCloud2 ? body2 : null;
-            if (cloudBody == contactedCloudBody) {
-                touchingMovingCloud = false;
-                contactedCloudBody = null;
-                destroyWeldJoint = true;
-            }
-        }
-
-        if ((umbrella == bd2 && bd1 instanceof WindModel) ||
-                (umbrella == bd1 && bd2 instanceof WindModel)) {
-            Fixture windFix = (umbrella == bd2 ? fix1 : fix2);
-            contactWindFix.remove(windFix);
-        }
-
-        if ((umbrella == bd2 && bd1 instanceof NewWindModel) ||
-                (umbrella == bd1 && bd2 instanceof NewWindModel)) {
-            Fixture windFix = (umbrella == bd2 ? fix1 : fix2);
-            contactNewWindFix.remove(windFix);
-        }
-
-        if (((umbrella == bd2 || avatar == bd2) && (bd1 instanceof HazardModel && fd1 == null) ||
-                ((umbrella == bd1 || avatar == bd1) && (bd2 instanceof HazardModel && fd2 == null)))) {
-            HazardModel h = (HazardModel) (bd1 instanceof HazardModel ? bd1 : bd2);
-//            if (h instanceof BirdHazard) ((BirdHazard) h).setSetKB(true);
-            contactHazardFixtures.remove(bd1 instanceof HazardModel ? fix1 : fix2);
-        }
+        endContacts.dispatch(contact);
     }
 
     /**
@@ -935,33 +1000,13 @@ public class GameplayController implements ContactListener {
     }
 
     /**
-     * Unused ContactListener method
+     * Callback method before the collision response of a contact is computed
+     * <p>
+     * The player passes through moving hazards (birds, lightning), only static hazards push
+     * them back. The umbrella never collides, see CollisionCategory.maskOf().
      */
     public void preSolve(Contact contact, Manifold oldManifold) {
-        Fixture fix1 = contact.getFixtureA();
-        Fixture fix2 = contact.getFixtureB();
-
-        Body body1 = fix1.getBody();
-        Body body2 = fix2.getBody();
-
-        Object fd1 = fix1.getUserData();
-        Object fd2 = fix2.getUserData();
-
-        try {
-            Obstacle bd1 = (Obstacle) body1.getUserData();
-            Obstacle bd2 = (Obstacle) body2.getUserData();
-
-            if (umbrella == bd2 || umbrella == bd1) {
-                contact.setEnabled(false);
-            }
-
-            if (((umbrella == bd2 || avatar == bd2) && (bd1 instanceof HazardModel && !(bd1 instanceof StaticHazard)) ||
-                    ((umbrella == bd1 || avatar == bd1) && (bd2 instanceof HazardModel && !(bd2 instanceof StaticHazard))))) {
-                contact.setEnabled(false);
-            }
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
+        preSolveContacts.dispatch(contact);
     }
 
     /**
@@ -1027,8 +1072,8 @@ public class GameplayController implements ContactListener {
         return levelContainer.getObjects();
     }
 
-    public PooledList<Drawable> getDrawables() {
-        return levelContainer.getDrawables();
+    public RenderQueue getRenderQueue() {
+        return levelContainer.getRenderQueue();
     }
 
     public void setScale(Vector2 scale) {
@@ -1050,7 +1095,7 @@ public class GameplayController implements ContactListener {
      * coordinates are non-negative.
      */
     public float getPlayerScreenX() {
-        float out = avatar != null ? avatar.getDrawScale().x * avatar.getX() : -1;
+        float out = avatar != null ? avatar.getDrawScale().x * avatar.getDrawX() : -1;
         //only round to adjust for tearing if velocity is high - otherwise, you can
         // get some vibration-like effects on Gale for what should be smooth movement
 //        return avatar.getLinearVelocity().len() > TEARING_VEL ? Math.round(out) : out;
@@ -1062,7 +1107,7 @@ public class GameplayController implements ContactListener {
      * coordinates are non-negative.
      */
     public float getPlayerScreenY() {
-        float out = avatar != null ? avatar.getDrawScale().y * avatar.getY() : -1;
+        float out = avatar != null ? avatar.getDrawScale().y * avatar.getDrawY() : -1;
         //only round to adjust for tearing if velocity is high - otherwise, you can
         // get some vibration-like effects on Gale for what should be smooth movement
 //        return avatar.getLinearVelocity().len() > TEARING_VEL ? Math.round(out) : out;
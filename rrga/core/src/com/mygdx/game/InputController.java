@@ -188,6 +188,18 @@ public class InputController {
      */
     public boolean didZoom() { return zoomPressed; }
 
+    /**
+     * Forgets the umbrella toggle and lighter presses once a simulation step has used them.
+     * <br>
+     * Presses are only reported by libGDX in the frame they happen, but a frame may run
+     * zero or several fixed steps. Presses are therefore kept from readInput() until the
+     * next step consumes them, so they are neither lost nor applied twice.
+     */
+    public void clearTriggers() {
+        togglePressed = false;
+        lighter = false;
+    }
+
     /**
      * Creates a new input controller
      *
@@ -294,7 +306,6 @@ public class InputController {
         // Left mouse click for toggling umbrella open/closed
         if (!secondaryControlMode){
             if (Gdx.input.isButtonJustPressed(Input.Buttons.LEFT)) togglePressed = true;
-            else togglePressed = false;
         } else {
             if (Gdx.input.isButtonPressed(Input.Buttons.LEFT)) toggleHeld = true;
             else toggleHeld = false;
@@ -308,7 +319,7 @@ public class InputController {
         zoomPressed = Gdx.input.isKeyPressed(Input.Keys.SPACE);
 
         // W for using the dash
-        lighter = Gdx.input.isKeyJustPressed(Input.Keys.W);
+        lighter |= Gdx.input.isKeyJustPressed(Input.Keys.W);
     }
 
     /**
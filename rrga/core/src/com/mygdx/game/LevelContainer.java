@@ -3,23 +3,32 @@ package com.mygdx.game;
 import com.badlogic.gdx.audio.Music;
 import com.badlogic.gdx.audio.Sound;
 import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.Animation;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.Body;
 import com.badlogic.gdx.physics.box2d.BodyDef;
+import com.badlogic.gdx.physics.box2d.Filter;
 import com.badlogic.gdx.physics.box2d.Fixture;
 import com.badlogic.gdx.physics.box2d.World;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.FloatArray;
 import com.badlogic.gdx.utils.JsonValue;
 import com.badlogic.gdx.utils.ObjectSet;
 import com.mygdx.game.model.*;
 import com.mygdx.game.model.hazard.*;
+import com.mygdx.game.model.spec.*;
 import com.mygdx.game.utility.assets.AssetDirectory;
 import com.mygdx.game.utility.obstacle.BoxObstacle;
+import com.mygdx.game.utility.obstacle.ComplexObstacle;
 import com.mygdx.game.utility.obstacle.Obstacle;
 import com.mygdx.game.utility.obstacle.PolygonObstacle;
 import com.mygdx.game.utility.util.Drawable;
+import com.mygdx.game.utility.util.OcclusionGrid;
 import com.mygdx.game.utility.util.PooledList;
+import com.mygdx.game.utility.util.RenderQueue;
 import com.mygdx.game.utility.util.Sticker;
 import com.mygdx.game.utility.util.TiledLayer;
 
@@ -53,8 +62,20 @@ public class LevelContainer{
      */
     protected PooledList<Obstacle> addQueue;
 
-    /** A sorted list of drawbles by depth. */
-    protected PooledList<Drawable> drawables;
+    /** side length of a cell of the grid of static drawables */
+    private static final float DRAW_CELL_SIZE = 4f;
+
+    /** The drawables bucketed by depth, in draw order. */
+    private final RenderQueue renderQueue = new RenderQueue(DRAW_CELL_SIZE);
+
+    /** side length of an occlusion grid cell */
+    private static final float OCCLUSION_CELL_SIZE = 0.125f;
+
+    /** The static geometry that blocks the sight of birds. */
+    private final OcclusionGrid occlusionGrid = new OcclusionGrid(OCCLUSION_CELL_SIZE);
+
+    /** cache for setting collision categories */
+    private final Filter categoryFilter = new Filter();
 
     /**
      * Mark set to handle more sophisticated collision callbacks
@@ -82,6 +103,27 @@ public class LevelContainer{
      */
     private ObjectSet<NestHazard> nests;
 
+    /**
+     * Bodies kept in the world across restarts of the same level, in creation order:
+     * goal, platforms, moving platforms, winds and static hazards.
+     */
+    private final PooledList<Obstacle> scenery;
+
+    /** Death zones kept across restarts (not drawn) */
+    private final PooledList<Obstacle> deathZones;
+
+    /** Lightning bolts kept across restarts, their strike timers are rewound on restart */
+    private final PooledList<Obstacle> lightning;
+
+    /**
+     * Objects rebuilt on every restart (player, umbrella, birds, nests).
+     * These carry too much gameplay state to rewind in place.
+     */
+    private final PooledList<Obstacle> actors;
+
+    /** initial [x, y, angle] of every kept body, in scenery, death zone, lightning order */
+    private final FloatArray initialTransforms;
+
 
     /**
      * The texture for walls and platforms
@@ -96,7 +138,7 @@ public class LevelContainer{
     /**
      * The textures for animated lightning
      */
-    private Texture[] animatedLightningTextures;
+    private TextureRegion[] animatedLightningTextures;
 
     private HashMap<String, TextureRegion> logTextures;
 
@@ -111,23 +153,23 @@ public class LevelContainer{
     /**
      * Texture asset for character idle animation
      */
-    private Texture avatarIdleAnimationTexture;
+    private TextureRegion avatarIdleAnimationTexture;
     /**
      * Texture asset for character look animation
      */
-    private Texture avatarLookAnimationTexture;
+    private TextureRegion avatarLookAnimationTexture;
     /**
      * Texture asset for character takeoff animation
      */
-    private Texture avatarTakeoffAnimationTexture;
+    private TextureRegion avatarTakeoffAnimationTexture;
     /**
      * Texture asset for character land animation
      */
-    private Texture avatarLandAnimationTexture;
+    private TextureRegion avatarLandAnimationTexture;
     /**
      * Texture asset for character flip animation
      */
-    private Texture avatarFlipAnimationTexture;
+    private TextureRegion avatarFlipAnimationTexture;
     /**
      * Texture asset for the wind gust
      */
@@ -140,42 +182,48 @@ public class LevelContainer{
     /**
      * Texture assets for the wind animation
      */
-    private Texture particleWindAnimation1;
+    private TextureRegion particleWindAnimation1;
 
     /**
      * Texture assets for the wind animation
      */
-    private Texture particleWindAnimation2;
+    private TextureRegion particleWindAnimation2;
 
     /**
      * Texture assets for the wind animation
      */
-    private Texture particleWindAnimation3;
+    private TextureRegion particleWindAnimation3;
 
     /**
      * Texture assets for the wind animation
      */
-    private Texture[] particleWindAnimationList;
+    private TextureRegion[] particleWindAnimationList;
 
     /**
      * Texture assets for the wind animation
      */
-    private Texture particleLeafAnimation1;
+    private TextureRegion particleLeafAnimation1;
 
     /**
      * Texture assets for the wind animation
      */
-    private Texture particleLeafAnimation2;
+    private TextureRegion particleLeafAnimation2;
 
     /**
      * Texture assets for the wind animation
      */
-    private Texture particleLeafAnimation3;
+    private TextureRegion particleLeafAnimation3;
 
     /**
      * Texture assets for the wind animation
      */
-    private Texture[] particleLeafAnimationList;
+    private TextureRegion[] particleLeafAnimationList;
+
+    /** animations shared by all wind particles */
+    private Array<Animation<TextureRegion>> windParticleAnimations;
+
+    /** animations shared by all leaf particles */
+    private Array<Animation<TextureRegion>> leafParticleAnimations;
     /**
      * Texture asset for opened umbrella
      */
@@ -185,19 +233,19 @@ public class LevelContainer{
     private TextureRegion umbrellaClosedTexture;
 
     /** Texture asset for red bird animation */
-    private Texture redBirdAnimationTexture;
+    private TextureRegion redBirdAnimationTexture;
 
     /** Texture asset for blue bird animation */
-    private Texture blueBirdAnimationTexture;
+    private TextureRegion blueBirdAnimationTexture;
 
-    private Texture bluebirdSpawnAnimation;
+    private TextureRegion bluebirdSpawnAnimation;
 
     /** Texture asset for green bird animation */
-    private Texture greenBirdAnimationTexture;
+    private TextureRegion greenBirdAnimationTexture;
 
     /** Texture asset for brown bird animation */
 
-    private Texture brownBirdAnimationTexture;
+    private TextureRegion brownBirdAnimationTexture;
 
     /** Texture asset for goal */
     private TextureRegion goalTexture;
@@ -205,11 +253,11 @@ public class LevelContainer{
     /**
      * Texture asset for hp
      */
-    private Texture hpTexture;
+    private TextureRegion hpTexture;
     /**
      * Texture asset for boost timer
      */
-    private Texture boostTexture;
+    private TextureRegion boostTexture;
 
     /**
      * Texture for directional indicator to scarf
@@ -240,34 +288,34 @@ public class LevelContainer{
     /**
      * Texture asset for avatar walking animation
      */
-    private Texture avatarWalkAnimationTexture;
+    private TextureRegion avatarWalkAnimationTexture;
     /**
      * Texture asset for avatar falling animation
      */
-    private Texture avatarFallingAnimationTexture;
+    private TextureRegion avatarFallingAnimationTexture;
     /**
      * Texture asset for umbrella open animation
      */
-    private Texture umbrellaOpenAnimationTexture;
+    private TextureRegion umbrellaOpenAnimationTexture;
     /**
      * Texture asset for umbrella open animation when depleted
      */
-    private Texture umbrellaOpenEmptyAnimationTexture;
+    private TextureRegion umbrellaOpenEmptyAnimationTexture;
 
     /**
      * Texture asset for umbrella boost animation
      */
-    private Texture umbrellaBoostAnimationTexture;
+    private TextureRegion umbrellaBoostAnimationTexture;
     /**
 
      * Texture asset for a bird warning
      */
-    private Texture warningTexture;
+    private TextureRegion warningTexture;
 
     /**
      * Texture asset for goal animation
      */
-    private Texture goalAnimationTexture;
+    private TextureRegion goalAnimationTexture;
     /**
      * Texture asset for wind animation
      */
@@ -312,9 +360,13 @@ public class LevelContainer{
         winds = new ObjectSet<>();
         movingPlats = new ObjectSet<>();
         nests = new ObjectSet<>();
+        scenery = new PooledList<>();
+        deathZones = new PooledList<>();
+        lightning = new PooledList<>();
+        actors = new PooledList<>();
+        initialTransforms = new FloatArray();
 
         objects = new PooledList<Obstacle>();
-        drawables = new PooledList<Drawable>();
         addQueue = new PooledList<Obstacle>();
     }
 
@@ -327,7 +379,7 @@ public class LevelContainer{
      * @param color the color of the bird
      * @return texture of bird for the given value color.
      */
-    private Texture getFlapAnimationTexture(BirdHazard.BirdColor color){
+    private TextureRegion getFlapAnimationTexture(BirdHazard.BirdColor color){
         switch(color){
             case RED: return redBirdAnimationTexture;
             case BLUE: return blueBirdAnimationTexture;
@@ -352,89 +404,91 @@ public class LevelContainer{
 
         // Player Component Textures
         platformTile = new TextureRegion(directory.getEntry("game:newplatform", Texture.class));
-        avatarSideTexture = new TextureRegion(directory.getEntry("game:player", Texture.class));
-        avatarFrontTexture = new TextureRegion(directory.getEntry("game:front", Texture.class));
-        umbrellaOpenTexture = new TextureRegion(directory.getEntry("game:umbrella", Texture.class));
-        umbrellaClosedTexture = new TextureRegion(directory.getEntry("game:closed", Texture.class));
+        avatarSideTexture = new TextureRegion(directory.getEntry("game:player", TextureRegion.class));
+        avatarFrontTexture = new TextureRegion(directory.getEntry("game:front", TextureRegion.class));
+        umbrellaOpenTexture = new TextureRegion(directory.getEntry("game:umbrella", TextureRegion.class));
+        umbrellaClosedTexture = new TextureRegion(directory.getEntry("game:closed", TextureRegion.class));
         windTexture = new TextureRegion(directory.getEntry("game:wind", Texture.class));
-        goalTexture = new TextureRegion(directory.getEntry("game:goal", Texture.class));
-        hpTexture = directory.getEntry("game:hp_indicator", Texture.class);
-        boostTexture = directory.getEntry("game:boost", Texture.class);
-        indicatorTexture = new TextureRegion(directory.getEntry("game:player_indicator", Texture.class));
+        goalTexture = new TextureRegion(directory.getEntry("game:goal", TextureRegion.class));
+        hpTexture = directory.getEntry("game:hp_indicator", TextureRegion.class);
+        boostTexture = directory.getEntry("game:boost", TextureRegion.class);
+        indicatorTexture = new TextureRegion(directory.getEntry("game:player_indicator", TextureRegion.class));
 
         // Hazard Textures
-        redBirdAnimationTexture = directory.getEntry("game:red_bird_flapping", Texture.class);
-        blueBirdAnimationTexture = directory.getEntry("game:blue_bird_flapping", Texture.class);
-        greenBirdAnimationTexture = directory.getEntry("game:green_bird_flapping", Texture.class);
-        brownBirdAnimationTexture = directory.getEntry("game:brown_bird_flapping", Texture.class);
+        redBirdAnimationTexture = directory.getEntry("game:red_bird_flapping", TextureRegion.class);
+        blueBirdAnimationTexture = directory.getEntry("game:blue_bird_flapping", TextureRegion.class);
+        greenBirdAnimationTexture = directory.getEntry("game:green_bird_flapping", TextureRegion.class);
+        brownBirdAnimationTexture = directory.getEntry("game:brown_bird_flapping", TextureRegion.class);
         
-        warningTexture = directory.getEntry("game:bird_warning", Texture.class);
-        nestTexture = new TextureRegion(directory.getEntry("game:nest", Texture.class));
-        bluebirdSpawnAnimation = directory.getEntry("game:blue_bird_spawn", Texture.class);
+        warningTexture = directory.getEntry("game:bird_warning", TextureRegion.class);
+        nestTexture = new TextureRegion(directory.getEntry("game:nest", TextureRegion.class));
+        bluebirdSpawnAnimation = directory.getEntry("game:blue_bird_spawn", TextureRegion.class);
 
         fillLightningTexture = new TextureRegion(directory.getEntry("game:lightning", Texture.class));
         fillBrambleTexture = new TextureRegion(directory.getEntry("game:brambles_fill", Texture.class));
-        rockTexture = new TextureRegion(directory.getEntry("game:rock", Texture.class));
+        rockTexture = new TextureRegion(directory.getEntry("game:rock", TextureRegion.class));
 
         // Animation Textures
-        avatarWalkAnimationTexture = directory.getEntry("game:player_walk_animation", Texture.class);
-        avatarFallingAnimationTexture = directory.getEntry("game:player_falling_animation", Texture.class);
-        umbrellaOpenAnimationTexture = directory.getEntry("game:umbrella_open_animation", Texture.class);
-        umbrellaOpenEmptyAnimationTexture = directory.getEntry("game:umbrella_open_empty_animation", Texture.class);
-        umbrellaBoostAnimationTexture =  directory.getEntry("game:umbrella_dodge_animation", Texture.class);
-        goalAnimationTexture = directory.getEntry("game:goal_animation", Texture.class);
+        avatarWalkAnimationTexture = directory.getEntry("game:player_walk_animation", TextureRegion.class);
+        avatarFallingAnimationTexture = directory.getEntry("game:player_falling_animation", TextureRegion.class);
+        umbrellaOpenAnimationTexture = directory.getEntry("game:umbrella_open_animation", TextureRegion.class);
+        umbrellaOpenEmptyAnimationTexture = directory.getEntry("game:umbrella_open_empty_animation", TextureRegion.class);
+        umbrellaBoostAnimationTexture =  directory.getEntry("game:umbrella_dodge_animation", TextureRegion.class);
+        goalAnimationTexture = directory.getEntry("game:goal_animation", TextureRegion.class);
         for(int i = 0; i < 18; i++){
             windAnimation[i] = new TextureRegion(directory.getEntry("game:wind_frame"+i, Texture.class));
         }
-        particleWindAnimation1 = directory.getEntry("game:wind_particle_filmstrip1", Texture.class);
-        particleWindAnimation2 = directory.getEntry("game:wind_particle_filmstrip2", Texture.class);
-        particleWindAnimation3 = directory.getEntry("game:wind_particle_filmstrip3", Texture.class);
+        particleWindAnimation1 = directory.getEntry("game:wind_particle_filmstrip1", TextureRegion.class);
+        particleWindAnimation2 = directory.getEntry("game:wind_particle_filmstrip2", TextureRegion.class);
+        particleWindAnimation3 = directory.getEntry("game:wind_particle_filmstrip3", TextureRegion.class);
 
-        particleWindAnimationList = new Texture[] {
+        particleWindAnimationList = new TextureRegion[] {
                 particleWindAnimation1,
                 particleWindAnimation2,
                 particleWindAnimation3
         };
 
-        particleLeafAnimation1 = directory.getEntry("game:leaf_particle_filmstrip1", Texture.class);
-        particleLeafAnimation2 = directory.getEntry("game:leaf_particle_filmstrip2", Texture.class);
-        particleLeafAnimation3 = directory.getEntry("game:leaf_particle_filmstrip3", Texture.class);
+        particleLeafAnimation1 = directory.getEntry("game:leaf_particle_filmstrip1", TextureRegion.class);
+        particleLeafAnimation2 = directory.getEntry("game:leaf_particle_filmstrip2", TextureRegion.class);
+        particleLeafAnimation3 = directory.getEntry("game:leaf_particle_filmstrip3", TextureRegion.class);
 
-        particleLeafAnimationList = new Texture[] {
+        particleLeafAnimationList = new TextureRegion[] {
                 particleLeafAnimation1,
                 particleLeafAnimation2,
                 particleLeafAnimation3
         };
-        avatarIdleAnimationTexture = directory.getEntry("game:player_idle_animation", Texture.class);
-        avatarLookAnimationTexture = directory.getEntry("game:player_look_animation", Texture.class);
-        avatarTakeoffAnimationTexture = directory.getEntry("game:player_takeoff_animation", Texture.class);
-        avatarLandAnimationTexture = directory.getEntry("game:player_land_animation", Texture.class);
-        avatarFlipAnimationTexture = directory.getEntry("game:player_flip_animation", Texture.class);
+        windParticleAnimations = NewWindModel.createParticleAnimations(particleWindAnimationList);
+        leafParticleAnimations = NewWindModel.createParticleAnimations(particleLeafAnimationList);
+        avatarIdleAnimationTexture = directory.getEntry("game:player_idle_animation", TextureRegion.class);
+        avatarLookAnimationTexture = directory.getEntry("game:player_look_animation", TextureRegion.class);
+        avatarTakeoffAnimationTexture = directory.getEntry("game:player_takeoff_animation", TextureRegion.class);
+        avatarLandAnimationTexture = directory.getEntry("game:player_land_animation", TextureRegion.class);
+        avatarFlipAnimationTexture = directory.getEntry("game:player_flip_animation", TextureRegion.class);
 
         // Fonts
         avatarHealthFont = directory.getEntry("shared:retro", BitmapFont.class);
 
         // Movable Platforms (clouds)
         cloudPlatformTextures = new TextureRegion[]{
-                new TextureRegion(directory.getEntry("game:cloud0", Texture.class)),
-                new TextureRegion(directory.getEntry("game:cloud1", Texture.class)),
-                new TextureRegion(directory.getEntry("game:cloud2", Texture.class)),
-                new TextureRegion(directory.getEntry("game:cloud3", Texture.class))
+                new TextureRegion(directory.getEntry("game:cloud0", TextureRegion.class)),
+                new TextureRegion(directory.getEntry("game:cloud1", TextureRegion.class)),
+                new TextureRegion(directory.getEntry("game:cloud2", TextureRegion.class)),
+                new TextureRegion(directory.getEntry("game:cloud3", TextureRegion.class))
         };
 
         // animated lightning
-        animatedLightningTextures = new Texture[]{
-                directory.getEntry("game:lightning0", Texture.class),
-                directory.getEntry("game:lightning1", Texture.class),
-                directory.getEntry("game:lightning2", Texture.class),
-                directory.getEntry("game:lightning3", Texture.class),
-                directory.getEntry("game:lightning4", Texture.class)
+        animatedLightningTextures = new TextureRegion[]{
+                directory.getEntry("game:lightning0", TextureRegion.class),
+                directory.getEntry("game:lightning1", TextureRegion.class),
+                directory.getEntry("game:lightning2", TextureRegion.class),
+                directory.getEntry("game:lightning3", TextureRegion.class),
+                directory.getEntry("game:lightning4", TextureRegion.class)
         };
 
         // load all branch/log textures by name (this is better approach than hard coding all textures)
         logTextures = new HashMap<>();
         for (String fileName : globalConstants.get("textures").get("tree_logs").asStringArray()){
-            logTextures.put(fileName, new TextureRegion(directory.getEntry("game:" + fileName, Texture.class)));
+            logTextures.put(fileName, new TextureRegion(directory.getEntry("game:" + fileName, TextureRegion.class)));
         }
 
         lightningSFX = directory.getEntry("sound:lightning", Sound.class);
@@ -449,8 +503,13 @@ public class LevelContainer{
         birds.clear();
         movingPlats.clear();
         nests.clear();
-        drawables.clear();
+        renderQueue.clear();
         winds.clear();
+        scenery.clear();
+        deathZones.clear();
+        lightning.clear();
+        actors.clear();
+        initialTransforms.clear();
     }
 
     private MovingPlatformModel showGoal;
@@ -470,25 +529,26 @@ public class LevelContainer{
         goalDoor.setDrawScale(scale);
         goalDoor.setTexture(goalTexture);
         goalDoor.setAnimation(goalAnimationTexture);
+        setCategory(goalDoor, CollisionCategory.GOAL);
         addObject(goalDoor);
-        drawables.add(goalDoor);
+        addDrawable(goalDoor);
+        scenery.add(goalDoor);
 
         // Setting Gravity on World
         JsonValue defaults = globalConstants.get("defaults");
         world.setGravity(new Vector2(0, defaults.getFloat("gravity", DEFAULT_GRAVITY)));
 
-        JsonValue[] plats = parser.getPlatformData();
+        PlatformSpec[] plats = parser.getPlatformSpecs();
         for (int ii = 0; ii < plats.length; ii++) {
-            JsonValue cur = plats[ii];
+            PlatformSpec cur = plats[ii];
             PlatformModel obj;
-            if (cur.getBoolean("textured")){
+            if (cur.textured){
                 // this platform has an asset (branch, log, etc)
-                obj = new PlatformModel(cur, logTextures.get(cur.getString("texture")), cur.getInt("depth"));
+                obj = new PlatformModel(cur, logTextures.get(cur.texture));
             }
             else {
                 // this platform is an invisible object
-                obj = new PlatformModel(cur.getFloat("x"), cur.getFloat("y"), cur.get("points").asFloatArray(),
-                        cur.getInt("depth"));
+                obj = new PlatformModel(cur.x, cur.y, cur.points, cur.depth);
             }
             obj.setBodyType(BodyDef.BodyType.StaticBody);
             obj.setDensity(defaults.getFloat("density", 0.0f));
@@ -496,50 +556,46 @@ public class LevelContainer{
             obj.setRestitution(defaults.getFloat("restitution", 0.0f));
             obj.setDrawScale(scale);
             obj.setName("platform" + ii);
+            setCategory(obj, CollisionCategory.PLATFORM);
             addObject(obj);
-            drawables.add(obj);
+            addDrawable(obj);
+            scenery.add(obj);
         }
 
-        JsonValue[] mPlats = parser.getMovingPlatformData();
+        MovingPlatformSpec[] mPlats = parser.getMovingPlatformSpecs();
         for (int ii = 0; ii < mPlats.length; ii++) {
-            JsonValue cur = mPlats[ii];
-            MovingPlatformModel obj = new MovingPlatformModel( cur, cur.get("points").asFloatArray(),
-                    cur.getFloat("x"), cur.getFloat("y")
-            );
+            MovingPlatformSpec cur = mPlats[ii];
+            MovingPlatformModel obj = new MovingPlatformModel(cur);
             obj.setBodyType(BodyDef.BodyType.KinematicBody);
             obj.setDensity(defaults.getFloat("density", 0.0f));
             obj.setFriction(defaults.getFloat("friction", 0.0f));
             obj.setRestitution(defaults.getFloat("restitution", 0.0f));
             obj.setDrawScale(scale);
-            obj.setTexture(cloudPlatformTextures[cur.getInt("tileIndex")]);
+            obj.setTexture(cloudPlatformTextures[cur.tileIndex]);
             obj.setName("moving_platform" + ii);
+            setCategory(obj, CollisionCategory.MOVING_PLATFORM);
             addObject(obj);
-            drawables.add(obj);
+            addDrawable(obj);
             movingPlats.add(obj);
+            scenery.add(obj);
         }
 
         // Create wind gusts
         String windName = "wind";
-        JsonValue[] windjv = parser.getWindData();
-        for (int ii = 0; ii < windjv.length; ii++) {
+        WindSpec[] windSpecs = parser.getWindSpecs();
+        for (int ii = 0; ii < windSpecs.length; ii++) {
             NewWindModel obj;
-            obj = new NewWindModel(windjv[ii], scale);
+            obj = new NewWindModel(windSpecs[ii], scale);
             obj.setDrawScale(scale);
             obj.setTexture(windTexture);
             obj.setAnimation(windAnimation);
-            for (int i = 0; i < obj.getNumParticles(); i++) {
-                // Populates particle with 2/3 winds, 1/3 leaf
-                int particleNum = (i % 3);
-                if (particleNum < 2) {
-                    obj.setParticleAnimation(particleWindAnimationList, i);
-                } else {
-                    obj.setParticleAnimation(particleLeafAnimationList, i);
-                }
-            }
+            obj.setParticleAnimations(windParticleAnimations, leafParticleAnimations);
             obj.setName(windName + ii);
+            setCategory(obj, CollisionCategory.WIND);
             addObject(obj);
-            drawables.add(obj);
+            addDrawable(obj);
             winds.add(obj);
+            scenery.add(obj);
         }
 
 
@@ -547,115 +603,214 @@ public class LevelContainer{
         JsonValue hazardsjv = globalConstants.get("hazards");
 
         //create invisible/bramble/rock hazards
-        JsonValue[] hazardData = parser.getStaticHazardData();
+        StaticHazardSpec[] hazardSpecs = parser.getStaticHazardSpecs();
         int staticDmg = hazardsjv.getInt("staticHazardDamage");
         float staticKnockBack = hazardsjv.getFloat("staticHazardKnockBack");
-        for(int ii = 0; ii < hazardData.length; ii++){
+        for(int ii = 0; ii < hazardSpecs.length; ii++){
             PolygonObstacle obj;
-            JsonValue jv = hazardData[ii];
-            String type = jv.getString("type");
-            if (type.equals("rock")){
-                obj = new RockHazard(jv, staticDmg, staticKnockBack);
+            StaticHazardSpec spec = hazardSpecs[ii];
+            if (spec.type == StaticHazardSpec.Type.ROCK){
+                obj = new RockHazard(spec, staticDmg, staticKnockBack);
                 obj.setTexture(rockTexture);
             }
             else {
-                obj = new StaticHazard(jv, staticDmg, staticKnockBack);
-                if (type.equals("fill")){
+                obj = new StaticHazard(spec, staticDmg, staticKnockBack);
+                if (spec.type == StaticHazardSpec.Type.FILL){
                     obj.setTexture(fillBrambleTexture);
                 }
             }
             obj.setDrawScale(scale);
             obj.setName("static_hazard"+ii);
+            setCategory(obj, CollisionCategory.STATIC_HAZARD);
             addObject(obj);
-            drawables.add((Drawable) obj);
+            addDrawable((Drawable) obj);
+            scenery.add(obj);
         }
 
         // create death zone (using static hazard with 0 knockback)
-        JsonValue[] deathZones = parser.getDeathZoneData();
-        for(int ii = 0; ii < deathZones.length; ii++){
-            JsonValue jv = deathZones[ii];
-            StaticHazard obj = new StaticHazard(jv, globalConstants.get("player").getInt("maxhealth"), 0);
+        StaticHazardSpec[] deathZoneSpecs = parser.getDeathZoneSpecs();
+        for(int ii = 0; ii < deathZoneSpecs.length; ii++){
+            StaticHazard obj = new StaticHazard(deathZoneSpecs[ii], globalConstants.get("player").getInt("maxhealth"), 0);
             obj.setName("death_zone"+ii);
             obj.setDrawScale(scale);
             obj.setSensor(true);
+            setCategory(obj, CollisionCategory.STATIC_HAZARD);
+            addObject(obj);
+            deathZones.add(obj);
+        }
+
+        populateBirds();
+
+        //create lightning (animated lightning bolts and still-frame lightning bolts)
+        String lightningName = "lightning";
+        LightningSpec[] lightningSpecs = parser.getLightningSpecs();
+        int lightningDmg = hazardsjv.getInt("lightningDamage");
+        float lightningKnockBackScl = hazardsjv.getFloat("lightningKnockBack");
+        for (int ii = 0; ii < lightningSpecs.length; ii++) {
+            Obstacle obj;
+            LightningSpec spec = lightningSpecs[ii];
+            if (spec.fillTexture){
+                LightningHazard bolt = new LightningHazard(spec, lightningDmg, lightningKnockBackScl);
+                bolt.setTexture(fillLightningTexture);
+                obj = bolt;
+            }
+            else {
+                obj = new AnimatedLightningHazard(spec, animatedLightningTextures[spec.tileIndex],
+                        lightningDmg, lightningKnockBackScl, lightningSFX);
+            }
+            obj.setDrawScale(scale);
+            obj.setName(lightningName + ii);
+            setCategory(obj, CollisionCategory.HAZARD);
             addObject(obj);
+            addDrawable((Drawable) obj);
+            lightning.add(obj);
         }
 
+        populatePlayer();
+        populateDecorations();
+        buildOcclusionGrid();
+
+        // remember where every kept body started so restarts can put it back
+        snapshotTransforms(scenery);
+        snapshotTransforms(deathZones);
+        snapshotTransforms(lightning);
+    }
+
+    /**
+     * Restarts the level that was last populated without rebuilding its geography.
+     * <br>
+     * Platforms, winds, static hazards, death zones and lightning keep their bodies in the
+     * current world; they are moved back to their initial transforms and their timers are
+     * rewound. Birds, nests, the player and the umbrella are destroyed and rebuilt from the
+     * parser's specs. The resulting object and drawable orders match populateLevel().
+     * <br>
+     * Must only be called after populateLevel() on the same world and parser level.
+     */
+    public void restartLevel() {
+        // destroying these bodies also ends all of their contacts
+        for (Obstacle obj : actors) {
+            obj.deactivatePhysics(world);
+        }
+        objects.clear();
+        addQueue.clear();
+        birds.clear();
+        nests.clear();
+        renderQueue.clear();
+        actors.clear();
+
+        int ii = 0;
+        ii = restoreTransforms(scenery, ii);
+        ii = restoreTransforms(deathZones, ii);
+        restoreTransforms(lightning, ii);
+        for (MovingPlatformModel plat : movingPlats) {
+            plat.restart();
+        }
+        for (Obstacle obj : lightning) {
+            if (obj instanceof LightningHazard) {
+                ((LightningHazard) obj).restart();
+            } else {
+                ((AnimatedLightningHazard) obj).restart();
+            }
+        }
+
+        // re-add in the same order populateLevel() creates objects
+        for (Obstacle obj : scenery) {
+            objects.add(obj);
+            addDrawable((Drawable) obj);
+        }
+        for (Obstacle obj : deathZones) {
+            objects.add(obj);
+        }
+        populateBirds();
+        for (Obstacle obj : lightning) {
+            objects.add(obj);
+            addDrawable((Drawable) obj);
+        }
+        populatePlayer();
+        populateDecorations();
+    }
+
+    /**
+     * Creates the birds, nests and nested birds of the current level.
+     */
+    private void populateBirds() {
+        JsonValue hazardsjv = globalConstants.get("hazards");
+
         //create birds
-        JsonValue[] birdData = parser.getBirdData();
+        BirdSpec[] birdSpecs = parser.getBirdSpecs();
         int birdDamage = hazardsjv.getInt("birdDamage");
         int birdSensorRadius = hazardsjv.getInt("birdSensorRadius");
         float birdKnockBack = hazardsjv.getInt("birdKnockBack");
         // indices for each bird type indicating the preferred still frame.
         int[] indices = hazardsjv.get("birdStillFrames").asIntArray();
         int birdCount = 0;
-        for (int ii = 0; ii < birdData.length; ii++) {
+        for (int ii = 0; ii < birdSpecs.length; ii++) {
             BirdHazard obj;
-            JsonValue jv = birdData[ii];
-            obj = new BirdHazard(jv, birdDamage, birdSensorRadius, birdKnockBack, birdFlapSFX);
+            obj = new BirdHazard(birdSpecs[ii], birdDamage, birdSensorRadius, birdKnockBack, birdFlapSFX);
             obj.setDrawScale(scale);
             obj.setFlapAnimation(getFlapAnimationTexture(obj.getColor()), indices[obj.getColor().ordinal()]);
             obj.setWarningAnimation(warningTexture);
             obj.setName("bird" + ii);
+            setCategory(obj, CollisionCategory.HAZARD);
             addObject(obj);
             birds.add(obj);
-            drawables.add(obj);
+            addDrawable(obj);
+            actors.add(obj);
             birdCount++;
         }
 
         //create nests and their bird
         String nestName = "nest";
-        JsonValue[] nestData = parser.getNestData();
-        for(int ii = 0; ii<nestData.length; ii++){
-            NestHazard nest = new NestHazard(nestData[ii], parser.getBlueBirdData());
+        NestSpec[] nestSpecs = parser.getNestSpecs();
+        for(int ii = 0; ii<nestSpecs.length; ii++){
+            NestHazard nest = new NestHazard(nestSpecs[ii], parser.getBlueBirdSpec());
             nest.setDrawScale(scale);
             nest.setTexture(nestTexture);
             nest.setName("nest" + ii);
+            setCategory(nest, CollisionCategory.NEST);
             addObject(nest);
             NestedBirdHazard bird = new NestedBirdHazard(nest, birdDamage, birdSensorRadius, birdKnockBack, birdFlapSFX);
             bird.setDrawScale(scale);
             bird.setFlapAnimation(blueBirdAnimationTexture, indices[BirdHazard.BirdColor.BLUE.ordinal()]);
             bird.setSpawnAnimation(bluebirdSpawnAnimation, 2, 7);
             bird.setName("bird" + (birdCount + ii));
+            setCategory(bird, CollisionCategory.HAZARD);
             addObject(bird);
             bird.setSpawning();
             birds.add(bird);
             // nests.add(obj);
-            drawables.add(nest);
-            drawables.add(bird);
+            addDrawable(nest);
+            addDrawable(bird);
+            actors.add(nest);
+            actors.add(bird);
         }
+    }
 
-        //create lightning (animated lightning bolts and still-frame lightning bolts)
-        String lightningName = "lightning";
-        JsonValue[] lightningData = parser.getLightningData();
-        int lightningDmg = hazardsjv.getInt("lightningDamage");
-        float lightningKnockBackScl = hazardsjv.getFloat("lightningKnockBack");
-        for (int ii = 0; ii < lightningData.length; ii++) {
-            Obstacle obj;
-            JsonValue data = lightningData[ii];
-            if (data.getBoolean("fill_texture")){
-                LightningHazard lightning = new LightningHazard(data, lightningDmg, lightningKnockBackScl);
-                lightning.setTexture(fillLightningTexture);
-                obj = lightning;
-            }
-            else {
-                obj = new AnimatedLightningHazard(data, animatedLightningTextures[data.getInt("tileIndex")],
-                        lightningDmg, lightningKnockBackScl, lightningSFX);
+    /**
+     * Rasterizes the static bodies that birds cannot see through into the occlusion grid.
+     * Static geometry is kept by restartLevel(), so this is only needed after populateLevel().
+     */
+    private void buildOcclusionGrid() {
+        Array<Body> bodies = new Array<>();
+        Array<Fixture> occluders = new Array<>();
+        world.getBodies(bodies);
+        for (Body body : bodies) {
+            // static bodies never move, everything else is left to Box2D ray casts
+            if (body.getType() == BodyDef.BodyType.StaticBody
+                    && !BirdRayCastCallback.isSeeThrough(body.getUserData())) {
+                occluders.addAll(body.getFixtureList());
             }
-            obj.setDrawScale(scale);
-            obj.setName(lightningName + ii);
-            addObject(obj);
-            drawables.add((Drawable) obj);
         }
+        occlusionGrid.build(occluders);
+    }
 
-        // Create invisible |_| shaped world boundaries so player is within bounds.
-        dwidth = bounds.width;
-        dheight = bounds.height;
-        String wallName = "barrier";
-
+    /**
+     * Creates the player, the camera's show-goal target and the umbrella.
+     */
+    private void populatePlayer() {
         // Create player
-        dwidth = globalConstants.get("player").get("size").getFloat(0);
-        dheight = globalConstants.get("player").get("size").getFloat(1);
+        float dwidth = globalConstants.get("player").get("size").getFloat(0);
+        float dheight = globalConstants.get("player").get("size").getFloat(1);
         avatar = new PlayerModel(globalConstants.get("player"), parser.getPlayerPos(),
                 dwidth, dheight, globalConstants.get("player").getInt("maxhealth"), parser.getPlayerDrawDepth());
         avatar.setDrawScale(scale);
@@ -674,30 +829,23 @@ public class LevelContainer{
         avatar.setIndicatorTexture(indicatorTexture);
 
         avatar.healthFont = avatarHealthFont;
+        setCategory(avatar, CollisionCategory.PLAYER);
         addObject(avatar);
-        drawables.add(avatar);
+        addDrawable(avatar);
+        actors.add(avatar);
 
         //initialize the invisible object the camera follows to move from goal
         //to player when first entering level
-        JsonValue showGoalData = new JsonValue(JsonValue.ValueType.object);
-        showGoalData.addChild("movespeed", new JsonValue(5f));
-        showGoalData.addChild("flipped", new JsonValue(false));
-        showGoalData.addChild("depth", new JsonValue(0));
-        showGoalData.addChild("path", new JsonValue(JsonValue.ValueType.array));
-        showGoalData.get("path").addChild(new JsonValue(goalDoor.getX()));
-        showGoalData.get("path").addChild(new JsonValue(goalDoor.getY()));
-        showGoalData.get("path").addChild(new JsonValue(avatar.getX()));
-        showGoalData.get("path").addChild(new JsonValue(avatar.getY()));
-        showGoalData.addChild("AABB", new JsonValue(JsonValue.ValueType.array));
-        showGoalData.get("AABB").addChild(new JsonValue(-0.1f));
-        showGoalData.get("AABB").addChild(new JsonValue(0.1f));
-        showGoalData.get("AABB").addChild(new JsonValue(0.2f));
-        showGoalData.get("AABB").addChild(new JsonValue(0.2f));
         float[] p = {-0.1f,-0.1f,0.1f,-0.1f,-0.1f,0.1f,0.1f,0.1f};
-        showGoal = new MovingPlatformModel(showGoalData, p, goalDoor.getX(), goalDoor.getY());
+        float[] showGoalPath = {goalDoor.getX(), goalDoor.getY(), avatar.getX(), avatar.getY()};
+        float[] showGoalBox = {-0.1f, 0.1f, 0.2f, 0.2f};
+        showGoal = new MovingPlatformModel(new MovingPlatformSpec(goalDoor.getX(), goalDoor.getY(), 0, p,
+                showGoalPath, -1, 5f, 0, showGoalBox, false));
         showGoal.setSensor(true);
         showGoal.setName("show goal");
+        setCategory(showGoal, CollisionCategory.CAMERA_TARGET);
         addObject(showGoal);
+        actors.add(showGoal);
 
         // Create the umbrella
         dwidth = globalConstants.get("umbrella").get("size").getFloat(0);
@@ -714,24 +862,91 @@ public class LevelContainer{
         umbrella.setBoostAnimation(umbrellaBoostAnimationTexture);
         umbrella.setClosedMomentumX(globalConstants.get("umbrella").getFloat("closedmomentumX"));
         umbrella.setClosedMomentumY(globalConstants.get("umbrella").getFloat("closedmomentumY"));
+        setCategory(umbrella, CollisionCategory.UMBRELLA);
         addObject(umbrella);
-        // drawables.add(umbrella); unnecessary because player+umbrella always drawn together.
+        actors.add(umbrella);
+        // addDrawable(umbrella); unnecessary because player+umbrella always drawn together.
+    }
 
-        // Include Stickers + Tiled Layers and Sort all drawables
+    /**
+     * Adds the parser's stickers and tiled layers and builds the render queue.
+     */
+    private void populateDecorations() {
+        // Include Stickers + Tiled Layers
         for (Sticker s : parser.getStickers()){
             s.setDrawScale(scale);
-            drawables.add(s);
+            addDrawable(s);
         }
         for (TiledLayer t : parser.getLayers()){
             t.setDrawScale(scale);
-            drawables.add(t);
+            addDrawable(t);
+        }
+        renderQueue.build(parser.getWorldSize().x, parser.getWorldSize().y);
+    }
+
+    /**
+     * Adds the drawable to the render queue (in the bucket of its depth).
+     * Drawables that can move, and tiled layers, are not culled by location.
+     */
+    private void addDrawable(Drawable d) {
+        boolean movable = d instanceof TiledLayer || d instanceof PlayerModel
+                || d instanceof BirdHazard || d instanceof MovingPlatformModel;
+        renderQueue.add(d, movable);
+    }
+
+    /**
+     * Appends the current [x, y, angle] of every given object to the initial transforms.
+     */
+    private void snapshotTransforms(PooledList<Obstacle> list) {
+        for (Obstacle obj : list) {
+            initialTransforms.add(obj.getX(), obj.getY(), obj.getAngle());
         }
-        Collections.sort(drawables, Collections.reverseOrder(new Comparator<Drawable>(){
-            @Override
-            public int compare(Drawable o1, Drawable o2) { return o1.getDepth() - o2.getDepth();
+    }
+
+    /**
+     * Moves every given object back to its snapshotted transform and stops it.
+     * <br>
+     * Bodies that never moved are left alone: every transform change queues a broad-phase
+     * update, and most kept bodies are static.
+     *
+     * @param list the objects, in snapshot order
+     * @param index offset of the first object's transform in the snapshot
+     * @return offset of the transform following the last object's
+     */
+    private int restoreTransforms(PooledList<Obstacle> list, int index) {
+        float[] t = initialTransforms.items;
+        for (Obstacle obj : list) {
+            if (obj.getX() != t[index] || obj.getY() != t[index + 1] || obj.getAngle() != t[index + 2]) {
+                obj.setPosition(t[index], t[index + 1]);
+                obj.setAngle(t[index + 2]);
+                obj.savePreviousState();
+            }
+            if (obj.getBodyType() != BodyDef.BodyType.StaticBody) {
+                obj.setLinearVelocity(Vector2.Zero);
+                obj.setAngularVelocity(0);
             }
-        }));
+            index += 3;
+        }
+        return index;
+    }
 
+    /**
+     * Sets the collision category of all fixtures of the object (and of its children if it is a
+     * ComplexObstacle), together with the mask of the category. Must be called before the object
+     * is added to the world.
+     *
+     * @param obj The object
+     * @param category One of the CollisionCategory constants
+     */
+    private void setCategory(Obstacle obj, short category) {
+        categoryFilter.categoryBits = category;
+        categoryFilter.maskBits = CollisionCategory.maskOf(category);
+        obj.setFilterData(categoryFilter);
+        if (obj instanceof ComplexObstacle) {
+            for (Obstacle child : ((ComplexObstacle) obj).getBodies()) {
+                child.setFilterData(categoryFilter);
+            }
+        }
     }
 
     /**
@@ -743,6 +958,7 @@ public class LevelContainer{
         assert inBounds(obj) : "Object is not in bounds";
         objects.add(obj);
         obj.activatePhysics(world);
+        obj.savePreviousState();
     }
 
     /**
@@ -856,9 +1072,14 @@ public class LevelContainer{
 
 
     /**
-     * @return sorted list of drawables to be (possibly) drawn to game.
+     * @return the drawables to be (possibly) drawn to game, in draw order.
+     */
+    public RenderQueue getRenderQueue() { return renderQueue; }
+
+    /**
+     * @return the static geometry that blocks the sight of birds.
      */
-    public PooledList<Drawable> getDrawables() { return drawables;}
+    public OcclusionGrid getOcclusionGrid() { return occlusionGrid; }
 
 
     public void setParser(LevelParser parser) { this.parser = parser; }
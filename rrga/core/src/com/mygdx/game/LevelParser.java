@@ -1,56 +1,67 @@
 package com.mygdx.game;
 
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.utils.*;
+import com.mygdx.game.model.spec.*;
 import com.mygdx.game.utility.assets.AssetDirectory;
 import com.mygdx.game.utility.util.*;
 
+import java.io.*;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.zip.CRC32;
 
 public class LevelParser {
 
+    /** folder (relative to the assets folder) holding the precompiled levels */
+    public static final String COMPILED_DIRECTORY = "levels/compiled/";
+
+    /** file extension of precompiled levels */
+    public static final String COMPILED_EXTENSION = ".lvl";
+
+    /** magic number at the start of every precompiled level ("GLVL") */
+    private static final int COMPILED_MAGIC = 0x474C564C;
+
+    /** version of the precompiled level format. Bump whenever the written data changes. */
+    private static final int COMPILED_VERSION = 4;
+
     /** the Tiled-JSON raw value that was previously parsed.
      * This saves parsing time when a level is played immediately again.
      */
     private JsonValue prevParsed;
 
-    /** list of bird json data.
-     * Invariant: JSON is in the format used by level-container
-     */
-    private JsonValue[] birdData;
+    /** checksum of all level-independent inputs of the parser (templates, tilesets, constants...) */
+    private final long inputFingerprint;
 
-    /** list of lightning json data
-     * Invariant: JSON is in the format used by level-container
-     */
-    private JsonValue[] lightningData;
+    /** the precompiled level file that was previously loaded (same purpose as prevParsed) */
+    private FileHandle prevCompiled;
 
-    /** list of platform json data
-     * Invariant: JSON is in the format used by level-container
-     */
-    private JsonValue[] platformData;
+    /** specs of all birds in the level */
+    private BirdSpec[] birdSpecs;
 
-    /** list of static hazard json data
-     * Invariant: JSON is in the format used by level-container
-     */
-    private JsonValue[] staticHazardData;
+    /** specs of all lightnings in the level */
+    private LightningSpec[] lightningSpecs;
 
-    /** list of wind json data
-     * Invariant: JSON is in the format used by level-container
-     */
-    private JsonValue[] windData;
+    /** specs of all platforms in the level */
+    private PlatformSpec[] platformSpecs;
 
-    /** list of moving platform json data
-     * Invariant: JSON is in the format used by level-container
-     */
-    private JsonValue[] movingPlatformData;
+    /** specs of all static hazards in the level */
+    private StaticHazardSpec[] staticHazardSpecs;
 
-    /** list of nest json data
-     * Invariant: JSON is in the format used by level-container
-     */
-    private JsonValue[] nestData;
+    /** specs of all winds in the level */
+    private WindSpec[] windSpecs;
+
+    /** specs of all moving platforms in the level */
+    private MovingPlatformSpec[] movingPlatformSpecs;
+
+    /** specs of all nests in the level */
+    private NestSpec[] nestSpecs;
 
     /** the texture data of the tile layers
      * Invariant: front layers are stored last in list
@@ -89,8 +100,8 @@ public class LevelParser {
     /** template object with defaults for brown birds*/
     private final JsonValue brownBirdDefaultObj;
 
-    /** blue bird template data that is parsed */
-    private JsonValue blueBirdData;
+    /** spec of the blue bird template (spawned by nests) */
+    private BirdSpec blueBirdSpec;
 
     /** the default JSON properties of path point. */
     private final JsonValue pointDefault;
@@ -134,8 +145,8 @@ public class LevelParser {
     /** the default direction of a wind object */
     private static final float windDirDefault = 0;
 
-    /** maps from tileset name (bushes, cliffs, .etc) to its undivided texture */
-    private final HashMap<String, Texture> tileSetTextureMap;
+    /** maps from tileset name (bushes, cliffs, .etc) to the region of each of its tiles (by tile index) */
+    private final HashMap<String, TextureRegion[]> tileSetRegionMap;
 
     /** maps from tileset name (bushes, cliffs, .etc) to its JSON data */
     private final HashMap<String, JsonValue> tileSetJsonMap;
@@ -171,7 +182,9 @@ public class LevelParser {
 
     /** drawing depth of scarf */
     private int goalDepth;
-    private JsonValue[] deathZoneData;
+
+    /** specs of all death zones in the level */
+    private StaticHazardSpec[] deathZoneSpecs;
 
     /** level background music */
     private String music;
@@ -179,6 +192,15 @@ public class LevelParser {
     /** level parallax */
     private String parallax;
 
+    // data kept only so that the parsed level can be written out in precompiled form
+    /** (name, first gid) of every tileset referenced by the level, in level order */
+    private final ArrayList<String> tileSetNames = new ArrayList<>();
+    private final IntArray tileSetFirstGids = new IntArray();
+    /** raw gids (flip bits included) of every tile layer, in the same order as layers */
+    private final ArrayList<int[]> layerGids = new ArrayList<>();
+    /** placement of every sticker, in the same order as stickers */
+    private final ArrayList<StickerRecord> stickerRecords = new ArrayList<>();
+
     /**
      * the music assigned to be used as background music for the level
      * @return one of {"a_world_of_clouds"; "exploring_the_forest", "droplets"; "over_the_cliffs", "the_storm"}
@@ -203,59 +225,65 @@ public class LevelParser {
     }
 
     /**
-     * @return processed bird data that is ready for consumption
+     * @return specs of all birds in the level
      */
-    public JsonValue[] getBirdData() {
-        return birdData;
+    public BirdSpec[] getBirdSpecs() {
+        return birdSpecs;
     }
 
-    public JsonValue getBlueBirdData(){
-        return blueBirdData;
+    /**
+     * @return spec of the blue bird spawned by nests (position, speed and depth are set per nest)
+     */
+    public BirdSpec getBlueBirdSpec(){
+        return blueBirdSpec;
     }
 
     /**
-     * @return processed nest data that is ready for consumption
+     * @return specs of all nests in the level
      */
-    public JsonValue[] getNestData(){
-        return nestData;
+    public NestSpec[] getNestSpecs(){
+        return nestSpecs;
     }
 
     /**
-     * @return processed lightning data that is ready for consumption
+     * @return specs of all lightning bolts in the level
      */
-    public JsonValue[] getLightningData() {
-        return lightningData;
+    public LightningSpec[] getLightningSpecs() {
+        return lightningSpecs;
     }
 
     /**
-     * @return processed platform data that is ready for consumption
+     * @return specs of all static platforms in the level
      */
-    public JsonValue[] getPlatformData() {
-        return platformData;
+    public PlatformSpec[] getPlatformSpecs() {
+        return platformSpecs;
     }
 
     /**
-     * @return processed moving platform data that is ready for consumption
+     * @return specs of all moving platforms in the level
      */
-    public JsonValue[] getMovingPlatformData() {
-        return movingPlatformData;
+    public MovingPlatformSpec[] getMovingPlatformSpecs() {
+        return movingPlatformSpecs;
     }
 
     /**
-     * @return processed static hazard data that is ready for consumption
+     * @return specs of all static hazards in the level
      */
-    public JsonValue[] getStaticHazardData() {
-        return staticHazardData;
+    public StaticHazardSpec[] getStaticHazardSpecs() {
+        return staticHazardSpecs;
     }
 
     /**
-     * @return processed wind data that is ready for consumption
+     * @return specs of all winds in the level
      */
-    public JsonValue[] getWindData(){
-        return windData;
+    public WindSpec[] getWindSpecs(){
+        return windSpecs;
     }
 
-    public JsonValue[] getDeathZoneData() { return deathZoneData; }
+    /**
+     * @return specs of all death zones in the level
+     */
+    public StaticHazardSpec[] getDeathZoneSpecs() { return deathZoneSpecs; }
 
     public Vector2 getGoalPos() {
         return goalPos;
@@ -285,33 +313,35 @@ public class LevelParser {
     ArrayList<JsonValue> deathZoneRawData = new ArrayList<>();
 
     public LevelParser(AssetDirectory directory){
-        JsonValue globalConstants = directory.getEntry("global:constants", JsonValue.class);
-
-        JsonValue redBirdTemplate = directory.getEntry("red_bird:template", JsonValue.class);
-        JsonValue blueBirdTemplate = directory.getEntry("blue_bird:template", JsonValue.class);
-        JsonValue greenBirdTemplate = directory.getEntry("green_bird:template", JsonValue.class);
-        JsonValue brownBirdTemplate = directory.getEntry("brown_bird:template", JsonValue.class);
-        JsonValue pathPointTemplate = directory.getEntry("path_point:template", JsonValue.class);
-
-        JsonValue platformTemplate = directory.getEntry("platform:template", JsonValue.class);
-        JsonValue staticHazardTemplate = directory.getEntry("static_hazard:template", JsonValue.class);
-        JsonValue rockHazardTemplate = directory.getEntry("rock:template", JsonValue.class);
-        JsonValue windTemplate = directory.getEntry("wind:template", JsonValue.class);
-        JsonValue nestTemplate = directory.getEntry("nest:template", JsonValue.class);
+        // every JSON read here may end up in a precompiled level, see getLevelFingerprint()
+        CRC32 inputs = new CRC32();
+        JsonValue globalConstants = input(directory, inputs, "global:constants");
+
+        JsonValue redBirdTemplate = input(directory, inputs, "red_bird:template");
+        JsonValue blueBirdTemplate = input(directory, inputs, "blue_bird:template");
+        JsonValue greenBirdTemplate = input(directory, inputs, "green_bird:template");
+        JsonValue brownBirdTemplate = input(directory, inputs, "brown_bird:template");
+        JsonValue pathPointTemplate = input(directory, inputs, "path_point:template");
+
+        JsonValue platformTemplate = input(directory, inputs, "platform:template");
+        JsonValue staticHazardTemplate = input(directory, inputs, "static_hazard:template");
+        JsonValue rockHazardTemplate = input(directory, inputs, "rock:template");
+        JsonValue windTemplate = input(directory, inputs, "wind:template");
+        JsonValue nestTemplate = input(directory, inputs, "nest:template");
 
         // cloud templates
-        JsonValue cloud0Template = directory.getEntry("cloud0:template", JsonValue.class);
-        JsonValue cloud1Template = directory.getEntry("cloud1:template", JsonValue.class);
-        JsonValue cloud2Template = directory.getEntry("cloud2:template", JsonValue.class);
-        JsonValue cloud3Template = directory.getEntry("cloud3:template", JsonValue.class);
+        JsonValue cloud0Template = input(directory, inputs, "cloud0:template");
+        JsonValue cloud1Template = input(directory, inputs, "cloud1:template");
+        JsonValue cloud2Template = input(directory, inputs, "cloud2:template");
+        JsonValue cloud3Template = input(directory, inputs, "cloud3:template");
 
         // growing lightning templates
-        JsonValue fillLightningTemplate = directory.getEntry("fill_lightning:template", JsonValue.class);
-        JsonValue lightning0Template = directory.getEntry("lightning0:template", JsonValue.class);
-        JsonValue lightning1Template = directory.getEntry("lightning1:template", JsonValue.class);
-        JsonValue lightning2Template = directory.getEntry("lightning2:template", JsonValue.class);
-        JsonValue lightning3Template = directory.getEntry("lightning3:template", JsonValue.class);
-        JsonValue lightning4Template = directory.getEntry("lightning4:template", JsonValue.class);
+        JsonValue fillLightningTemplate = input(directory, inputs, "fill_lightning:template");
+        JsonValue lightning0Template = input(directory, inputs, "lightning0:template");
+        JsonValue lightning1Template = input(directory, inputs, "lightning1:template");
+        JsonValue lightning2Template = input(directory, inputs, "lightning2:template");
+        JsonValue lightning3Template = input(directory, inputs, "lightning3:template");
+        JsonValue lightning4Template = input(directory, inputs, "lightning4:template");
 
         redBirdDefaultObj = redBirdTemplate.get("object");
         blueBirdDefaultObj = blueBirdTemplate.get("object");
@@ -348,27 +378,40 @@ public class LevelParser {
         logDefaultObjects = new HashMap<>();
         for (String fileName : globalConstants.get("textures").get("tree_logs").asStringArray()){
             logDefaultObjects.put(fileName + ".json",
-                    directory.getEntry("template:" + fileName, JsonValue.class).get("object"));
+                    input(directory, inputs, "template:" + fileName).get("object"));
         }
 
-        // save tileset textures and tileset JSON data
-        tileSetTextureMap = new HashMap<>();
+        // save tileset regions and tileset JSON data
+        tileSetRegionMap = new HashMap<>();
         tileSetJsonMap = new HashMap<>();
         String[] tileSetFileNames = globalConstants.get("textures").get("tilesets").asStringArray();
         for (String tileSetName : tileSetFileNames){
-            tileSetTextureMap.put(tileSetName, directory.getEntry( "tileset:" + tileSetName, Texture.class));
-            tileSetJsonMap.put(tileSetName, directory.getEntry("data:"+tileSetName, JsonValue.class));
+            JsonValue tileSetJson = input(directory, inputs, "data:"+tileSetName);
+            TextureAtlas atlas = directory.getEntry("tileset:" + tileSetName, TextureAtlas.class);
+            if (atlas != null){
+                tileSetRegionMap.put(tileSetName, getTileRegions(atlas, tileSetJson.getInt("tilecount")));
+            }
+            else {
+                Texture texture = directory.getEntry("tileset:" + tileSetName, Texture.class);
+                // removes flickering on square tiles (a GL call, so not done while parsing on a worker thread)
+                texture.setFilter(Texture.TextureFilter.Nearest, Texture.TextureFilter.Nearest);
+                tileSetRegionMap.put(tileSetName, getTileRegions(texture, tileSetJson));
+            }
+            tileSetJsonMap.put(tileSetName, tileSetJson);
         }
 
         // add object json
-        gameObjectTiles = directory.getEntry("data:objects", JsonValue.class).get("tiles");
+        gameObjectTiles = input(directory, inputs, "data:objects").get("tiles");
 
         // load all sticker textures (according to atlas file)
         stickerTextureInfoMap = new HashMap<>();
-        JsonValue stickerData = directory.getEntry("data:stickers_atlas", JsonValue.class);
+        JsonValue stickerData = input(directory, inputs, "data:stickers_atlas");
         for (JsonValue textureData : stickerData){
             String textureName = textureData.name;
             Texture texture = directory.getEntry("stickers:"+textureName, Texture.class);
+            // sticker bounding boxes are baked into precompiled levels
+            update(inputs, texture.getWidth());
+            update(inputs, texture.getHeight());
             if (textureData.getBoolean("animated", false)){
                 // asset is filmstrip
                 stickerTextureInfoMap.put(textureName,
@@ -392,7 +435,7 @@ public class LevelParser {
             }
         }
         stickerNameMap = new IntMap<String>();
-        JsonValue stickerJson = directory.getEntry("data:stickers", JsonValue.class);
+        JsonValue stickerJson = input(directory, inputs, "data:stickers");
         maxStickerSetId = 0;
         for (JsonValue stickerTile : stickerJson.get("tiles")){
             int id = stickerTile.getInt("id");
@@ -402,6 +445,20 @@ public class LevelParser {
             // save (id, name) without extensions
             stickerNameMap.put(id, sourceImageName.split("\\.")[0]);
         }
+        inputFingerprint = inputs.getValue();
+    }
+
+    /**
+     * loads the given level, preferring its precompiled form and falling back to the Tiled-JSON
+     * when there is no usable precompiled file: missing, corrupt, or compiled from different inputs
+     * (see parseCompiledLevel()).
+     * @param directory asset directory holding the "tiled:level" entries
+     * @param level level number
+     */
+    public void parseLevel(AssetDirectory directory, int level){
+        if (!parseCompiledLevel(Gdx.files.internal(getCompiledPath(level)), getLevelFingerprint(directory, level))){
+            parseLevel(directory.getEntry("tiled:level" + level, JsonValue.class));
+        }
     }
 
     /**
@@ -415,6 +472,7 @@ public class LevelParser {
         // no parsing needed if data in memory
         if (prevParsed == levelData){ return; }
         prevParsed = levelData;
+        prevCompiled = null;
 
         // set world size and size of each tile in TILED for conversion of coordinates into game coordinates.
         worldSize.x = levelData.getInt("width", 32);
@@ -438,35 +496,18 @@ public class LevelParser {
         }
 
         //get blue bird data for nests
-        blueBirdData = processBird(getBirdDefaultObj("blue"), null);
+        blueBirdSpec = processBird(getBirdDefaultObj("blue"), null);
 
         // prepare texture/tileset parsing, get all tilesets used by current level
         // properly formatted raw data should have tilesets ordered by IDs so this guarantees sorted order.
-        tileSetMakers.clear();
-        stickerMaker = null;
+        clearTileData();
         JsonValue tileSets = levelData.get("tilesets");
         for (JsonValue ts : tileSets){
             String source = ts.getString("source");
             String[] pathNames = source.split("/");
             String tileSetName = pathNames[pathNames.length - 1].split("\\.")[0];
-            if (tileSetName.equals("stickers")){
-                stickerMaker = new CollectionTileSetMaker(stickerTextureInfoMap, stickerNameMap, ts.getInt("firstgid"));
-                continue;
-            }
-            JsonValue j = tileSetJsonMap.get(tileSetName);
-            if (j == null){
-                continue;
-            }
-            ImageTileSetMaker tileSetMaker = new ImageTileSetMaker(j, ts.getInt("firstgid"));
-            int minId = ts.getInt("firstgid");
-            int maxId = j.getInt("tilecount") - 1 + minId;
-            for (int i = minId; i <= maxId; i++){
-                tileSetMakers.put(i, tileSetMaker);
-            }
-
+            addTileSet(tileSetName, ts.getInt("firstgid"));
         }
-        stickers.clear();
-        layers.clear();
 
         // clear raw data containers
         trajectory.clear();
@@ -510,6 +551,314 @@ public class LevelParser {
         processDeathZone(deathZoneRawData);
     }
 
+    /**
+     * @param level level number (as in the asset key "tiled:level" + level)
+     * @return the file the precompiled form of the given level is stored in (it may not exist)
+     */
+    public static String getCompiledPath(int level){
+        return COMPILED_DIRECTORY + "level" + level + COMPILED_EXTENSION;
+    }
+
+    /**
+     * computes the fingerprint of everything a precompiled level is derived from: the Tiled-JSON of the level
+     * and every level-independent input this parser read when it was created (templates, tileset and sticker
+     * data, global constants, sticker texture sizes). <br>
+     * The checksums are recorded while the assets are loaded, so this does not read any file.
+     * @param directory asset directory holding the "tiled:level" entries
+     * @param level level number
+     * @return the fingerprint stored in the precompiled form of the level
+     */
+    public long getLevelFingerprint(AssetDirectory directory, int level){
+        return (inputFingerprint << 32) | (directory.getChecksum("tiled:level" + level) & 0xFFFFFFFFL);
+    }
+
+    /**
+     * gets a JSON input of the parser, adding its checksum to the given fingerprint.
+     */
+    private static JsonValue input(AssetDirectory directory, CRC32 fingerprint, String key){
+        update(fingerprint, directory.getChecksum(key));
+        return directory.getEntry(key, JsonValue.class);
+    }
+
+    /**
+     * adds the bytes of a value to the given fingerprint.
+     */
+    private static void update(CRC32 fingerprint, long value){
+        for (int shift = 0; shift < 64; shift += 8){
+            fingerprint.update((int) (value >>> shift));
+        }
+    }
+
+    /**
+     * loads a level that was precompiled with writeCompiledLevel().<br>
+     * This produces exactly the data parseLevel() produces for the source level, but skips all Tiled-JSON
+     * processing (template lookups, property searches, path tracing and coordinate conversions).<br>
+     * The precompiled file records the fingerprint of the inputs it was compiled from (see getLevelFingerprint());
+     * it is rejected when they changed since (e.g. a level or template was edited without recompiling).
+     * A corrupt file is rejected as well.
+     * @param file the precompiled level
+     * @param fingerprint the fingerprint of the current inputs of the level
+     * @return false if the file is missing, was written by an incompatible version, is out of date or is corrupt
+     * (the parser holds no level then)
+     */
+    public boolean parseCompiledLevel(FileHandle file, long fingerprint){
+        if (prevCompiled != null && prevCompiled.equals(file)){ return true; }
+        if (!file.exists()){ return false; }
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(file.readBytes()));
+        try {
+            if (in.readInt() != COMPILED_MAGIC || in.readInt() != COMPILED_VERSION){
+                return false;
+            }
+            if (in.readLong() != fingerprint){
+                Gdx.app.log("LevelParser", file + " is out of date, run compileLevels");
+                return false;
+            }
+            // reading overwrites the current level, even when it fails half-way
+            prevParsed = null;
+            prevCompiled = null;
+            readCompiledLevel(in);
+        } catch (IOException | RuntimeException e) {
+            Gdx.app.error("LevelParser", "Couldn't read precompiled level: " + file, e);
+            return false;
+        } finally {
+            StreamUtils.closeQuietly(in);
+        }
+        prevParsed = null;
+        prevCompiled = file;
+        return true;
+    }
+
+    private void readCompiledLevel(DataInputStream in) throws IOException {
+        worldSize.x = in.readFloat();
+        worldSize.y = in.readFloat();
+        music = in.readUTF();
+        parallax = in.readUTF();
+        playerPos.set(in.readFloat(), in.readFloat());
+        playerDepth = in.readInt();
+        goalPos.set(in.readFloat(), in.readFloat());
+        goalDepth = in.readInt();
+
+        clearTileData();
+        int count = in.readInt();
+        for (int ii = 0; ii < count; ii++){
+            String name = in.readUTF();
+            addTileSet(name, in.readInt());
+        }
+        count = in.readInt();
+        for (int ii = 0; ii < count; ii++){
+            int depth = in.readInt();
+            int[] gids = new int[in.readInt()];
+            // the gid block is read in one go, it makes up most of the file
+            byte[] block = new byte[gids.length * 4];
+            in.readFully(block);
+            ByteBuffer.wrap(block).asIntBuffer().get(gids);
+            addTileLayer(gids, depth);
+        }
+        count = in.readInt();
+        for (int ii = 0; ii < count; ii++){
+            long gid = in.readLong();
+            float x = in.readFloat();
+            float y = in.readFloat();
+            float angle = in.readFloat();
+            int depth = in.readInt();
+            float[] aabb = new float[in.readInt()];
+            for (int jj = 0; jj < aabb.length; jj++){
+                aabb[jj] = in.readFloat();
+            }
+            addSticker(gid, x, y, angle, depth, null, aabb);
+        }
+
+        blueBirdSpec = BirdSpec.read(in);
+        birdSpecs = new BirdSpec[in.readInt()];
+        for (int ii = 0; ii < birdSpecs.length; ii++){
+            birdSpecs[ii] = BirdSpec.read(in);
+        }
+        lightningSpecs = new LightningSpec[in.readInt()];
+        for (int ii = 0; ii < lightningSpecs.length; ii++){
+            lightningSpecs[ii] = LightningSpec.read(in);
+        }
+        platformSpecs = new PlatformSpec[in.readInt()];
+        for (int ii = 0; ii < platformSpecs.length; ii++){
+            platformSpecs[ii] = PlatformSpec.read(in);
+        }
+        staticHazardSpecs = new StaticHazardSpec[in.readInt()];
+        for (int ii = 0; ii < staticHazardSpecs.length; ii++){
+            staticHazardSpecs[ii] = StaticHazardSpec.read(in);
+        }
+        windSpecs = new WindSpec[in.readInt()];
+        for (int ii = 0; ii < windSpecs.length; ii++){
+            windSpecs[ii] = WindSpec.read(in);
+        }
+        movingPlatformSpecs = new MovingPlatformSpec[in.readInt()];
+        for (int ii = 0; ii < movingPlatformSpecs.length; ii++){
+            movingPlatformSpecs[ii] = MovingPlatformSpec.read(in);
+        }
+        nestSpecs = new NestSpec[in.readInt()];
+        for (int ii = 0; ii < nestSpecs.length; ii++){
+            nestSpecs[ii] = NestSpec.read(in);
+        }
+        deathZoneSpecs = new StaticHazardSpec[in.readInt()];
+        for (int ii = 0; ii < deathZoneSpecs.length; ii++){
+            deathZoneSpecs[ii] = StaticHazardSpec.read(in);
+        }
+    }
+
+    /**
+     * writes the most recently parsed level in precompiled form, to be loaded by parseCompiledLevel().
+     * @param output the stream to write to (it is not closed)
+     * @param fingerprint the fingerprint of the inputs of the level (see getLevelFingerprint())
+     */
+    public void writeCompiledLevel(OutputStream output, long fingerprint) throws IOException {
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(output, 8192));
+        out.writeInt(COMPILED_MAGIC);
+        out.writeInt(COMPILED_VERSION);
+        out.writeLong(fingerprint);
+        out.writeFloat(worldSize.x);
+        out.writeFloat(worldSize.y);
+        out.writeUTF(music);
+        out.writeUTF(parallax);
+        out.writeFloat(playerPos.x);
+        out.writeFloat(playerPos.y);
+        out.writeInt(playerDepth);
+        out.writeFloat(goalPos.x);
+        out.writeFloat(goalPos.y);
+        out.writeInt(goalDepth);
+
+        out.writeInt(tileSetNames.size());
+        for (int ii = 0; ii < tileSetNames.size(); ii++){
+            out.writeUTF(tileSetNames.get(ii));
+            out.writeInt(tileSetFirstGids.get(ii));
+        }
+        out.writeInt(layers.size());
+        for (int ii = 0; ii < layers.size(); ii++){
+            int[] gids = layerGids.get(ii);
+            out.writeInt(layers.get(ii).getDepth());
+            out.writeInt(gids.length);
+            for (int gid : gids){
+                out.writeInt(gid);
+            }
+        }
+        out.writeInt(stickerRecords.size());
+        for (StickerRecord record : stickerRecords){
+            out.writeLong(record.gid);
+            out.writeFloat(record.x);
+            out.writeFloat(record.y);
+            out.writeFloat(record.angle);
+            out.writeInt(record.depth);
+            out.writeInt(record.aabb.length);
+            for (float f : record.aabb){
+                out.writeFloat(f);
+            }
+        }
+
+        blueBirdSpec.write(out);
+        out.writeInt(birdSpecs.length);
+        for (BirdSpec spec : birdSpecs){
+            spec.write(out);
+        }
+        out.writeInt(lightningSpecs.length);
+        for (LightningSpec spec : lightningSpecs){
+            spec.write(out);
+        }
+        out.writeInt(platformSpecs.length);
+        for (PlatformSpec spec : platformSpecs){
+            spec.write(out);
+        }
+        out.writeInt(staticHazardSpecs.length);
+        for (StaticHazardSpec spec : staticHazardSpecs){
+            spec.write(out);
+        }
+        out.writeInt(windSpecs.length);
+        for (WindSpec spec : windSpecs){
+            spec.write(out);
+        }
+        out.writeInt(movingPlatformSpecs.length);
+        for (MovingPlatformSpec spec : movingPlatformSpecs){
+            spec.write(out);
+        }
+        out.writeInt(nestSpecs.length);
+        for (NestSpec spec : nestSpecs){
+            spec.write(out);
+        }
+        out.writeInt(deathZoneSpecs.length);
+        for (StaticHazardSpec spec : deathZoneSpecs){
+            spec.write(out);
+        }
+        out.flush();
+    }
+
+    /** clears all tileset, tile layer and sticker data of the previous level */
+    private void clearTileData(){
+        tileSetMakers.clear();
+        stickerMaker = null;
+        tileSetNames.clear();
+        tileSetFirstGids.clear();
+        stickers.clear();
+        stickerRecords.clear();
+        layers.clear();
+        layerGids.clear();
+    }
+
+    /**
+     * returns the tile regions of a padded tileset atlas. <br>
+     * The atlas regions are the tiles without their padding, the index of a region is its tile index.
+     * @param atlas the tileset atlas
+     * @param tileCount number of tiles of the tileset
+     * @return the region of each tile, by tile index
+     */
+    private static TextureRegion[] getTileRegions(TextureAtlas atlas, int tileCount){
+        TextureRegion[] regions = new TextureRegion[tileCount];
+        for (TextureAtlas.AtlasRegion region : atlas.getRegions()){
+            if (region.index >= 0 && region.index < tileCount){
+                regions[region.index] = region;
+            }
+        }
+        return regions;
+    }
+
+    /**
+     * returns the tile regions of a tileset image without atlas. <br>
+     * The tiles of the image are laid out in a grid, each tile region leaves out the outermost pixel of its cell.
+     * @param texture the tileset image
+     * @param tileSetJson the Tiled JSON of the tileset
+     * @return the region of each tile, by tile index
+     */
+    private static TextureRegion[] getTileRegions(Texture texture, JsonValue tileSetJson){
+        int tileCount = tileSetJson.getInt("tilecount");
+        int columns = tileSetJson.getInt("columns");
+        FilmStrip tileset = new FilmStrip(texture, (int) Math.ceil((double) tileCount / columns), columns);
+        TextureRegion[] regions = new TextureRegion[tileCount];
+        for (int i = 0; i < tileCount; i++){
+            tileset.setFrame(i);
+            regions[i] = new TextureRegion(texture, tileset.getRegionX() + 1, tileset.getRegionY() + 1,
+                    tileset.getRegionWidth() - 2, tileset.getRegionHeight() - 2);
+        }
+        return regions;
+    }
+
+    /**
+     * registers a tileset used by the current level.
+     * @param tileSetName name of the tileset (file name without extension)
+     * @param firstGid the gid of the first tile of this set in the current level
+     */
+    private void addTileSet(String tileSetName, int firstGid){
+        tileSetNames.add(tileSetName);
+        tileSetFirstGids.add(firstGid);
+        if (tileSetName.equals("stickers")){
+            stickerMaker = new CollectionTileSetMaker(stickerTextureInfoMap, stickerNameMap, firstGid);
+            return;
+        }
+        JsonValue j = tileSetJsonMap.get(tileSetName);
+        if (j == null){
+            return;
+        }
+        ImageTileSetMaker tileSetMaker = new ImageTileSetMaker(j, firstGid);
+        int maxId = j.getInt("tilecount") - 1 + firstGid;
+        for (int i = firstGid; i <= maxId; i++){
+            tileSetMakers.put(i, tileSetMaker);
+        }
+    }
+
     /**
      * parse all relevant object data in the given object layer by categorizing/grouping raw data.
      */
@@ -569,13 +918,26 @@ public class LevelParser {
         float y = temp.y;
         float angle = convertAngle(obj.getFloat("rotation", 0));
         int depth = obj.getInt("__DEPTH__", -1);
+        addSticker(gid, x, y, angle, depth, obj, null);
+    }
+
+    /**
+     * creates a sticker for the given tile id, if the id belongs to a tileset or the sticker collection.
+     * @param obj the raw sticker object, used to compute the AABB when none is given
+     * @param aabb the precomputed AABB or null
+     */
+    private void addSticker(long gid, float x, float y, float angle, int depth, JsonValue obj, float[] aabb){
         // see if the sticker is coming from a tileset...
         Tile tile = getTileFromImages(gid);
         if (tile != null){
             TextureRegion tileRegion = tile.getRegionCopy();
-            JsonValue AABB = processTileObjectAABB(obj, null, tileRegion.getRegionWidth(), tileRegion.getRegionHeight());
+            if (aabb == null){
+                aabb = processTileObjectAABB(obj, null, tileRegion.getRegionWidth(),
+                        tileRegion.getRegionHeight()).asFloatArray();
+            }
             tileRegion.flip(tile.isFlipX(), tile.isFlipY());
-            stickers.add(new Sticker(x, y, angle, depth, AABB, tileRegion));
+            stickers.add(new Sticker(x, y, angle, depth, aabb, tileRegion));
+            stickerRecords.add(new StickerRecord(gid, x, y, angle, depth, aabb));
             return;
         }
         // see if the sticker is from stickers.json
@@ -587,17 +949,40 @@ public class LevelParser {
             TextureInfo textureInfo = stickerMaker.getTextureDataFromId(id);
             boolean flipX = (gid & (1L << 31)) != 0;
             boolean flipY = (gid & (1L << 30)) != 0;
-            JsonValue AABB = processTileObjectAABB(obj, null, textureInfo.getRegionWidth(), textureInfo.getRegionHeight());
+            if (aabb == null){
+                aabb = processTileObjectAABB(obj, null, textureInfo.getRegionWidth(),
+                        textureInfo.getRegionHeight()).asFloatArray();
+            }
             if (textureInfo.isAnimated()){
                 // make animated sticker
-                stickers.add(new AnimatedSticker(x, y, angle, depth, AABB, textureInfo, flipX, flipY));
+                stickers.add(new AnimatedSticker(x, y, angle, depth, aabb, textureInfo, flipX, flipY));
             }
             else {
                 // make still-frame sticker
                 TextureRegion textureRegion = textureInfo.getTextureRegion();
                 textureRegion.flip(flipX, flipY);
-                stickers.add(new Sticker(x, y, angle, depth, AABB, textureRegion));
+                stickers.add(new Sticker(x, y, angle, depth, aabb, textureRegion));
             }
+            stickerRecords.add(new StickerRecord(gid, x, y, angle, depth, aabb));
+        }
+    }
+
+    /** placement of a created sticker, kept for writeCompiledLevel() */
+    private static final class StickerRecord {
+        final long gid;
+        final float x;
+        final float y;
+        final float angle;
+        final int depth;
+        final float[] aabb;
+
+        StickerRecord(long gid, float x, float y, float angle, int depth, float[] aabb){
+            this.gid = gid;
+            this.x = x;
+            this.y = y;
+            this.angle = angle;
+            this.depth = depth;
+            this.aabb = aabb;
         }
     }
 
@@ -754,54 +1139,47 @@ public class LevelParser {
      * @param trajectory map of path node Ids to raw JSON
      */
     private void processBirds(ArrayList<JsonValue> rawData, HashMap<Integer, JsonValue> trajectory) {
-        birdData = new JsonValue[rawData.size()];
-        for (int ii = 0; ii < birdData.length; ii++) {
-            JsonValue data = processBird(rawData.get(ii), trajectory);
-            birdData[ii] = data;
+        birdSpecs = new BirdSpec[rawData.size()];
+        for (int ii = 0; ii < birdSpecs.length; ii++) {
+            birdSpecs[ii] = processBird(rawData.get(ii), trajectory);
         }
     }
 
     /**
-     * Convert a single raw bird JSON into game-expected JSON object
+     * Convert a single raw bird JSON into a bird spec
      * @param b the unprocessed bird object data
      * @param trajectory map of path node Ids to raw JSON
-     * @return game-formatted bird JSON
+     * @return the bird spec
      */
-    private JsonValue processBird(JsonValue b, HashMap<Integer, JsonValue> trajectory){
-        // data = the bird JSON that game will read
-        JsonValue data = new JsonValue(JsonValue.ValueType.object);
+    private BirdSpec processBird(JsonValue b, HashMap<Integer, JsonValue> trajectory){
         String color = computeColor(b.getString("template", "blue_bird.json"));
         JsonValue properties = b.get("properties");
         JsonValue defaultObj = getBirdDefaultObj(color);
         JsonValue defaults = defaultObj.get("properties");
         // set deterministic trivial properties
-        data.addChild("depth", new JsonValue(b.getInt("__DEPTH__", -1)));
-        data.addChild("color", new JsonValue(color));
-        data.addChild("attack", new JsonValue(doesBirdAttack(color)));
+        int depth = b.getInt("__DEPTH__", -1);
+        boolean attack = doesBirdAttack(color);
         // add whether facing right
         boolean horizontalFlipped = isObjectHorizontallyFlipped(b);
         // XOR(flip, ?facingRight) => if flip then !(?facingRight) else (?facingRight)
         boolean facingRight = horizontalFlipped ^ isBirdInitiallyFacingRight(color);
-        data.addChild("facing_right", new JsonValue(facingRight));
 
         // The following is procedure to: set position, hit-box, AABB data
         readPositionAndConvert(b, temp);
-        addPosition(data, temp);
+        float x = temp.x;
+        float y = temp.y;
         JsonValue pathJson = new JsonValue(JsonValue.ValueType.array);
         // implicitly, the bird's location is the FIRST point on their path.
-        pathJson.addChild(new JsonValue(temp.x));
-        pathJson.addChild(new JsonValue(temp.y));
+        pathJson.addChild(new JsonValue(x));
+        pathJson.addChild(new JsonValue(y));
 
         // get dimension of a single filmstrip of the original animated asset (pixel coordinates)
         // using the first tile in the set is sufficient for birds, unless we want multi-hitbox.
         JsonValue tileJson = gameObjectTiles.get(getProcessedGid(defaultObj) - 1);
         int assetWidth = tileJson.getInt("imagewidth");
         int assetHeight = tileJson.getInt("imageheight");
-        data.addChild("filmStripWidth", new JsonValue(assetWidth));
-        data.addChild("filmStripHeight", new JsonValue(assetHeight));
 
-        // add AABB
-        data.addChild("AABB", processTileObjectAABB(b, defaultObj, assetWidth, assetHeight));
+        float[] aabb = processTileObjectAABB(b, defaultObj, assetWidth, assetHeight).asFloatArray();
 
         // the hitbox information for birds is stored in one tile (the one animated), in its objectgroup, which we then
         // look at the first of its objects list.
@@ -809,14 +1187,13 @@ public class LevelParser {
         JsonValue hitBoxPoints = tileJson.get("objectgroup").get("objects").get(0);
         float ox = hitBoxPoints.getFloat("x");
         float oy = hitBoxPoints.getFloat("y");
-        JsonValue shape = processAssetHitBox( hitBoxPoints.get("polygon"), temp.set(ox,oy), scalars,
-                horizontalFlipped, false, assetWidth, assetHeight);
-        data.addChild("points", shape);
+        float[] shape = processAssetHitBox( hitBoxPoints.get("polygon"), temp.set(ox,oy), scalars,
+                horizontalFlipped, false, assetWidth, assetHeight).asFloatArray();
 
         // Remaining: set bird properties and complete their path
-        // the resulting path should be stored as a list of floats which is Json array of Json floats.
         float moveSpeed = 0;
         float atkSpeed = 0;
+        int loopTo = -1;
         // path birds are red and brown
         if (color.equals("red") || color.equals("brown")){
             // update properties
@@ -824,261 +1201,209 @@ public class LevelParser {
             // using custom properties to find rest of path
             // this takes either the bird's next point along its path or take from default (which should be 0)
             int next = getFromProperties(properties, "path", defaults).asInt();
-            int loopTo = processPath(pathJson, trajectory, next, b.getInt("id"));
-            data.addChild("loopTo", new JsonValue(loopTo));
+            loopTo = processPath(pathJson, trajectory, next, b.getInt("id"));
         }
-        if (doesBirdAttack(color)){
+        if (attack){
             atkSpeed = getFromProperties(properties, "atk_speed", defaults).asFloat();
         }
-        data.addChild("path", pathJson);
-        data.addChild("movespeed", new JsonValue(moveSpeed));
-        data.addChild("atkspeed", new JsonValue(atkSpeed));
-        return data;
+        return new BirdSpec(x, y, depth, color, attack, facingRight, assetWidth, assetHeight, aabb, shape,
+                pathJson.asFloatArray(), loopTo, moveSpeed, atkSpeed);
     }
 
     private void processLightning(ArrayList<JsonValue> rawData){
-        lightningData = new JsonValue[rawData.size()];
-        for (int ii = 0; ii < lightningData.length; ii++) {
+        lightningSpecs = new LightningSpec[rawData.size()];
+        for (int ii = 0; ii < lightningSpecs.length; ii++) {
             JsonValue rawLightning = rawData.get(ii);
             String lightningTemplateName = rawLightning.getString("template", "lightning.json");
             if (lightningTemplateName.endsWith("fill_lightning.json")){
-                lightningData[ii] = processStillLightning(rawLightning);
+                lightningSpecs[ii] = processStillLightning(rawLightning);
             }
             else{
                 // one of the growing lightning
-                lightningData[ii] = processAnimatedLightning(rawLightning);
+                lightningSpecs[ii] = processAnimatedLightning(rawLightning);
             }
         }
     }
 
     /**
-     * processes a single animated lightning object into JSON data
+     * processes a single animated lightning object into a lightning spec
      * @param rawData unprocessed lightning
      */
-    private JsonValue processAnimatedLightning(JsonValue rawData){
-        JsonValue data = new JsonValue(JsonValue.ValueType.object);
+    private LightningSpec processAnimatedLightning(JsonValue rawData){
         readPositionAndConvert(rawData, temp);
-        addPosition(data, temp);
-        data.addChild("depth", new JsonValue(rawData.getInt("__DEPTH__", -1)));
+        float x = temp.x;
+        float y = temp.y;
+        int depth = rawData.getInt("__DEPTH__", -1);
         int tileIndex = getLightningTileIndex(rawData.getString("template"));
-        data.addChild("tileIndex", new JsonValue(tileIndex));
         JsonValue props = rawData.get("properties");
         JsonValue lightningDefaultObj = lightningDefaultObjects[tileIndex];
         JsonValue lightningProps = lightningDefaultObj.get("properties");
-        data.addChild("strike_timer", new JsonValue(getFromProperties(props, "strike_timer", lightningProps).asInt()));
-        data.addChild("strike_duration", new JsonValue(getFromProperties(props, "strike_duration", lightningProps).asInt()));
-        data.addChild("initial_timer_offset",
-                new JsonValue(getFromProperties(props, "initial_timer_offset", lightningProps).asInt()));
+        int strikeTimer = getFromProperties(props, "strike_timer", lightningProps).asInt();
+        int strikeDuration = getFromProperties(props, "strike_duration", lightningProps).asInt();
+        int initialTimerOffset = getFromProperties(props, "initial_timer_offset", lightningProps).asInt();
         // get unscaled-size data from lightning.json file (collection of all ligntning bolts)
         // get the AABB for the given lightning
         int gid = getProcessedGid(lightningDefaultObj);
         JsonValue tileJson = gameObjectTiles.get(gid - 1);
         int assetWidth = tileJson.getInt("imagewidth");
         int assetHeight = tileJson.getInt("imageheight");
-        data.addChild("filmStripWidth", new JsonValue(assetWidth));
-        data.addChild("filmStripHeight", new JsonValue(assetHeight));
-        data.addChild("AABB", processTileObjectAABB(rawData, lightningDefaultObj, assetWidth, assetHeight));
+        float[] aabb = processTileObjectAABB(rawData, lightningDefaultObj, assetWidth, assetHeight).asFloatArray();
 
         // add all the hit-boxes (loop over number of frames)
         // INVARIANT: the selected tile is the last tile of the animation, so iterate ids: gid-length through gid-1
         int frameCount = getFrameCount(tileJson);
         boolean horizontalFlipped = isObjectHorizontallyFlipped(rawData);
-        data.addChild("flipped", new JsonValue(horizontalFlipped));
-        JsonValue hitboxes = new JsonValue(JsonValue.ValueType.array);
+        float[][] hitboxes = new float[frameCount][];
         for (int ii = gid - frameCount; ii < gid; ii++){
             JsonValue hitBoxPoints = gameObjectTiles.get(ii).get("objectgroup").get("objects").get(0);
             float ox = hitBoxPoints.getFloat("x");
             float oy = hitBoxPoints.getFloat("y");
-            JsonValue shape = processAssetHitBox( hitBoxPoints.get("polygon"), temp.set(ox,oy), scalars,
-                    horizontalFlipped, false, assetWidth, assetHeight);
-            hitboxes.addChild(shape);
+            hitboxes[ii - gid + frameCount] = processAssetHitBox( hitBoxPoints.get("polygon"), temp.set(ox,oy),
+                    scalars, horizontalFlipped, false, assetWidth, assetHeight).asFloatArray();
         }
-        data.addChild("hitboxes", hitboxes);
-        data.addChild("fill_texture", new JsonValue(false));
-        return data;
+        return new LightningSpec(x, y, depth, strikeTimer, strikeDuration, initialTimerOffset,
+                tileIndex, assetWidth, assetHeight, aabb, horizontalFlipped, hitboxes);
     }
 
     /**
-     * processes a single still lightning object into JSON data
+     * processes a single still lightning object into a lightning spec
      * @param l unprocessed lightning data
      */
-    private JsonValue processStillLightning(JsonValue l){
-        // processed data
-        JsonValue data = new JsonValue(JsonValue.ValueType.object);
+    private LightningSpec processStillLightning(JsonValue l){
         // set position
         readPositionAndConvert(l, temp);
-        addPosition(data, temp);
         JsonValue props = l.get("properties");
-        data.addChild("points", polyPoints(l.get("polygon"), lightningDefaultPoly));
-        data.addChild("strike_timer", new JsonValue(getFromProperties(props, "strike_timer", lightningDefault).asInt()));
-        data.addChild("strike_duration", new JsonValue(getFromProperties(props, "strike_duration", lightningDefault).asInt()));
-        data.addChild("initial_timer_offset",
-                new JsonValue(getFromProperties(props, "initial_timer_offset", lightningDefault).asInt()));
-        data.addChild("depth", new JsonValue(l.getInt("__DEPTH__", -1)));
-        data.addChild("fill_texture", new JsonValue(true));
-        return data;
+        return new LightningSpec(temp.x, temp.y, l.getInt("__DEPTH__", -1),
+                getFromProperties(props, "strike_timer", lightningDefault).asInt(),
+                getFromProperties(props, "strike_duration", lightningDefault).asInt(),
+                getFromProperties(props, "initial_timer_offset", lightningDefault).asInt(),
+                polyPoints(l.get("polygon"), lightningDefaultPoly).asFloatArray());
     }
 
     private void processPlatforms(ArrayList<JsonValue> rawData){
-        platformData = new JsonValue[rawData.size()];
-        for (int ii = 0; ii < platformData.length; ii++) {
+        platformSpecs = new PlatformSpec[rawData.size()];
+        for (int ii = 0; ii < platformSpecs.length; ii++) {
             //platform raw data
             JsonValue p = rawData.get(ii);
             String templateName = p.getString("template");
-            JsonValue data;
             if (logDefaultObjects.containsKey(templateName)){
-                data = processLog(p, logDefaultObjects.get(templateName));
-                data.addChild("textured", new JsonValue(true));
+                platformSpecs[ii] = processLog(p, logDefaultObjects.get(templateName));
             }
             else {
-                //data we pass in to platform constructor
-                data = new JsonValue(JsonValue.ValueType.object);
                 // set position data
                 readPositionAndConvert(p, temp);
-                addPosition(data, temp);
-                data.addChild("points", polyPoints(p.get("polygon"), platformDefaultPoly));
-                data.addChild("depth", new JsonValue(p.getInt("__DEPTH__", -1)));
-                data.addChild("textured", new JsonValue(false));
+                platformSpecs[ii] = new PlatformSpec(temp.x, temp.y, p.getInt("__DEPTH__", -1),
+                        polyPoints(p.get("polygon"), platformDefaultPoly).asFloatArray());
             }
-            platformData[ii] = data;
         }
     }
 
-    private JsonValue processLog(JsonValue log, JsonValue logDefaultObj){
-        JsonValue data = new JsonValue(JsonValue.ValueType.object);
+    private PlatformSpec processLog(JsonValue log, JsonValue logDefaultObj){
         readPositionAndConvert(log, temp);
-        addPosition(data, temp);
-        data.addChild("depth", new JsonValue(log.getInt("__DEPTH__", -1)));
+        float x = temp.x;
+        float y = temp.y;
         JsonValue tileJson = gameObjectTiles.get(getProcessedGid(logDefaultObj) - 1);
         int assetWidth = tileJson.getInt("imagewidth");
         int assetHeight = tileJson.getInt("imageheight");
-        data.addChild("AABB", processTileObjectAABB(log, logDefaultObj, assetWidth, assetHeight));
+        float[] aabb = processTileObjectAABB(log, logDefaultObj, assetWidth, assetHeight).asFloatArray();
         // add hit-box
         JsonValue hitBoxPoints = tileJson.get("objectgroup").get("objects").get(0);
         float ox = hitBoxPoints.getFloat("x");
         float oy = hitBoxPoints.getFloat("y");
         boolean flipX = isObjectHorizontallyFlipped(log);
         boolean flipY = isObjectVerticallyFlipped(log);
-        JsonValue shape = processAssetHitBox( hitBoxPoints.get("polygon"), temp.set(ox,oy), scalars,
-                flipX, flipY, assetWidth, assetHeight);
-        data.addChild("points", shape);
-        data.addChild("flipX", new JsonValue(flipX));
-        data.addChild("flipY", new JsonValue(flipY));
-        data.addChild("angle", new JsonValue(convertAngle(log.getFloat("rotation",0))));
+        float[] shape = processAssetHitBox( hitBoxPoints.get("polygon"), temp.set(ox,oy), scalars,
+                flipX, flipY, assetWidth, assetHeight).asFloatArray();
         // save asset name to allow quick retrieval of textures (ie: log.png -> texture(log))
         String[] sourcePath = tileJson.getString("image").split("/");
         String sourceImageName = sourcePath[sourcePath.length - 1];
-        data.addChild("texture", new JsonValue(sourceImageName.split("\\.")[0]));
-        return data;
+        return new PlatformSpec(x, y, log.getInt("__DEPTH__", -1), shape, sourceImageName.split("\\.")[0], aabb,
+                flipX, flipY, convertAngle(log.getFloat("rotation",0)));
     }
 
     private void processStaticHazards(ArrayList<JsonValue> rawData){
-        staticHazardData = new JsonValue[rawData.size()];
-        for (int ii = 0; ii < staticHazardData.length; ii++) {
+        staticHazardSpecs = new StaticHazardSpec[rawData.size()];
+        for (int ii = 0; ii < staticHazardSpecs.length; ii++) {
             JsonValue rawHazard = rawData.get(ii);
             if (rawHazard.getString("hazard").equals("unspecified")){
-                staticHazardData[ii] = processStaticPolyHazard(rawHazard);
+                staticHazardSpecs[ii] = processStaticPolyHazard(rawHazard);
             }
             else {
-                staticHazardData[ii] = processRock(rawHazard);
+                staticHazardSpecs[ii] = processRock(rawHazard);
             }
         }
     }
 
-    private JsonValue processStaticPolyHazard(JsonValue polyHazard){
-        JsonValue data = new JsonValue(JsonValue.ValueType.object);
+    private StaticHazardSpec processStaticPolyHazard(JsonValue polyHazard){
         readPositionAndConvert(polyHazard, temp);
-        addPosition(data, temp);
         boolean fill = getFromProperties(polyHazard.get("properties"), "fill_texture", staticHazardDefault).asBoolean();
-        data.addChild("type", new JsonValue(fill ? "fill" : "no_fill"));
-        data.addChild("points", polyPoints(polyHazard.get("polygon"), staticHazardPoly));
-        data.addChild("depth", new JsonValue(polyHazard.getInt("__DEPTH__", -1)));
-        return data;
+        return new StaticHazardSpec(temp.x, temp.y, polyHazard.getInt("__DEPTH__", -1),
+                polyPoints(polyHazard.get("polygon"), staticHazardPoly).asFloatArray(), fill);
     }
 
-    private JsonValue processRock(JsonValue rock){
-        JsonValue data = new JsonValue(JsonValue.ValueType.object);
+    private StaticHazardSpec processRock(JsonValue rock){
         readPositionAndConvert(rock, temp);
-        addPosition(data, temp);
-        data.addChild("type", new JsonValue("rock"));
-        data.addChild("depth", new JsonValue(rock.getInt("__DEPTH__", -1)));
+        float x = temp.x;
+        float y = temp.y;
         // find this rock's corresponding tile
         JsonValue tileJson = gameObjectTiles.get(getProcessedGid(rockDefaultObj) - 1);
         int assetWidth = tileJson.getInt("imagewidth");
         int assetHeight = tileJson.getInt("imageheight");
-        data.addChild("AABB", processTileObjectAABB(rock, rockDefaultObj, assetWidth, assetHeight));
+        float[] aabb = processTileObjectAABB(rock, rockDefaultObj, assetWidth, assetHeight).asFloatArray();
         // add hit-box
         JsonValue hitBoxPoints = tileJson.get("objectgroup").get("objects").get(0);
         float ox = hitBoxPoints.getFloat("x");
         float oy = hitBoxPoints.getFloat("y");
         boolean flipX = isObjectHorizontallyFlipped(rock);
         boolean flipY = isObjectVerticallyFlipped(rock);
-        JsonValue shape = processAssetHitBox( hitBoxPoints.get("polygon"), temp.set(ox,oy), scalars,
-                flipX, flipY, assetWidth, assetHeight);
-        data.addChild("points", shape);
-        data.addChild("flipX", new JsonValue(flipX));
-        data.addChild("flipY", new JsonValue(flipY));
-        data.addChild("angle", new JsonValue(convertAngle(rock.getFloat("rotation",0))));
-        return data;
+        float[] shape = processAssetHitBox( hitBoxPoints.get("polygon"), temp.set(ox,oy), scalars,
+                flipX, flipY, assetWidth, assetHeight).asFloatArray();
+        return new StaticHazardSpec(x, y, rock.getInt("__DEPTH__", -1), shape, aabb, flipX, flipY,
+                convertAngle(rock.getFloat("rotation",0)));
     }
 
     private void processDeathZone(ArrayList<JsonValue> deathZoneRawData) {
-        deathZoneData = new JsonValue[deathZoneRawData.size()];
-        for (int ii = 0; ii < deathZoneData.length; ii++) {
-            JsonValue data = new JsonValue(JsonValue.ValueType.object);
+        deathZoneSpecs = new StaticHazardSpec[deathZoneRawData.size()];
+        for (int ii = 0; ii < deathZoneSpecs.length; ii++) {
             JsonValue rawData = deathZoneRawData.get(ii);
             readPositionAndConvert(rawData, temp);
-            addPosition(data, temp);
-            data.addChild("points", polyPoints(rawData.get("polygon")));
-            data.addChild("depth", new JsonValue(rawData.getInt("__DEPTH__", -1)));
-            deathZoneData[ii] =  data;
+            deathZoneSpecs[ii] = new StaticHazardSpec(temp.x, temp.y, rawData.getInt("__DEPTH__", -1),
+                    polyPoints(rawData.get("polygon")).asFloatArray(), false);
         }
 
     }
 
     private void processWind(ArrayList<JsonValue> rawData, HashMap<Integer, JsonValue> windDirs){
-        windData = new JsonValue[rawData.size()];
+        windSpecs = new WindSpec[rawData.size()];
         for (int ii = 0; ii < rawData.size(); ii++){
-            //data of this wind
-            JsonValue data = new JsonValue(JsonValue.ValueType.object);
             //wind raw data
             JsonValue w = rawData.get(ii);
             //position
             readPositionAndConvert(w, temp);
-            JsonValue pos = new JsonValue(JsonValue.ValueType.array);
-            pos.addChild(new JsonValue(temp.x));
-            pos.addChild(new JsonValue(temp.y));
-            data.addChild("pos", pos);
-            data.addChild("dimensions", polyPoints(w.get("polygon"), windDefaultPoly));
             //magnitude and direction
             JsonValue props = w.get("properties");
-            data.addChild("magnitude", new JsonValue(getFromProperties(props, "magnitude", windDefault).asFloat()));
-            data.addChild("direction", computeWindDirection(props, windDirs));
-            data.addChild("depth", new JsonValue(w.getInt("__DEPTH__", -1)));
-            data.addChild("particle", new JsonValue(getFromProperties(props, "particle", windDefault).asString()));
-            windData[ii] = data;
+            windSpecs[ii] = new WindSpec(temp.x, temp.y, w.getInt("__DEPTH__", -1),
+                    polyPoints(w.get("polygon"), windDefaultPoly).asFloatArray(),
+                    getFromProperties(props, "magnitude", windDefault).asFloat(),
+                    computeWindDirection(props, windDirs).asFloat(),
+                    getFromProperties(props, "particle", windDefault).asString());
         }
     }
 
     private void processMovingPlats(ArrayList<JsonValue> rawData, HashMap<Integer, JsonValue> trajectory){
-        movingPlatformData = new JsonValue[rawData.size()];
-        IntIntMap seen = new IntIntMap(16);
-        for (int ii = 0; ii < movingPlatformData.length; ii++) {
-            seen.clear();
-            //data we pass in to platform constructor
-            JsonValue data = new JsonValue(JsonValue.ValueType.object);
+        movingPlatformSpecs = new MovingPlatformSpec[rawData.size()];
+        for (int ii = 0; ii < movingPlatformSpecs.length; ii++) {
             //moving platform raw data
             JsonValue mp = rawData.get(ii);
-            data.addChild("depth", new JsonValue(mp.getInt("__DEPTH__", -1)));
             //set position and load position into path.
             readPositionAndConvert(mp, temp);
-            addPosition(data, temp);
+            float x = temp.x;
+            float y = temp.y;
             JsonValue pathJson = new JsonValue(JsonValue.ValueType.array);
-            pathJson.addChild(new JsonValue(temp.x));
-            pathJson.addChild(new JsonValue(temp.y));
+            pathJson.addChild(new JsonValue(x));
+            pathJson.addChild(new JsonValue(y));
             JsonValue props = mp.get("properties");
             int tileIndex = getCloudTileIndex(mp.getString("template"));
-            data.addChild("tileIndex", new JsonValue(tileIndex));
             JsonValue cloudDefaultObj = cloudDefaultObjects[tileIndex];
             JsonValue cloudDefaultProps = cloudDefaultObj.get("properties");
 
@@ -1087,72 +1412,61 @@ public class LevelParser {
             // using custom properties to find rest of path
             int nextPointID = getFromProperties(props, "path", cloudDefaultProps).asInt();
             int loopTo = processPath(pathJson, trajectory, nextPointID, mp.getInt("id"));
-            data.addChild("path", pathJson);
-            data.addChild("loopTo", new JsonValue(loopTo));
-            data.addChild("movespeed", new JsonValue(moveSpeed));
 
             // find this cloud's corresponding tile and get the AABB for the given cloud
             int idx = getProcessedGid(cloudDefaultObj);
             JsonValue tileJson = gameObjectTiles.get(idx-1);
             int assetWidth = tileJson.getInt("imagewidth");
             int assetHeight = tileJson.getInt("imageheight");
-            data.addChild("AABB", processTileObjectAABB(mp, cloudDefaultObj, assetWidth, assetHeight));
+            float[] aabb = processTileObjectAABB(mp, cloudDefaultObj, assetWidth, assetHeight).asFloatArray();
             // add hit-box
             JsonValue hitBoxPoints = tileJson.get("objectgroup").get("objects").get(0);
             float ox = hitBoxPoints.getFloat("x");
             float oy = hitBoxPoints.getFloat("y");
             boolean horizontalFlipped = isObjectHorizontallyFlipped(mp);
-            JsonValue shape = processAssetHitBox( hitBoxPoints.get("polygon"), temp.set(ox,oy), scalars,
-                    horizontalFlipped, false, assetWidth, assetHeight);
-            data.addChild("points", shape);
-            data.addChild("flipped", new JsonValue(horizontalFlipped));
-            movingPlatformData[ii] = data;
+            float[] shape = processAssetHitBox( hitBoxPoints.get("polygon"), temp.set(ox,oy), scalars,
+                    horizontalFlipped, false, assetWidth, assetHeight).asFloatArray();
+            movingPlatformSpecs[ii] = new MovingPlatformSpec(x, y, mp.getInt("__DEPTH__", -1), shape,
+                    pathJson.asFloatArray(), loopTo, moveSpeed, tileIndex, aabb, horizontalFlipped);
         }
     }
 
     private void processNests(ArrayList<JsonValue> rawData, HashMap<Integer, JsonValue> trajectory){
-        nestData = new JsonValue[rawData.size()];
-        for (int ii = 0; ii < nestData.length; ii++) {
-            //data we pass in to nest constructor
-            JsonValue data = new JsonValue(JsonValue.ValueType.object);
+        nestSpecs = new NestSpec[rawData.size()];
+        for (int ii = 0; ii < nestSpecs.length; ii++) {
             //nest raw data
             JsonValue n = rawData.get(ii);
             JsonValue props = n.get("properties");
             // set position data
             readPositionAndConvert(n, temp);
-            addPosition(data, temp);
+            float x = temp.x;
+            float y = temp.y;
             // the resulting path should be stored as a list of floats which is Json array of Json floats.
             JsonValue pathJson = new JsonValue(JsonValue.ValueType.array);
-            pathJson.addChild(new JsonValue(temp.x));
-            pathJson.addChild(new JsonValue(temp.y));
+            pathJson.addChild(new JsonValue(x));
+            pathJson.addChild(new JsonValue(y));
             JsonValue defaultProps = nestDefault.get("properties");
             int nextPointID = getFromProperties(props, "path", defaultProps).asInt();
             processPath(pathJson, trajectory, nextPointID, n.getInt("id") );
-            data.addChild("path", pathJson);
-            data.addChild("visible", new JsonValue(getFromProperties(props, "visible", defaultProps).asBoolean()));
-            data.addChild("bird_speed", new JsonValue(getFromProperties(props, "bird_speed", defaultProps).asFloat()));
-            data.addChild("spawn_delay", new JsonValue(getFromProperties(props, "spawn_delay", defaultProps).asFloat()));
+            boolean visible = getFromProperties(props, "visible", defaultProps).asBoolean();
+            float birdSpeed = getFromProperties(props, "bird_speed", defaultProps).asFloat();
+            int spawnDelay = (int) getFromProperties(props, "spawn_delay", defaultProps).asFloat();
 
             boolean horizontalFlipped = isObjectHorizontallyFlipped(n);
             boolean verticalFlipped = isObjectVerticallyFlipped(n);
-            data.addChild("flipX", new JsonValue(horizontalFlipped));
-            // data.addChild("flipY", new JsonValue(verticalFlipped));
 
             // add AABB and hitbox
             JsonValue tileJson = gameObjectTiles.get(getProcessedGid(nestDefault) - 1);
             int assetWidth = tileJson.getInt("imagewidth");
             int assetHeight = tileJson.getInt("imageheight");
-            data.addChild("filmStripWidth", new JsonValue(assetWidth));
-            data.addChild("filmStripHeight", new JsonValue(assetHeight));
-            data.addChild("AABB", processTileObjectAABB(nestDefault, nestDefault, assetWidth, assetHeight));
+            float[] aabb = processTileObjectAABB(nestDefault, nestDefault, assetWidth, assetHeight).asFloatArray();
             JsonValue hitBoxPoints = tileJson.get("objectgroup").get("objects").get(0);
             float ox = hitBoxPoints.getFloat("x");
             float oy = hitBoxPoints.getFloat("y");
-            JsonValue shape = processAssetHitBox( hitBoxPoints.get("polygon"), temp.set(ox,oy), scalars,
-                    horizontalFlipped, verticalFlipped, assetWidth, assetHeight);
-            data.addChild("points", shape);
-            data.addChild("depth", new JsonValue(n.getInt("__DEPTH__", -1)));
-            nestData[ii] = data;
+            float[] shape = processAssetHitBox( hitBoxPoints.get("polygon"), temp.set(ox,oy), scalars,
+                    horizontalFlipped, verticalFlipped, assetWidth, assetHeight).asFloatArray();
+            nestSpecs[ii] = new NestSpec(x, y, n.getInt("__DEPTH__", -1), pathJson.asFloatArray(), visible, birdSpeed,
+                    spawnDelay, horizontalFlipped, assetWidth, assetHeight, aabb, shape);
         }
     }
 
@@ -1178,16 +1492,6 @@ public class LevelParser {
         convertPos(p);
     }
 
-    /**
-     * adds x:float, y:float into given JSON. This should be used to add parsed data to self-created JSON.
-     * @param v JSON value to be exported (read by game)
-     * @param p position vector
-     */
-    private void addPosition(JsonValue v, Vector2 p){
-        v.addChild("x", new JsonValue(p.x));
-        v.addChild("y", new JsonValue(p.y));
-    }
-
     /** converts Tiled screen coordinate to game coordinate
      * this modifies the given vector in place.
      */
@@ -1363,23 +1667,34 @@ public class LevelParser {
     }
 
     private void parseTileLayer(JsonValue layer){
-        // loop over array data and make tiles
+        // loop over array data and reorder rows so that row 0 is the bottom of the world
         long[] data = layer.get("data").asLongArray();
-        Tile[] tiles = new Tile[data.length];
+        int[] gids = new int[data.length];
         int worldWidth = (int) worldSize.x;
         int worldHeight = (int) worldSize.y;
-        for (int i = 0; i < tiles.length; i++){
-            // the Tiled ID is a 32-bit UNSIGNED integer
-            long rawId = data[i];
-            if (rawId == 0){
-                continue;
-            }
+        for (int i = 0; i < data.length; i++){
             int col = i % worldWidth;
             int row = worldHeight - 1 -  i / worldWidth;
-            int idx = row * worldWidth + col;
-            tiles[idx] = getTileFromImages(rawId);
+            // the Tiled ID is a 32-bit UNSIGNED integer, keep its bits
+            gids[row * worldWidth + col] = (int) data[i];
         }
-        layers.add(new TiledLayer(tiles, currentObjectDepth, worldWidth, worldHeight));
+        addTileLayer(gids, currentObjectDepth);
+    }
+
+    /**
+     * creates a tile layer from raw tile gids.
+     * @param gids the raw gids (flip bits included) in bottom-up row-major order, 0 for no tile
+     * @param depth the draw depth of the layer
+     */
+    private void addTileLayer(int[] gids, int depth){
+        Tile[] tiles = new Tile[gids.length];
+        for (int i = 0; i < tiles.length; i++){
+            if (gids[i] != 0){
+                tiles[i] = getTileFromImages(gids[i] & 0xFFFFFFFFL);
+            }
+        }
+        layers.add(new TiledLayer(tiles, depth, (int) worldSize.x, (int) worldSize.y));
+        layerGids.add(gids);
     }
 
     /**
@@ -1403,27 +1718,28 @@ public class LevelParser {
     }
 
     /**
-     * A ImageTileSetMaker produces texture regions upon request by cutting texture regions from a single texture.
+     * A ImageTileSetMaker produces tiles upon request from the tile regions of a single tileset (see tileSetRegionMap).
+     * <br>
+     * The tile regions are shared, as are the tiles themselves: all cells with the same raw gid (id and flip bits)
+     * receive the same immutable Tile.
      */
     private class ImageTileSetMaker extends TileSetMaker {
-        private final FilmStrip tileset;
+        /** per tile index, its region */
+        private final TextureRegion[] regions;
+        /** tiles by tile index and flip bits (index << 3 | flipD << 2 | flipX << 1 | flipY) */
+        private final IntMap<Tile> tiles = new IntMap<>();
 //        private final  int width;
 //        private final int height;
 //        private String tileSetName;
 
         ImageTileSetMaker(JsonValue tileSetJson, int firstGid){
-            double tileCount = tileSetJson.getInt("tilecount");
             minId = firstGid;
             maxId = tileSetJson.getInt("tilecount") - 1 + minId;
             String name = tileSetJson.getString("name");
             //this.tileSetName = name;
-            Texture texture = tileSetTextureMap.get(name);
-            // removes flickering on square tiles
-            texture.setFilter(Texture.TextureFilter.Nearest, Texture.TextureFilter.Nearest);
             //width = tileSetJson.getInt("tilewidth");
             //height = tileSetJson.getInt("tileheight");
-            int columns = tileSetJson.getInt("columns");
-            tileset = new FilmStrip(texture, (int) Math.ceil(tileCount/ columns), columns);
+            regions = tileSetRegionMap.get(name);
         }
 
         /**
@@ -1436,38 +1752,48 @@ public class LevelParser {
          */
         public Tile getTileFromId(int id, boolean flipD, boolean flipX, boolean flipY){
             int index = id - minId;
-            Tile tile = new Tile(tileset, index);
+            int key = index << 3 | (flipD ? 4 : 0) | (flipX ? 2 : 0) | (flipY ? 1 : 0);
+            Tile tile = tiles.get(key);
+            if (tile != null){
+                return tile;
+            }
+            boolean tileFlipX = false;
+            boolean tileFlipY = false;
+            float angle = 0;
             // enumerate all 8 possible cases
             if (flipD && flipY && flipX){
                 // 30, 31, 32 => flip x THEN counter-clock-wise rotate 270 deg
-                tile.setFlip(true, false);
-                tile.setRotation((float) Math.PI * 1.5f);
+                tileFlipX = true;
+                angle = (float) Math.PI * 1.5f;
             }
             else if (flipY && flipX){
                 // 31, 32 => rotate 180 (flip both axes)
-                tile.setFlip(true, true);
+                tileFlipX = true;
+                tileFlipY = true;
             }
             else if (flipD && flipX){
                 // 30, 32 => counter-clock-wise rotate 270 deg
-                tile.setRotation((float) Math.PI * 1.5f);
+                angle = (float) Math.PI * 1.5f;
             }
             else if (flipD && flipY){
                 // 30, 31 => counter-clock-wise rotate 90 deg
-                tile.setRotation((float) Math.PI / 2f);
+                angle = (float) Math.PI / 2f;
             }
             else if (flipX){
                 // 32 => flip x
-                tile.setFlip(true, false);
+                tileFlipX = true;
             }
             else if (flipY){
                 // 31 => flip y
-                tile.setFlip(false, true);
+                tileFlipY = true;
             }
             else if (flipD){
                 // 30 => flip x THEN counter-clock-wise rotate 90 deg
-                tile.setFlip(true, false);
-                tile.setRotation((float) Math.PI /2f);
+                tileFlipX = true;
+                angle = (float) Math.PI /2f;
             }
+            tile = new Tile(regions[index], tileFlipX, tileFlipY, angle);
+            tiles.put(key, tile);
             return tile;
         }
     }
@@ -0,0 +1,117 @@
+package com.mygdx.game;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+import com.badlogic.gdx.utils.async.AsyncResult;
+import com.badlogic.gdx.utils.async.AsyncTask;
+import com.mygdx.game.utility.assets.AssetDirectory;
+
+/**
+ * Parses an upcoming level on a worker thread while the current level is played.
+ * <br>
+ * LevelParser.parseLevel only reads level data and looks up already loaded textures, so the
+ * tiled layers, stickers and object specs of the next level can be built off the render thread.
+ * Starting that level then only has to create its Box2D bodies.
+ * <br>
+ * The preloader owns a spare parser. The parser of the level being played is never touched by
+ * the worker; parsers change hands in swap(). At most one parse runs at any time, and swap()
+ * waits for it, so the main thread can parse safely after calling swap().
+ */
+public class LevelPreloader implements Disposable {
+
+    /** single worker thread for parsing */
+    private final AsyncExecutor executor;
+
+    private final AssetDirectory directory;
+
+    /** the spare parser, filled by the worker */
+    private LevelParser parser;
+
+    /** level held (or being parsed) by the spare parser, 0 if none */
+    private int level;
+
+    /** the parse in flight, null if idle */
+    private AsyncResult<Void> task;
+
+    /**
+     * Creates a preloader with its own spare parser.
+     *
+     * @param directory the loaded asset directory
+     */
+    public LevelPreloader(AssetDirectory directory) {
+        this.directory = directory;
+        parser = new LevelParser(directory);
+        executor = new AsyncExecutor(1, "level-preload");
+    }
+
+    /**
+     * Starts parsing the given level into the spare parser.
+     *
+     * @param nextLevel level number (asset key "tiled:level" + nextLevel)
+     */
+    public void preload(final int nextLevel) {
+        finish();
+        level = nextLevel;
+        final LevelParser target = parser;
+        task = executor.submit(new AsyncTask<Void>() {
+            @Override
+            public Void call() {
+                target.parseLevel(directory, nextLevel);
+                return null;
+            }
+        });
+    }
+
+    /**
+     * Exchanges parsers if the requested level has been preloaded.
+     * <br>
+     * On a hit the preloaded parser is returned and the given one becomes the spare.
+     * Otherwise the given parser is returned and the caller has to parse the level itself.
+     *
+     * @param current the parser of the level being played
+     * @param requested the level about to start
+     * @return a parser holding the requested level, or current
+     */
+    public LevelParser swap(LevelParser current, int requested) {
+        if (!finish() || level != requested) {
+            return current;
+        }
+        LevelParser loaded = parser;
+        parser = current;
+        level = 0;
+        return loaded;
+    }
+
+    /**
+     * Waits for the parse in flight.
+     *
+     * @return whether the spare parser holds a completely parsed level
+     */
+    private boolean finish() {
+        if (task == null) {
+            return level != 0;
+        }
+        try {
+            task.get();
+            return true;
+        } catch (GdxRuntimeException e) {
+            // the synchronous parse will run into the same problem and report it
+            Gdx.app.error("LevelPreloader", "could not preload level " + level, e);
+            level = 0;
+            return false;
+        } finally {
+            task = null;
+        }
+    }
+
+    /**
+     * Waits for the parse in flight and stops the worker thread.
+     */
+    @Override
+    public void dispose() {
+        finish();
+        executor.dispose();
+    }
+}
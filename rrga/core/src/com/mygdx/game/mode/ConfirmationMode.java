@@ -123,7 +123,7 @@ public class ConfirmationMode extends MenuScreen {
      * @param directory    Reference to global asset manager.
      */
     public void gatherAssets(AssetDirectory directory) {
-        foregroundTexture = new TextureRegion(directory.getEntry("game:platform", Texture.class));
+        foregroundTexture = new TextureRegion(directory.getEntry("game:platform", TextureRegion.class));
         cursorTexture = new TextureRegion(directory.getEntry( "menu:cursor_menu", Texture.class ));
         confirmationTag = new TextureRegion(directory.getEntry("menu:confirm_text", Texture.class));
         popup = new TextureRegion(directory.getEntry("menu:popup", Texture.class));
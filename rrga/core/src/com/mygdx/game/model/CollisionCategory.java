@@ -0,0 +1,92 @@
+package com.mygdx.game.model;
+
+/**
+ * The collision categories of the fixtures of a level (Box2D filter category bits). <br>
+ * Every fixture belongs to exactly one category. Categories are assigned when the level is populated
+ * (see LevelContainer) and the player and umbrella sensors get theirs when they are created. Contacts are
+ * dispatched on the categories of their two fixtures (see GameplayController and ContactDispatcher). <br>
+ * maskOf() lists the categories each category interacts with. Box2D only creates contacts between fixtures
+ * that are in each other's masks, so pairs without a contact handler (wind and nest sensors against the
+ * level geometry, the umbrella against the player, ...) are culled in the broadphase.
+ */
+public final class CollisionCategory {
+
+    /** anything without a specific category (Box2D's default category) */
+    public static final short DEFAULT = 0x0001;
+
+    /** static platforms the player can stand on */
+    public static final short PLATFORM = 0x0002;
+
+    /** moving (cloud) platforms the player can stand on */
+    public static final short MOVING_PLATFORM = 0x0004;
+
+    /** wind gusts */
+    public static final short WIND = 0x0008;
+
+    /** hazards that move or change over time (birds, lightning) */
+    public static final short HAZARD = 0x0010;
+
+    /** hazards that never move (brambles, rocks, death zones) */
+    public static final short STATIC_HAZARD = 0x0020;
+
+    /** the level goal */
+    public static final short GOAL = 0x0040;
+
+    /** the player's body */
+    public static final short PLAYER = 0x0080;
+
+    /** the player's ground sensor */
+    public static final short PLAYER_SENSOR = 0x0100;
+
+    /** the umbrella's body */
+    public static final short UMBRELLA = 0x0200;
+
+    /** the umbrella's sensor (wind and hazards) */
+    public static final short UMBRELLA_SENSOR = 0x0400;
+
+    /** the invisible object the camera follows at the start of a level */
+    public static final short CAMERA_TARGET = 0x0800;
+
+    /** bird nests */
+    public static final short NEST = 0x1000;
+
+    /** everything the player (body or ground sensor) interacts with */
+    private static final short PLAYER_CONTACTS = PLATFORM | MOVING_PLATFORM | HAZARD | STATIC_HAZARD | GOAL;
+
+    /** categories that can touch hazards */
+    private static final short HAZARD_TARGETS = PLAYER | PLAYER_SENSOR | UMBRELLA_SENSOR;
+
+    /**
+     * returns the mask bits of the given category: the categories its fixtures generate contacts with.
+     * The table is symmetric (a is in the mask of b if and only if b is in the mask of a).
+     * @param category one of the categories
+     * @return the mask bits of the category
+     */
+    public static short maskOf(short category) {
+        switch (category) {
+            case PLATFORM:
+            case MOVING_PLATFORM:
+            case GOAL:
+                return PLAYER | PLAYER_SENSOR;
+            case WIND:
+                return UMBRELLA_SENSOR;
+            case HAZARD:
+            case STATIC_HAZARD:
+                return HAZARD_TARGETS;
+            case PLAYER:
+            case PLAYER_SENSOR:
+                return PLAYER_CONTACTS;
+            case UMBRELLA_SENSOR:
+                return WIND | HAZARD | STATIC_HAZARD;
+            case UMBRELLA:
+            case CAMERA_TARGET:
+            case NEST:
+                // no contact handlers, these never need contacts
+                return 0;
+            default:
+                return -1;
+        }
+    }
+
+    private CollisionCategory() {}
+}
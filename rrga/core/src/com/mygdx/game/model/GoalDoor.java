@@ -2,7 +2,6 @@ package com.mygdx.game.model;
 
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.Color;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.Animation;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Vector2;
@@ -10,6 +9,7 @@ import com.badlogic.gdx.physics.box2d.BodyDef;
 import com.badlogic.gdx.utils.JsonValue;
 import com.mygdx.game.GameCanvas;
 import com.mygdx.game.utility.obstacle.BoxObstacle;
+import com.mygdx.game.utility.util.AnimationRegistry;
 import com.mygdx.game.utility.util.Drawable;
 
 public class GoalDoor extends BoxObstacle implements Drawable {
@@ -35,19 +35,8 @@ public class GoalDoor extends BoxObstacle implements Drawable {
         setName("goal");
     }
 
-    public void setAnimation(Texture texture){
-        TextureRegion[][] frames = TextureRegion.split(texture, 228, 228);
-        TextureRegion[] animation = new TextureRegion[12];
-
-        int index = 0;
-        for (int i=0; i<frames.length; i++) {
-            for (int j=0; j<frames[0].length; j++) {
-                animation[index] = frames[i][j];
-                index++;
-            }
-        }
-
-         this.animation = new Animation<>(1f/8f, animation);
+    public void setAnimation(TextureRegion texture){
+        this.animation = AnimationRegistry.get(texture, 228, 228, 12, 1f/8f, Animation.PlayMode.NORMAL);
     }
     public void draw(GameCanvas canvas){
         elapsedTime += Gdx.graphics.getDeltaTime();
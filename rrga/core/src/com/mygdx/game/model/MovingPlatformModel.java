@@ -2,8 +2,8 @@ package com.mygdx.game.model;
 
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.math.Vector2;
-import com.badlogic.gdx.utils.JsonValue;
 import com.mygdx.game.GameCanvas;
+import com.mygdx.game.model.spec.MovingPlatformSpec;
 import com.mygdx.game.utility.obstacle.PolygonObstacle;
 import com.mygdx.game.utility.util.Drawable;
 
@@ -66,6 +66,9 @@ public class MovingPlatformModel extends PolygonObstacle implements Drawable {
      */
     private float moveSpeed;
 
+    /** move speed given by the level data, before stationary platforms override it */
+    private final float initialMoveSpeed;
+
     /** (squared) distances traveled and distance to travel*/
     private final Vector2 distanceCache = new Vector2();
 
@@ -84,18 +87,19 @@ public class MovingPlatformModel extends PolygonObstacle implements Drawable {
     private final Vector2 temp = new Vector2();
 
 
-    public MovingPlatformModel(JsonValue data, float[] points, float x, float y) {
-        super(points, x, y);
-        moveSpeed = data.getFloat("movespeed");
+    public MovingPlatformModel(MovingPlatformSpec spec) {
+        super(spec.points, spec.x, spec.y);
+        moveSpeed = spec.moveSpeed;
+        initialMoveSpeed = spec.moveSpeed;
         currentPathIndex = 0;
-        flipped = data.getBoolean("flipped");
+        flipped = spec.flipped;
         prevPos.set(getX(), getY());
-        depth = data.getInt("depth");
-        setPath(data.get("path").asFloatArray(), data.getInt("loopTo", -1));
+        depth = spec.depth;
+        setPath(spec.path, spec.loopTo);
 
         // this is the bounding box dimensions of the cloud.
         // aabb = [x,y, width, height] where x,y is relative to bird coordinate
-        float[] aabb = data.get("AABB").asFloatArray();
+        float[] aabb = spec.aabb;
         boxCoordinate.x = aabb[0];
         boxCoordinate.y = aabb[1];
         dimensions.x = aabb[2];
@@ -124,6 +128,20 @@ public class MovingPlatformModel extends PolygonObstacle implements Drawable {
         }
     }
 
+    /**
+     * puts this platform back at the start of its path. <br>
+     * The body must already be at its initial position.
+     */
+    public void restart(){
+        moveSpeed = initialMoveSpeed;
+        currentPathIndex = 0;
+        prevPos.set(getX(), getY());
+        distanceCache.setZero();
+        moveDir.setZero();
+        prevMoveDir.setZero();
+        setPath(path, loopTo);
+    }
+
     public void move(){
         // update direction, using next (X,Y) coordinate on path and computing distances
         float travelX = getX() - prevPos.x;
@@ -178,7 +196,7 @@ public class MovingPlatformModel extends PolygonObstacle implements Drawable {
     public void draw(GameCanvas canvas) {
         float effect = flipped ? -1.0f : 1.0f;
         canvas.draw(texture, Color.WHITE, texture.getRegionWidth()/2f, texture.getRegionHeight()/2f,
-                (getX()) * drawScale.x, (getY()) * drawScale.y, getAngle(),
+                getDrawX() * drawScale.x, getDrawY() * drawScale.y, getDrawAngle(),
                 effect * dimensions.x/texture.getRegionWidth() * drawScale.x,
                 dimensions.y/texture.getRegionHeight() * drawScale.y);
     }
@@ -2,7 +2,6 @@ package com.mygdx.game.model;
 
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.Color;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.Animation;
 import com.badlogic.gdx.graphics.g2d.PolygonRegion;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
@@ -10,9 +9,10 @@ import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.physics.box2d.BodyDef;
 import com.badlogic.gdx.physics.box2d.World;
 import com.badlogic.gdx.utils.Array;
-import com.badlogic.gdx.utils.JsonValue;
 import com.mygdx.game.GameCanvas;
+import com.mygdx.game.model.spec.WindSpec;
 import com.mygdx.game.utility.obstacle.PolygonObstacle;
+import com.mygdx.game.utility.util.AnimationRegistry;
 import com.mygdx.game.utility.util.Drawable;
 import java.util.Random;
 
@@ -26,10 +26,6 @@ import static com.badlogic.gdx.math.Intersector.isPointInPolygon;
  */
 public class NewWindModel extends PolygonObstacle implements Drawable {
 
-    /**
-     * The initializing data (to avoid magic numbers)
-     */
-    private final JsonValue data;
     /** The local centroid coordinate (x,y) of the wind */
     private final Vector2 centroid = new Vector2();
     /** The global center coordinate (x,y) of the wind */
@@ -77,34 +73,95 @@ public class NewWindModel extends PolygonObstacle implements Drawable {
 
     /** (x,y) offset of the AABB top corner from polygon origin */
     private final Vector2 boxCoordinate;
-    /** Vector array of wind polygon points for checking if particle is inside polygon*/
-    private final Array<Vector2> polygonPoints;
+    /** side length (game units) of a cell of the containment grid */
+    private static final float CONTAINMENT_CELL = 0.25f;
+    /** bottom left corner (world) of the containment grid, i.e. of the wind's AABB */
+    private final float gridLeft;
+    private final float gridBottom;
+    /** number of columns and rows of the containment grid */
+    private final int gridCols;
+    private final int gridRows;
+    /** one bit per grid cell (row major), set if the cell center is inside the wind polygon */
+    private final long[] containment;
+
+
+    // Particle system: one slot per particle in each of the arrays below (structure of arrays)
+    /** particle x positions */
+    private final float[] particleX;
+    /** particle y positions */
+    private final float[] particleY;
+    /** particle life, 0 (invisible) to MAX_LIFE (opaque) */
+    private final int[] particleLife;
+    /** remaining frames before a particle starts moving */
+    private final int[] particleDelay;
+    /** frames each particle waits when first spawned */
+    private final int[] particleStartDelay;
+    /** index of the animation variant of each particle */
+    private final int[] particleVariant;
+    /** whether each particle is inside the wind polygon (fading in) or outside (fading out) */
+    private final boolean[] particleAlive;
+
+    /** shared particle animation variants, for wind and leaf particles */
+    private Array<Animation<TextureRegion>> windParticleAnimations;
+    private Array<Animation<TextureRegion>> leafParticleAnimations;
+    /** elapsed animation time of the particles */
+    private float particleTime;
+    /** whether particle simulation is suspended because the wind is far from the camera */
+    private boolean frozen;
+
+    /** base particle velocity (along the wind) */
+    private final float baseVelX;
+    private final float baseVelY;
+    /** cached cosine and sine of the wind direction (basis of the wind frame) */
+    private final float cos;
+    private final float sin;
+    /** offset of the perpendicular axis of the wind frame, -center.y*cos + center.x*sin */
+    private final float perpendicularOffset;
 
-
-    /** Particle System Queue */
-    private final ParticleModel[] queue;
     /** density: # of particles per area */
     private static final float PARTICLE_DENSITY = 1.2f;
     /** Inward force applied to keep particles inside the wind */
     private static final float INWARD_VELOCITY = 0.000025f;
     /** Start offset to particles */
     private static final int PARTICLE_OFFSET = 10;
+    /** frames of start delay per start offset */
+    private static final int OFFSET_CONST = 50;
+    /** maximum particle life */
+    private static final int MAX_LIFE = 10;
+    /** particle speed as a fraction of wind magnitude */
+    private static final float VELOCITY_SCALE = 1/10f;
+    /** number of animation variants per particle kind */
+    private static final int PARTICLE_VARIANTS = 3;
     /** Actual Number of particles per wind*/
     private final int numParticles;
 
     /** Randomizing animation texture used for particles*/
     private final Random rand;
 
+    /** packed particle tint for each particle life: white, with alpha life/MAX_LIFE */
+    private static final float[] LIFE_COLORS = new float[MAX_LIFE + 1];
+    static {
+        for (int life = 0; life <= MAX_LIFE; life++) {
+            LIFE_COLORS[life] = Color.toFloatBits(1, 1, 1, (float) life / MAX_LIFE);
+        }
+    }
+    /** tint of the wind fill animation */
+    private static final Color WIND_TINT = new Color(1, 1, 1, 0.5f);
+
 
-    public NewWindModel(JsonValue data, Vector2 scale) {
-        super(data.get("dimensions").asFloatArray(), data.get("pos").getFloat(0), data.get("pos").getFloat(1));
-        direction = data.getFloat("direction", 0);
-        magnitude = data.getFloat("magnitude");
+    public NewWindModel(WindSpec spec, Vector2 scale) {
+        super(spec.points, spec.x, spec.y);
+        direction = spec.direction;
+        magnitude = spec.magnitude;
         rand = new Random();
+        cos = (float) Math.cos(direction);
+        sin = (float) Math.sin(direction);
+        baseVelX = magnitude * cos * VELOCITY_SCALE;
+        baseVelY = magnitude * sin * VELOCITY_SCALE;
 
         // Defining the wind object origin (x,y)
-        float originX = data.get("pos").getFloat(0);
-        float originY = data.get("pos").getFloat(1);
+        float originX = spec.x;
+        float originY = spec.y;
 
         // Defining wind object body
         setBodyType(BodyDef.BodyType.DynamicBody);
@@ -114,12 +171,11 @@ public class NewWindModel extends PolygonObstacle implements Drawable {
         setRestitution(0);
         fixture.isSensor = true;
 
-        this.data = data;
-        this.depth = data.getInt("depth");
+        this.depth = spec.depth;
 
         // compute tight AABB top left corner
         boxCoordinate = new Vector2();
-        float[] points = data.get("dimensions").asFloatArray();
+        float[] points = spec.points;
         float minx = points[0];
         float maxx = points[0];
         float miny = points[1];
@@ -151,10 +207,11 @@ public class NewWindModel extends PolygonObstacle implements Drawable {
         partRadius = 0;
         centroid.set(centerX / (points.length/2f), centerY / (points.length/2f));
         center.set(originX + centroid.x, originY + centroid.y);
+        perpendicularOffset = -center.y * cos + center.x * sin;
 
 
         // For finding Radius + checking in polygon
-        polygonPoints = new Array<Vector2>(points.length/2);
+        float[] polygonPoints = new float[points.length];
 
         // For transforming global coordinate into wind body frame
         float transformX = -(float)Math.sin(direction);
@@ -177,7 +234,8 @@ public class NewWindModel extends PolygonObstacle implements Drawable {
             relMinX = Math.min(relX, relMinX);
 
             // For Checking In Polygon
-            polygonPoints.add(new Vector2(originX + points[ii], originY + points[ii+1]));
+            polygonPoints[ii] = originX + points[ii];
+            polygonPoints[ii+1] = originY + points[ii+1];
 
             // Finding Radius
             float distX = points[ii] - centroid.x;
@@ -193,25 +251,56 @@ public class NewWindModel extends PolygonObstacle implements Drawable {
         float height = (maxy - miny);
         area = width * height;
 
+        // rasterize the polygon once, so that particles only need a bit lookup to know whether they are inside
+        gridLeft = originX + minx;
+        gridBottom = originY + miny;
+        gridCols = Math.max(1, (int) Math.ceil(width / CONTAINMENT_CELL));
+        gridRows = Math.max(1, (int) Math.ceil(height / CONTAINMENT_CELL));
+        containment = new long[(gridCols * gridRows + 63) / 64];
+        for (int r = 0; r < gridRows; r++) {
+            float cy = gridBottom + (r + 0.5f) * CONTAINMENT_CELL;
+            for (int c = 0; c < gridCols; c++) {
+                float cx = gridLeft + (c + 0.5f) * CONTAINMENT_CELL;
+                if (isPointInPolygon(polygonPoints, 0, polygonPoints.length, cx, cy)) {
+                    int bit = r * gridCols + c;
+                    containment[bit >>> 6] |= 1L << bit;
+                }
+            }
+        }
+
         // Computing total number of particles & sampling particles
         numParticles = (int) (area * PARTICLE_DENSITY);
-        queue = new ParticleModel[numParticles];
-        int particleCount = 0;
-
-        while (particleCount < numParticles) {
+        particleX = new float[numParticles];
+        particleY = new float[numParticles];
+        particleLife = new int[numParticles];
+        particleDelay = new int[numParticles];
+        particleStartDelay = new int[numParticles];
+        particleVariant = new int[numParticles];
+        particleAlive = new boolean[numParticles];
 
+        for (int i = 0; i < numParticles; i++) {
             // Random Sampling that goes across the wind area (WILL NOT SPAWN IN AREA THAT DOES NOT GO ACROSS THE WIND)
             Vector2 sample = particleInitialSample();
+            particleX[i] = sample.x;
+            particleY[i] = sample.y;
+            particleStartDelay[i] = (i % PARTICLE_OFFSET) * OFFSET_CONST;
+            particleDelay[i] = particleStartDelay[i];
+        }
+    }
 
-            float sampleX = sample.x;
-            float sampleY = sample.y;
-
-            int offset = particleCount % PARTICLE_OFFSET;
-
-            queue[particleCount] = new ParticleModel(sampleX, sampleY, this.direction, this.magnitude, this.depth, offset);
-            queue[particleCount].setParticleSize(partWidth, partHeight);
-            particleCount += 1;
+    /**
+     * Cuts a particle filmstrip texture set into the animations shared by all particles of a kind.
+     *
+     * @param t one 64x64-framed filmstrip per animation variant
+     * @return the animation variants
+     */
+    public static Array<Animation<TextureRegion>> createParticleAnimations(TextureRegion[] t) {
+        Array<Animation<TextureRegion>> animations = new Array<>(t.length);
+        for (TextureRegion texture : t) {
+            // Adjust animation frame here
+            animations.add(AnimationRegistry.get(texture, 64, 64, 8, 1f / 8f, Animation.PlayMode.NORMAL));
         }
+        return animations;
     }
 
     /**
@@ -226,8 +315,8 @@ public class NewWindModel extends PolygonObstacle implements Drawable {
         float sampleY = (float)Math.random() * (relMaxY-relMinY) + relMinY;
         float sampleX = (float)Math.random() * (relMaxX-relMinX) + relMinX;
 
-        float sampleGlobX = (float)Math.cos(direction) * sampleX - (float)Math.sin(direction) * sampleY + center.x;
-        float sampleGlobY = (float)Math.sin(direction) * sampleX + (float)Math.cos(direction) * sampleY + center.y;
+        float sampleGlobX = cos * sampleX - sin * sampleY + center.x;
+        float sampleGlobY = sin * sampleX + cos * sampleY + center.y;
         return temp.set(sampleGlobX, sampleGlobY);
     }
 
@@ -242,8 +331,8 @@ public class NewWindModel extends PolygonObstacle implements Drawable {
         float sampleY = (float)Math.random() * (relMaxY-relMinY) + relMinY;
         float sampleX = -(float)Math.sqrt(partRadius*partRadius - sampleY*sampleY);
 
-        float sampleGlobX = (float)Math.cos(direction) * sampleX - (float)Math.sin(direction) * sampleY + center.x;
-        float sampleGlobY = (float)Math.sin(direction) * sampleX + (float)Math.cos(direction) * sampleY + center.y;
+        float sampleGlobX = cos * sampleX - sin * sampleY + center.x;
+        float sampleGlobY = sin * sampleX + cos * sampleY + center.y;
         return temp.set(sampleGlobX, sampleGlobY);
     }
 
@@ -262,8 +351,8 @@ public class NewWindModel extends PolygonObstacle implements Drawable {
     public float getWindForce(float umbrellaAngle){
         //may need to change the umbrella angle based up the value returned by umbrella.getRotation.
         //for now assuming value is within[0, 2pi).
-        float windx = (float) Math.cos(direction);
-        float windy = (float) Math.sin(direction);
+        float windx = cos;
+        float windy = sin;
         float umbrellax = (float) Math.cos(umbrellaAngle);
         float umbrellay = (float) Math.sin(umbrellaAngle);
         float dot = Vector2.dot(windx, windy, umbrellax, umbrellay);
@@ -312,58 +401,130 @@ public class NewWindModel extends PolygonObstacle implements Drawable {
         this.animation = new Animation<>(1f/8f, drawRegions);
     }
 
-    /** Sets particle texture(still image) with alternating leaf and cloud texture
-     * NOTE: used for previous implementation and remains for future usage */
-    public void setParticleTexture(TextureRegion t_cloud, TextureRegion t_leaf) {
-        int leaf_counter = 0;
-        for (int i = 0; i < numParticles; i++) {
-            if (leaf_counter > 7) {
-                queue[i].setTexture(t_leaf);
-                leaf_counter = 0;
-            } else {
-                queue[i].setTexture(t_cloud);
-                leaf_counter += 1;
-            }
+    /**
+     * Sets the particle animations, shared by all winds (see createParticleAnimations).
+     * Particles are populated with 2/3 winds, 1/3 leaf.
+     */
+    public void setParticleAnimations(Array<Animation<TextureRegion>> wind, Array<Animation<TextureRegion>> leaf) {
+        windParticleAnimations = wind;
+        leafParticleAnimations = leaf;
+    }
+
+    /**
+     * Suspends or resumes the particle simulation depending on whether the wind overlaps the given view.<br>
+     * A wind outside the view keeps its particles frozen; when it comes back into the view, its particles
+     * are re-seeded across the wind so that it looks like it kept flowing all along. The view should be
+     * larger than the camera so that re-seeding happens off-screen.
+     *
+     * @param left left edge of the simulated view (game units)
+     * @param bottom bottom edge of the simulated view (game units)
+     * @param right right edge of the simulated view (game units)
+     * @param top top edge of the simulated view (game units)
+     */
+    public void setSimulationView(float left, float bottom, float right, float top) {
+        float boxLeft = getX() + boxCoordinate.x;
+        float boxTop = getY() + boxCoordinate.y;
+        Vector2 dimension = getDimension();
+        boolean inView = !(boxLeft > right || boxLeft + dimension.x < left
+                || boxTop < bottom || boxTop - dimension.y > top);
+        if (inView && frozen) {
+            reseedParticles();
         }
+        frozen = !inView;
     }
 
-    /** Sets particle animation */
-    public void setParticleAnimation(Texture[] t, int i) {
-        queue[i].setAnimation(t);
+    /**
+     * Spreads the particles over the whole wind in their steady state (visible inside the wind, moving).
+     */
+    private void reseedParticles() {
+        for (int i = 0; i < numParticles; i++) {
+            Vector2 sample = particleInitialSample();
+            particleX[i] = sample.x;
+            particleY[i] = sample.y;
+            particleAlive[i] = isInside(sample.x, sample.y);
+            particleLife[i] = particleAlive[i] ? MAX_LIFE : 0;
+            particleDelay[i] = 0;
+            particleVariant[i] = rand.nextInt(PARTICLE_VARIANTS);
+        }
     }
 
-    /** Update loop for wind: currently updates particles */
+    /** Update loop for wind: currently updates particles (unless frozen, see setSimulationView) */
     public void update(float dt) {
+        if (frozen) {
+            return;
+        }
+        float bound = partRadius + 0.5f;
+        float boundSq = bound * bound;
         for (int i = 0; i < numParticles; i++) {
+            float x = particleX[i];
+            float y = particleY[i];
+
+            // Applies random velocity change in direction perpendicular to wind direction
+            float randVel = rand.nextFloat() * 0.5f - 0.25f;
+            float vx = baseVelX + randVel * sin;
+            float vy = baseVelY + randVel * cos;
+
+            if (particleDelay[i] > 0) {
+                // Deducts start offset
+                particleLife[i] = 0;
+                particleDelay[i]--;
+            } else {
+                // Updates particle life
+                particleLife[i] = particleAlive[i] ? Math.min(MAX_LIFE, particleLife[i] + 1)
+                        : Math.max(0, particleLife[i] - 1);
+
+                // Applying inward velocity that pushes particles towards center and prevents them from falling out
+                float velScale = INWARD_VELOCITY * ((x * cos + y * sin) / partRadius);
+                float velDirection = Math.signum(-sin*x + cos*y + perpendicularOffset);
+                vx += velScale * velDirection * sin;
+                vy -= velScale * velDirection * cos;
+
+                x += vx * dt;
+                y += vy * dt;
+                particleX[i] = x;
+                particleY[i] = y;
+            }
 
-            Vector2 partPos = queue[i].getPos();
-
-            // Applying inward velocity that pushes particles towards center and prevents them from falling out
-            float velScale = INWARD_VELOCITY * ((partPos.x * (float) Math.cos(direction) + partPos.y * (float) Math.sin(direction)) / partRadius);
-            float transformX = -(float)Math.sin(direction);
-            float transformY = (float)Math.cos(direction);
-            float transformAng = -center.y*(float)Math.cos(direction) + center.x*(float)Math.sin(direction);
-
-            float velDirection = Math.signum(transformX*partPos.x + transformY*partPos.y + transformAng);
-
-            // Update particles and check if inbound
-            queue[i].update(dt, velScale, velDirection);
-            checkInBound(queue[i]);
-
-            if (!checkInBound(queue[i])) {
+            // check if particle is still within the circle that bounds the wind object
+            float distX = x - center.x;
+            float distY = y - center.y;
+            if (distX * distX + distY * distY > boundSq) {
                 // Take new sample in the start region of the wind
                 Vector2 newSample = particleRandomSample();
 
                 // Make particle invisible once out of region
-                queue[i].setLife(0);
-                queue[i].setPos(newSample);
-                queue[i].setTextureIndex(rand.nextInt(3));
+                particleLife[i] = 0;
+                particleX[i] = newSample.x;
+                particleY[i] = newSample.y;
+                particleVariant[i] = rand.nextInt(PARTICLE_VARIANTS);
             }
         }
     }
 
+    /**
+     * Returns whether a point is inside the wind polygon, looked up in the containment grid
+     * (exact up to CONTAINMENT_CELL near the edges).
+     *
+     * @param x world x
+     * @param y world y
+     * @return whether (x,y) is inside the wind
+     */
+    private boolean isInside(float x, float y) {
+        if (x < gridLeft || y < gridBottom) {
+            return false;
+        }
+        int c = (int) ((x - gridLeft) / CONTAINMENT_CELL);
+        int r = (int) ((y - gridBottom) / CONTAINMENT_CELL);
+        if (c >= gridCols || r >= gridRows) {
+            return false;
+        }
+        int bit = r * gridCols + c;
+        return (containment[bit >>> 6] & (1L << bit)) != 0;
+    }
+
     /** Find reflected point over the line perpendicular to direction of wind (remains for future usage)
-     * NOTE: this code can be used for wrapping around certain objects */
+     * NOTE: this code can be used for wrapping around certain objects
+     * @return the reflected point (a reference to an internal cache, copy it to keep it) */
     public Vector2 findReflectedPoint(Vector2 pos) {
 
 
@@ -375,17 +536,7 @@ public class NewWindModel extends PolygonObstacle implements Drawable {
         float x2 =( pos.x * (A*A - B*B) - 2*B*(A*pos.y + C)) / (A*A + B*B);
         float y2 = ( pos.y * (B*B - A*A) - 2*A*(B*pos.x + C)) / (A*A + B*B);
 
-        return new Vector2(x2, y2);
-    }
-
-    /** Checks if the particle is in bound - within the circle that bounds the wind object*/
-    public boolean checkInBound(ParticleModel p) {
-        Vector2 partPos = p.getPos();
-        float distX = partPos.x - this.center.x;
-        float distY = partPos.y - this.center.y;
-        float dist = (float) Math.sqrt(distX * distX + distY * distY);
-
-        return dist <= partRadius + 0.5;
+        return temp.set(x2, y2);
     }
 
     /**
@@ -400,24 +551,30 @@ public class NewWindModel extends PolygonObstacle implements Drawable {
         elapsedTime += Gdx.graphics.getDeltaTime();
         PolygonRegion p = animation.getKeyFrame(elapsedTime, true);
 
-        Color tint = new Color(1,1,1,0.5f);
-        canvas.draw(p, tint, -xOffset, -yOffset,getX()*drawScale.x + xOffset,getY()*drawScale.y + yOffset,
+        canvas.draw(p, WIND_TINT, -xOffset, -yOffset,getX()*drawScale.x + xOffset,getY()*drawScale.y + yOffset,
                     direction-((float) Math.PI/2),1,1);
 
         // Draw Particles
+        particleTime += Gdx.graphics.getDeltaTime();
         for (int i = 0; i < numParticles; i++) {
+            float x = particleX[i];
+            float y = particleY[i];
 
             // Updating Particles - if left wind area, particle fades out
-            if (!isPointInPolygon(polygonPoints, queue[i].getPos())) {
-                queue[i].setDead();
-            } else if (!queue[i].getIsAlive()) {
-                queue[i].setAlive();
+            particleAlive[i] = isInside(x, y);
+
+            // Alpha follows particle life (a dead particle is fully transparent)
+            if (particleLife[i] == 0) {
+                continue;
             }
 
-            // Draw particles
-            queue[i].setDrawScale(drawScale);
-            queue[i].draw(canvas);
+            // Populates particle with 2/3 winds, 1/3 leaf
+            Array<Animation<TextureRegion>> animations = i % 3 < 2 ? windParticleAnimations : leafParticleAnimations;
+            TextureRegion t = animations.get(particleVariant[i]).getKeyFrame(particleTime, true);
+            canvas.drawParticle(t, LIFE_COLORS[particleLife[i]], x * drawScale.x, y * drawScale.y,
+                    partWidth, partHeight);
         }
+        canvas.flushParticles();
     }
 
     public int getNumParticles() {
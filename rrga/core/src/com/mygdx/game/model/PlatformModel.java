@@ -3,8 +3,8 @@ package com.mygdx.game.model;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Vector2;
-import com.badlogic.gdx.utils.JsonValue;
 import com.mygdx.game.GameCanvas;
+import com.mygdx.game.model.spec.PlatformSpec;
 import com.mygdx.game.utility.obstacle.PolygonObstacle;
 import com.mygdx.game.utility.util.Drawable;
 
@@ -58,33 +58,29 @@ public class PlatformModel extends PolygonObstacle implements Drawable {
 
     /**
      * constructs a platform with the given texture
-     * @param texturedPlatformData JSON data for platforms with texture (ex. tree logs)
+     * @param spec spec of a platform with texture (ex. tree logs)
      * @param texture object texture
      */
-    public PlatformModel(JsonValue texturedPlatformData, TextureRegion texture, int depth){
-        super(texturedPlatformData.get("points").asFloatArray(), texturedPlatformData.getFloat("x", 0),
-                texturedPlatformData.getFloat("y", 0));
+    public PlatformModel(PlatformSpec spec, TextureRegion texture){
+        super(spec.points, spec.x, spec.y);
         this.texture = texture;
-        this.depth = depth;
-        flipX = texturedPlatformData.getBoolean("flipX");
-        flipY = texturedPlatformData.getBoolean("flipY");
-        angle = texturedPlatformData.getFloat("angle", 0);
-        float[] aabb = texturedPlatformData.get("AABB").asFloatArray();
-        size.set(aabb[2], aabb[3]);
-        temp.set(size);
+        this.depth = spec.depth;
+        flipX = spec.flipX;
+        flipY = spec.flipY;
+        angle = spec.angle;
+        size.set(spec.aabb[2], spec.aabb[3]);
+        dimensions.set(size);
+        boxCoordinate.set(spec.aabb[0], spec.aabb[1]);
         if (this.angle != 0){
             // need to compute new AABB (preferable rotational angles are pi/2, pi, 3pi/2)
             double psin = Math.abs(Math.sin(angle));
             double pcos = Math.abs(Math.cos(angle));
             // set new box dimensions
-            aabb[2] = (float) (temp.y * psin + temp.x * pcos);
-            aabb[3] = (float) (temp.x * psin + temp.y * pcos);
+            dimensions.x = (float) (size.y * psin + size.x * pcos);
+            dimensions.y = (float) (size.x * psin + size.y * pcos);
             // new box left corner (cartesian coordinate, relative to center of sticker)
-            aabb[0] = -aabb[2]/2f;
-            aabb[1] = aabb[3]/2f;
+            boxCoordinate.set(-dimensions.x/2f, dimensions.y/2f);
         }
-        dimensions.set(aabb[2], aabb[3]);
-        boxCoordinate.set(aabb[0],aabb[1]);
         setAngle(angle);
     }
 
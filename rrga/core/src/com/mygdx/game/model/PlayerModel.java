@@ -11,7 +11,6 @@
 package com.mygdx.game.model;
 
 import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
@@ -24,6 +23,7 @@ import com.badlogic.gdx.utils.JsonValue;
 import com.badlogic.gdx.graphics.g2d.Animation;
 import com.mygdx.game.GameCanvas;
 import com.mygdx.game.utility.obstacle.CapsuleObstacle;
+import com.mygdx.game.utility.util.AnimationRegistry;
 import com.mygdx.game.utility.util.Drawable;
 
 /**
@@ -434,8 +434,8 @@ public class PlayerModel extends CapsuleObstacle implements Drawable {
 	 * sets the player's HP texture.
 	 * @param texture the HP texture
 	 */
-	public void setHpTexture(Texture texture){
-		TextureRegion[][] tempTexture = TextureRegion.split(texture, 304, 200);
+	public void setHpTexture(TextureRegion texture){
+		TextureRegion[][] tempTexture = texture.split(304, 200);
 		hpTexture = new TextureRegion[4];
 
 		// Ordering Texture Tile
@@ -452,8 +452,8 @@ public class PlayerModel extends CapsuleObstacle implements Drawable {
 	 * sets the player's boost texture.
 	 * @param texture the boost texture
 	 */
-	public void setBoostTexture(Texture texture){
-		TextureRegion[][] tempTexture = TextureRegion.split(texture, texture.getWidth()/5, texture.getHeight()/2);
+	public void setBoostTexture(TextureRegion texture){
+		TextureRegion[][] tempTexture = texture.split(texture.getRegionWidth()/5, texture.getRegionHeight()/2);
 		boostTexture = new TextureRegion[10];
 
 		// Ordering Texture Tile
@@ -489,149 +489,56 @@ public class PlayerModel extends CapsuleObstacle implements Drawable {
 	 * Sets player walk animation
 	 * NOTE: iterator is specific to current filmstrip - need to change value if tile dimension changes on filmstrip
 	 * */
-	public void setWalkAnimation(Texture texture) {
-		//TODO maybe find a way to do this without constants?
-		TextureRegion[][] tempFrames = TextureRegion.split(texture, 252, 352);
-		TextureRegion[] frames = new TextureRegion[8];
-
-		// Placing animation frames in order
-		int index = 0;
-		for (int i=0; i<tempFrames.length; i++) {
-			for (int j=0; j<tempFrames[0].length; j++) {
-				frames[index] = tempFrames[i][j];
-				index++;
-			}
-		}
-
-		// Adjust walk animation speed here
-		this.walkAnimation = new Animation<>(1f/12f, frames);
+	public void setWalkAnimation(TextureRegion texture) {
+		this.walkAnimation = AnimationRegistry.get(texture, 252, 352, 8, 1f/12f, Animation.PlayMode.NORMAL);
 	}
 
 	/**
 	 * Sets player falling animation
 	 * NOTE: iterator is specific to current filmstrip - need to change value if tile dimension changes on filmstrip
 	 * */
-	public void setFallingAnimation(Texture texture) {
-		//TODO maybe find a way to do this without constants?
-		TextureRegion[][] tempFrames = TextureRegion.split(texture, 252, 352);
-		TextureRegion[] frames = new TextureRegion[4];
-
-		// Placing animation frames in order
-		int index = 0;
-		for (int i=0; i<tempFrames.length; i++) {
-			for (int j=0; j<tempFrames[0].length; j++) {
-				frames[index] = tempFrames[i][j];
-				index++;
-			}
-		}
-
-		// Adjust fall animation speed here
-		this.fallAnimation = new Animation<>(1f/12f, frames);
+	public void setFallingAnimation(TextureRegion texture) {
+		this.fallAnimation = AnimationRegistry.get(texture, 252, 352, 4, 1f/12f, Animation.PlayMode.NORMAL);
 	}
 
 	/**
 	 * Sets player idle animation
 	 * NOTE: iterator is specific to current filmstrip - need to change value if tile dimension changes on filmstrip
 	 * */
-	public void setIdleAnimation(Texture texture){
-		TextureRegion[][] tempFrames = TextureRegion.split(texture, 252, 352);
-		TextureRegion[] frames = new TextureRegion[15];
-
-		// Placing animation frames in order
-		int index = 0;
-		for (int i=0; i<tempFrames.length; i++) {
-			for (int j=0; j<tempFrames[0].length; j++) {
-				frames[index] = tempFrames[i][j];
-				index++;
-			}
-		}
-
-		// Adjust idle animation speed here
-		idleAnimation = new Animation<>(1f/15f, frames);
+	public void setIdleAnimation(TextureRegion texture){
+		idleAnimation = AnimationRegistry.get(texture, 252, 352, 15, 1f/15f, Animation.PlayMode.NORMAL);
 	}
 
 	/**
 	 * Sets player look animation
 	 * NOTE: iterator is specific to current filmstrip - need to change value if tile dimension changes on filmstrip
 	 * */
-	public void setLookAnimation(Texture texture){
-		TextureRegion[][] tempFrames = TextureRegion.split(texture, 252, 352);
-		TextureRegion[] frames = new TextureRegion[32];
-
-		// Placing animation frames in order
-		int index = 0;
-		for (int i=0; i<tempFrames.length; i++) {
-			for (int j=0; j<tempFrames[0].length; j++) {
-				frames[index] = tempFrames[i][j];
-				index++;
-			}
-		}
-
-		// Adjust idle animation speed here
-		lookAnimation = new Animation<>(1f/12f, frames);
+	public void setLookAnimation(TextureRegion texture){
+		lookAnimation = AnimationRegistry.get(texture, 252, 352, 32, 1f/12f, Animation.PlayMode.NORMAL);
 	}
 
 	/**
 	 * Sets player takeoff animation
 	 * NOTE: iterator is specific to current filmstrip - need to change value if tile dimension changes on filmstrip
 	 * */
-	public void setTakeoffAnimation(Texture texture){
-		TextureRegion[][] tempFrames = TextureRegion.split(texture, texture.getWidth()/2, texture.getHeight());
-		TextureRegion[] frames = new TextureRegion[2];
-
-		// Placing animation frames in order
-		int index = 0;
-		for (int i=0; i<tempFrames.length; i++) {
-			for (int j=0; j<tempFrames[0].length; j++) {
-				frames[index] = tempFrames[i][j];
-				index++;
-			}
-		}
-
-		// Adjust idle animation speed here
-		takeoffAnimation = new Animation<>(1f/12f, frames);
+	public void setTakeoffAnimation(TextureRegion texture){
+		takeoffAnimation = AnimationRegistry.get(texture, texture.getRegionWidth()/2, texture.getRegionHeight(), 2, 1f/12f, Animation.PlayMode.NORMAL);
 	}
 
 	/**
 	 * Sets player land animation
 	 * NOTE: iterator is specific to current filmstrip - need to change value if tile dimension changes on filmstrip
 	 * */
-	public void setLandAnimation(Texture texture){
-		TextureRegion[][] tempFrames = TextureRegion.split(texture, texture.getWidth()/3, texture.getHeight());
-		TextureRegion[] frames = new TextureRegion[3];
-
-		// Placing animation frames in order
-		int index = 0;
-		for (int i=0; i<tempFrames.length; i++) {
-			for (int j=0; j<tempFrames[0].length; j++) {
-				frames[index] = tempFrames[i][j];
-				index++;
-			}
-		}
-
-		// Adjust idle animation speed here
-		landAnimation = new Animation<>(1f/12f, frames);
+	public void setLandAnimation(TextureRegion texture){
+		landAnimation = AnimationRegistry.get(texture, texture.getRegionWidth()/3, texture.getRegionHeight(), 3, 1f/12f, Animation.PlayMode.NORMAL);
 	}
 
 	/**
 	 * Sets player flip animation
 	 * NOTE: iterator is specific to current filmstrip - need to change value if tile dimension changes on filmstrip
 	 * */
-	public void setFlipAnimation(Texture texture){
-		TextureRegion[][] tempFrames = TextureRegion.split(texture, texture.getWidth()/4, texture.getHeight()/2);
-		TextureRegion[] frames = new TextureRegion[8];
-
-		// Placing animation frames in order
-		int index = 0;
-		for (int i=0; i<tempFrames.length; i++) {
-			for (int j=0; j<tempFrames[0].length; j++) {
-				frames[index] = tempFrames[i][j];
-				index++;
-			}
-		}
-
-		// Adjust idle animation speed here
-		flipAnimation = new Animation<>(1f/20f, frames);
+	public void setFlipAnimation(TextureRegion texture){
+		flipAnimation = AnimationRegistry.get(texture, texture.getRegionWidth()/4, texture.getRegionHeight()/2, 8, 1f/20f, Animation.PlayMode.NORMAL);
 	}
 
 	/**
@@ -738,6 +645,8 @@ public class PlayerModel extends CapsuleObstacle implements Drawable {
 		FixtureDef sensorDef = new FixtureDef();
 		sensorDef.density = data.getFloat("density",0);
 		sensorDef.isSensor = true;
+		sensorDef.filter.categoryBits = CollisionCategory.PLAYER_SENSOR;
+		sensorDef.filter.maskBits = CollisionCategory.maskOf(CollisionCategory.PLAYER_SENSOR);
 		sensorShape = new PolygonShape();
 		JsonValue sensorjv = data.get("sensor");
 		sensorShape.setAsBox(sensorjv.getFloat("shrink",0)*getWidth()/2.0f,
@@ -929,7 +838,7 @@ public class PlayerModel extends CapsuleObstacle implements Drawable {
 			}
 
 			canvas.draw(t, tint, t.getRegionWidth() / 2f, t.getRegionHeight() / 2f,
-					getX() * drawScale.x, getY() * drawScale.y, getAngle(),
+					getDrawX() * drawScale.x, getDrawY() * drawScale.y, getDrawAngle(),
 					flipEffect * size[0] / t.getRegionWidth() * drawScale.x, size[1] / t.getRegionHeight() * drawScale.y);
 		}
 		else {
@@ -1002,7 +911,7 @@ public class PlayerModel extends CapsuleObstacle implements Drawable {
 				}
 			}
 			canvas.draw(t, tint, t.getRegionWidth() / 2f, t.getRegionHeight() / 2f,
-					getX() * drawScale.x, getY() * drawScale.y, getAngle(),
+					getDrawX() * drawScale.x, getDrawY() * drawScale.y, getDrawAngle(),
 					effect * size[0] / t.getRegionWidth() * drawScale.x, size[1] / t.getRegionHeight() * drawScale.y);
 		}
 	}
@@ -1019,7 +928,7 @@ public class PlayerModel extends CapsuleObstacle implements Drawable {
 		float offsetY = (float) (offset * Math.sin(cartesianAngle));
 		canvas.draw(indicatorTexture, tint, indicatorTexture.getRegionWidth() / 2f,
 				indicatorTexture.getRegionHeight() / 2f,
-				(getX() + offsetX) * drawScale.x, (getY() + offsetY) * drawScale.y,
+				(getDrawX() + offsetX) * drawScale.x, (getDrawY() + offsetY) * drawScale.y,
 				indicatorAngle, 0.1f, 0.1f);
 	}
       
@@ -2,7 +2,6 @@ package com.mygdx.game.model;
 
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.Color;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.Animation;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Vector2;
@@ -10,6 +9,7 @@ import com.badlogic.gdx.physics.box2d.*;
 import com.badlogic.gdx.utils.JsonValue;
 import com.mygdx.game.GameCanvas;
 import com.mygdx.game.utility.obstacle.BoxObstacle;
+import com.mygdx.game.utility.util.AnimationRegistry;
 
 public class UmbrellaModel extends BoxObstacle {
     /**
@@ -159,6 +159,8 @@ public class UmbrellaModel extends BoxObstacle {
         Vector2 sensorCenter = new Vector2(0, 3 * getHeight() / 8);
         sensorDef.density = 0;
         sensorDef.isSensor = true;
+        sensorDef.filter.categoryBits = CollisionCategory.UMBRELLA_SENSOR;
+        sensorDef.filter.maskBits = CollisionCategory.maskOf(CollisionCategory.UMBRELLA_SENSOR);
         sensorShape = new PolygonShape();
         sensorShape.setAsBox(getWidth() / 2, getHeight() / 8, sensorCenter, 0.0f);
         sensorDef.shape = sensorShape;
@@ -262,7 +264,7 @@ public class UmbrellaModel extends BoxObstacle {
                 openElapsedTime += Gdx.graphics.getDeltaTime();
                 t = closeAnimation.getKeyFrame(openElapsedTime, false);
                 canvas.draw(t, Color.WHITE, t.getRegionWidth() / 2f, t.getRegionHeight() / 2f,
-                        getX() * drawScale.x, getY() * drawScale.y, getAngle(),
+                        getDrawX() * drawScale.x, getDrawY() * drawScale.y, getDrawAngle(),
                         effect * size[0] / t.getRegionWidth() * drawScale.x, size[1] / t.getRegionHeight() * drawScale.y);
 
                 // Reset to default openMode
@@ -274,7 +276,7 @@ public class UmbrellaModel extends BoxObstacle {
                 openElapsedTime += Gdx.graphics.getDeltaTime();
                 t = openAnimation.getKeyFrame(openElapsedTime, false);
                 canvas.draw(t, Color.WHITE, t.getRegionWidth() / 2f, t.getRegionHeight() / 2f,
-                        getX() * drawScale.x, getY() * drawScale.y, getAngle(),
+                        getDrawX() * drawScale.x, getDrawY() * drawScale.y, getDrawAngle(),
                         effect * size[0] / t.getRegionWidth() * drawScale.x, size[1] / t.getRegionHeight() * drawScale.y);
 
                 // Reset to default openMode
@@ -286,12 +288,12 @@ public class UmbrellaModel extends BoxObstacle {
                 if (texture == openTexture) {
                     t = openAnimationFrames[openAnimationFrames.length - 1];
                     canvas.draw(t, Color.WHITE, t.getRegionWidth() / 2f, t.getRegionHeight() / 2f,
-                            getX() * drawScale.x, getY() * drawScale.y, getAngle(),
+                            getDrawX() * drawScale.x, getDrawY() * drawScale.y, getDrawAngle(),
                             effect * size[0] / t.getRegionWidth() * drawScale.x, size[1] / t.getRegionHeight() * drawScale.y);
                 } else {
                     t = openAnimationFrames[0];
                     canvas.draw(t, Color.WHITE, t.getRegionWidth() / 2f, t.getRegionHeight() / 2f,
-                            getX() * drawScale.x, getY() * drawScale.y, getAngle(),
+                            getDrawX() * drawScale.x, getDrawY() * drawScale.y, getDrawAngle(),
                             effect * size[0] / t.getRegionWidth() * drawScale.x, size[1] / t.getRegionHeight() * drawScale.y);
                 }
             }
@@ -303,7 +305,7 @@ public class UmbrellaModel extends BoxObstacle {
             boostElapsedTime += Gdx.graphics.getDeltaTime();
             t = boostAnimation.getKeyFrame(boostElapsedTime, false);
             canvas.draw(t, Color.WHITE, t.getRegionWidth() / 2f, t.getRegionHeight() / 2f,
-                    getX() * drawScale.x, getY() * drawScale.y, getAngle(),
+                    getDrawX() * drawScale.x, getDrawY() * drawScale.y, getDrawAngle(),
                     effect * size[0] / t.getRegionWidth() * drawScale.x, size[1] / t.getRegionHeight() * drawScale.y);
             if (currentFrameCount == 0) {
                 isBoosting = false;
@@ -344,65 +346,25 @@ public class UmbrellaModel extends BoxObstacle {
      * Sets umbrella open animation
      * NOTE: iterator is specific to current filmstrip - need to change value if tile dimension changes on filmstrip
      */
-    public void setOpenAnimation(Texture textureFull, Texture textureEmpty) {
-        TextureRegion[][] tempFrames = TextureRegion.split(textureFull, 469, 600);
-        openAnimationFramesFull = new TextureRegion[6];
-
-        // Setting animation frames
-        int index = 0;
-        for (int i = 0; i < 1; i++) {
-            for (int j = 0; j < 6; j++) {
-                openAnimationFramesFull[index] = tempFrames[i][j];
-                index++;
-            }
-        }
-
+    public void setOpenAnimation(TextureRegion textureFull, TextureRegion textureEmpty) {
         // NOTE: If changing frameDuration, make sure to change OPEN_ANIMATION_FRAMECOUNT accordingly.
-        this.openAnimationFull = new Animation<>(1f / 20f, openAnimationFramesFull);
-        openAnimationFull.setPlayMode(Animation.PlayMode.NORMAL);
-
-        this.closeAnimationFull = new Animation<>(1f / 20f, openAnimationFramesFull);
-        closeAnimationFull.setPlayMode(Animation.PlayMode.REVERSED);
-
-        tempFrames = TextureRegion.split(textureEmpty, 469, 600);
-        openAnimationFramesEmpty = new TextureRegion[6];
-
-        // Setting animation frames
-        index = 0;
-        for (int i = 0; i < 1; i++) {
-            for (int j = 0; j < 6; j++) {
-                openAnimationFramesEmpty[index] = tempFrames[i][j];
-                index++;
-            }
-        }
+        this.openAnimationFull = AnimationRegistry.get(textureFull, 469, 600, 6, 1f / 20f, Animation.PlayMode.NORMAL);
+        this.closeAnimationFull = AnimationRegistry.get(textureFull, 469, 600, 6, 1f / 20f, Animation.PlayMode.REVERSED);
+        openAnimationFramesFull = openAnimationFull.getKeyFrames();
 
         // NOTE: If changing frameDuration, make sure to change OPEN_ANIMATION_FRAMECOUNT accordingly.
-        this.openAnimationEmpty = new Animation<>(1f / 20f, openAnimationFramesEmpty);
-        openAnimationEmpty.setPlayMode(Animation.PlayMode.NORMAL);
-
-        this.closeAnimationEmpty = new Animation<>(1f / 20f, openAnimationFramesEmpty);
-        closeAnimationEmpty.setPlayMode(Animation.PlayMode.REVERSED);
+        this.openAnimationEmpty = AnimationRegistry.get(textureEmpty, 469, 600, 6, 1f / 20f, Animation.PlayMode.NORMAL);
+        this.closeAnimationEmpty = AnimationRegistry.get(textureEmpty, 469, 600, 6, 1f / 20f, Animation.PlayMode.REVERSED);
+        openAnimationFramesEmpty = openAnimationEmpty.getKeyFrames();
     }
 
     /**
      * Sets umbrella boost animation
      * NOTE: iterator is specific to current filmstrip - need to change value if tile dimension changes on filmstrip
      */
-    public void setBoostAnimation(Texture texture) {
-        TextureRegion[][] tempFrames = TextureRegion.split(texture, texture.getWidth() / 4, texture.getHeight() / 4);
-        TextureRegion[] frames = new TextureRegion[16];
-
-        // Setting animation frames
-        int index = 0;
-        for (int i = 0; i < 4; i++) {
-            for (int j = 0; j < 4; j++) {
-                frames[index] = tempFrames[i][j];
-                index++;
-            }
-        }
-
-        this.boostAnimation = new Animation<>(1f / 20f, frames);
-        boostAnimation.setPlayMode(Animation.PlayMode.NORMAL);
+    public void setBoostAnimation(TextureRegion texture) {
+        this.boostAnimation = AnimationRegistry.get(texture, texture.getRegionWidth() / 4, texture.getRegionHeight() / 4, 16,
+                1f / 20f, Animation.PlayMode.NORMAL);
     }
 
     /**
@@ -3,12 +3,12 @@ package com.mygdx.game.model.hazard;
 
 import com.badlogic.gdx.audio.Sound;
 import com.badlogic.gdx.graphics.Color;
-import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.physics.box2d.BodyDef;
 import com.badlogic.gdx.physics.box2d.World;
-import com.badlogic.gdx.utils.JsonValue;
 import com.mygdx.game.GameCanvas;
+import com.mygdx.game.model.spec.LightningSpec;
 import com.mygdx.game.utility.obstacle.ComplexObstacle;
 import com.mygdx.game.utility.obstacle.Obstacle;
 import com.mygdx.game.utility.obstacle.PolygonObstacle;
@@ -17,8 +17,6 @@ import com.mygdx.game.utility.util.FilmStrip;
 
 public class AnimatedLightningHazard extends ComplexObstacle implements HazardModel, Drawable {
 
-    private static final int DEFAULT_STRIKE_DURATION = 100;
-
     private final Vector2 temp = new Vector2();
 
     /** the layer depth of this animated object when drawn */
@@ -51,6 +49,9 @@ public class AnimatedLightningHazard extends ComplexObstacle implements HazardMo
     /** the current remaining number of frames to wait until next strike cycle */
     private int waitCounter;
 
+    /** Ticks added to the first wait so that bolts are out of phase */
+    private final int initialTimerOffset;
+
     private final int damage;
 
     private final float knockBack;
@@ -61,20 +62,20 @@ public class AnimatedLightningHazard extends ComplexObstacle implements HazardMo
 
     /**
      * Creates an animating lightning whose properties are contained within the given data.
-     * @param data JSON data with properties: position, dimensions, filmstrip size
+     * @param spec lightning spec with properties: position, dimensions, filmstrip size
      * @param animationTexture the filmstrip containing each frame of the animation
      */
-    public AnimatedLightningHazard(JsonValue data, Texture animationTexture, int dmg, float knockBack, Sound sfx){
-        super(data.getFloat("x"), data.getFloat("y"));
-        drawDepth = data.getInt("depth");
-        flippedX = data.getBoolean("flipped");
+    public AnimatedLightningHazard(LightningSpec spec, TextureRegion animationTexture, int dmg, float knockBack, Sound sfx){
+        super(spec.x, spec.y);
+        drawDepth = spec.depth;
+        flippedX = spec.flipped;
         // this is the bounding box dimensions of the texture that contains all animation frames.
         // aabb = [x,y, width, height] where x,y is relative to lightning asset coordinate
-        float[] aabb = data.get("AABB").asFloatArray();
+        float[] aabb = spec.aabb;
         boxCoordinate.set(aabb[0], aabb[1]);
         dimensions.set(aabb[2], aabb[3]);
-        int cols = animationTexture.getWidth() / data.getInt("filmStripWidth");
-        int rows = animationTexture.getHeight() / data.getInt("filmStripHeight");
+        int cols = animationTexture.getRegionWidth() / spec.filmStripWidth;
+        int rows = animationTexture.getRegionHeight() / spec.filmStripHeight;
         frames = new FilmStrip(animationTexture, rows, cols);
         this.sfx=sfx;
 
@@ -83,17 +84,15 @@ public class AnimatedLightningHazard extends ComplexObstacle implements HazardMo
         for (Integer d : frameCounts){
             growDuration += d;
         }
-        frameCounts[5] = data.getInt("strike_duration", DEFAULT_STRIKE_DURATION) - growDuration;
+        frameCounts[5] = spec.strikeDuration - growDuration;
         activeFrameIndex = 0;
 
-        waitFrameCount = data.getInt("strike_timer", DEFAULT_STRIKE_DURATION) - growDuration;
-        waitCounter = waitFrameCount + data.getInt("initial_timer_offset");
+        waitFrameCount = spec.strikeTimer - growDuration;
+        initialTimerOffset = spec.initialTimerOffset;
+        waitCounter = waitFrameCount + initialTimerOffset;
 
-        float x = data.getFloat("x");
-        float y = data.getFloat("y");
-        for (JsonValue hitBoxData : data.get("hitboxes")){
-            float[] points = hitBoxData.asFloatArray();
-            Obstacle o = new PolygonObstacle(points, x, y);
+        for (float[] points : spec.hitboxes){
+            Obstacle o = new PolygonObstacle(points, spec.x, spec.y);
             o.setBodyType(BodyDef.BodyType.StaticBody);
             o.setDensity(0);
             o.setFriction(0);
@@ -121,6 +120,18 @@ public class AnimatedLightningHazard extends ComplexObstacle implements HazardMo
         return true;
     }
 
+    /**
+     * rewinds this lightning to the start of its first wait, like a freshly created bolt.
+     */
+    public void restart() {
+        for (Obstacle hitBox : bodies){
+            hitBox.setActive(false);
+        }
+        activeFrameIndex = 0;
+        frameCounter = 0;
+        waitCounter = waitFrameCount + initialTimerOffset;
+    }
+
     @Override
     public void draw(GameCanvas canvas) {
         if (waitCounter==0) sfx.play(sfxVol*.1f);
@@ -4,16 +4,17 @@ import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.audio.Music;
 import com.badlogic.gdx.audio.Sound;
 import com.badlogic.gdx.graphics.Color;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.Animation;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.physics.box2d.*;
-import com.badlogic.gdx.utils.JsonValue;
 import com.mygdx.game.GameCanvas;
+import com.mygdx.game.model.spec.BirdSpec;
 import com.mygdx.game.utility.obstacle.ComplexObstacle;
 import com.mygdx.game.utility.obstacle.Obstacle;
 import com.mygdx.game.utility.obstacle.PolygonObstacle;
+import com.mygdx.game.utility.util.AnimationRegistry;
 import com.mygdx.game.utility.util.Drawable;
 
 /**
@@ -133,6 +134,9 @@ public class BirdHazard extends ComplexObstacle implements HazardModel, Drawable
 
     private final Vector2 temp = new Vector2();
 
+    /** shape used to draw the sensor range in debug mode (shared, created on first use) */
+    private static CircleShape sensorDebugShape;
+
     /** the bird's draw depth */
     private final int depth;
 
@@ -147,12 +151,6 @@ public class BirdHazard extends ComplexObstacle implements HazardModel, Drawable
     /** Bird flap animation elapsed time */
     float flapElapsedTime;
 
-    /** Bird warning animation frames */
-    private TextureRegion[][] warningTmpFrames;
-
-    /** Bird warning animation frames */
-    private TextureRegion[] warningAnimationFrames;
-
     /** Bird warning animation*/
     private Animation<TextureRegion> warningAnimation;
 
@@ -169,6 +167,18 @@ public class BirdHazard extends ComplexObstacle implements HazardModel, Drawable
 
     public int attackWait;
 
+    /** index of the next ray of this bird's line of sight fan (see BirdPerception) */
+    int nextRay;
+
+    /** whether this bird is asleep: its bodies are inactive and its patrol is not simulated (see BirdScheduler) */
+    boolean asleep;
+
+    /** number of steps this bird has been asleep */
+    int sleptSteps;
+
+    /** bounds of the points on the flight path [minX, minY, maxX, maxY] */
+    private final float[] pathBounds = new float[4];
+
     public boolean warning;
 
     /**
@@ -246,49 +256,25 @@ public class BirdHazard extends ComplexObstacle implements HazardModel, Drawable
     /**
      * Sets bird flapping animation
      */
-    public void setFlapAnimation(Texture flapTexture, int stillFrameIndex) {
+    public void setFlapAnimation(TextureRegion flapTexture, int stillFrameIndex) {
         if (flapTexture == null) {
             return;
         }
 
-        TextureRegion[][] flapTmpFrames = TextureRegion.split(flapTexture, (int) filmStripSize.x, (int) filmStripSize.y);
-        int columns = flapTmpFrames.length == 0? 0 : flapTmpFrames[0].length;
-        // Bird flap animation frames
-        TextureRegion[] flapAnimationFrames = new TextureRegion[flapTmpFrames.length * columns];
-
-        // PLacing animation frames in order
-        int index = 0;
-        for (TextureRegion[] flapTmpFrame : flapTmpFrames) {
-            for (TextureRegion textureRegion : flapTmpFrame) {
-                flapAnimationFrames[index] = textureRegion;
-                index++;
-            }
-        }
         // Adjust frame duration here
-        this.flapAnimation = new Animation<>(1f/10f, flapAnimationFrames);
-        flapAnimation.setPlayMode(Animation.PlayMode.LOOP);
-        this.stillFrame = flapAnimationFrames[stillFrameIndex];
+        this.flapAnimation = AnimationRegistry.get(flapTexture, (int) filmStripSize.x, (int) filmStripSize.y,
+                1f/10f, Animation.PlayMode.LOOP);
+        this.stillFrame = flapAnimation.getKeyFrames()[stillFrameIndex];
     }
 
-    public void setWarningAnimation(Texture warningTexture){
+    public void setWarningAnimation(TextureRegion warningTexture){
         if (warningTexture == null) {
             return;
         }
 
-        warningTmpFrames = TextureRegion.split(warningTexture, warningTexture.getWidth()/4, warningTexture.getHeight());
-        int columns = warningTmpFrames.length == 0? 0 : warningTmpFrames[0].length;
-        warningAnimationFrames = new TextureRegion[warningTmpFrames.length * columns];
-
-        // PLacing animation frames in order
-        int index = 0;
-        for (TextureRegion[] warningTmpFrame : warningTmpFrames) {
-            for (TextureRegion textureRegion : warningTmpFrame) {
-                warningAnimationFrames[index] = textureRegion;
-                index++;
-            }
-        }
         // Adjust frame duration here
-        this.warningAnimation = new Animation<>(1f/10f, warningAnimationFrames);
+        this.warningAnimation = AnimationRegistry.get(warningTexture, warningTexture.getRegionWidth()/4,
+                warningTexture.getRegionHeight(), 1f/10f, Animation.PlayMode.NORMAL);
     }
 
     /**
@@ -317,6 +303,14 @@ public class BirdHazard extends ComplexObstacle implements HazardModel, Drawable
     public void setPath(float[] path, int loopTo){
         this.path = path;
         this.loopTo = loopTo;
+        pathBounds[0] = pathBounds[2] = path[0];
+        pathBounds[1] = pathBounds[3] = path[1];
+        for (int idx = 2; idx < path.length; idx += 2){
+            pathBounds[0] = Math.min(pathBounds[0], path[idx]);
+            pathBounds[1] = Math.min(pathBounds[1], path[idx + 1]);
+            pathBounds[2] = Math.max(pathBounds[2], path[idx]);
+            pathBounds[3] = Math.max(pathBounds[3], path[idx + 1]);
+        }
         if (path.length <= 2){
             patrol = MoveBehavior.STATIONARY;
             return;
@@ -342,46 +336,48 @@ public class BirdHazard extends ComplexObstacle implements HazardModel, Drawable
         this.currentPathIndex = 0;
     }
 
-    public BirdHazard(JsonValue data, int birdDamage, int birdSensorRadius, float birdKnockBack, Music sfx) {
-        super(data.getFloat("x"), data.getFloat("y"));
+    public BirdHazard(BirdSpec spec, int birdDamage, int birdSensorRadius, float birdKnockBack, Music sfx) {
+        super(spec.x, spec.y);
 
         // this is the bounding box dimensions of the texture that contains all animation frames.
         // aabb = [x,y, width, height] where x,y is relative to bird coordinate
-        float[] aabb = data.get("AABB").asFloatArray();
+        float[] aabb = spec.aabb;
         boxCoordinate.x = aabb[0];
         boxCoordinate.y = aabb[1];
         dimensions.x = aabb[2];
         dimensions.y = aabb[3];
-        filmStripSize.x = data.getInt("filmStripWidth");
-        filmStripSize.y = data.getInt("filmStripHeight");
+        filmStripSize.x = spec.filmStripWidth;
+        filmStripSize.y = spec.filmStripHeight;
 
         // set remaining properties
-        depth = data.getInt("depth");
-        path = data.get("path").asFloatArray();
-        setPath(data.get("path").asFloatArray(), data.getInt("loopTo", -1));
-        attack = data.getBoolean("attack");
-        moveSpeed = data.getFloat("movespeed");
-
-        color = convertToColor(data.getString("color"));
-        faceRight = data.getBoolean("facing_right");
-        attackSpeed = data.getFloat("atkspeed");
+        depth = spec.depth;
+        setPath(spec.path, spec.loopTo);
+        attack = spec.attack;
+        moveSpeed = spec.moveSpeed;
+
+        color = convertToColor(spec.color);
+        faceRight = spec.facingRight;
+        attackSpeed = spec.attackSpeed;
         sensorRadius = birdSensorRadius;
         currentPathIndex = 0;
         attackWait = ATTACK_WAIT_TIME;
         seesTarget = false;
+        nextRay = 0;
+        asleep = false;
         damage = birdDamage;
         knockBackScl = birdKnockBack;
 //        setKB = true;
         warning = false;
 
         // make hit-box objects
-        float x = data.getFloat("x");
-        float y = data.getFloat("y");
-        float[] shape = data.get("points").asFloatArray();
-        PolygonObstacle hit1 = new PolygonObstacle( shape, x, y);
-        // flip points and make hit-box #2:
+        float x = spec.x;
+        float y = spec.y;
+        PolygonObstacle hit1 = new PolygonObstacle(spec.points, x, y);
+        // flip points (the spec is shared, so flip a copy) and make hit-box #2:
+        float[] shape = new float[spec.points.length];
         for (int idx = 0; idx < shape.length; idx+=2){
-            shape[idx] = -shape[idx];
+            shape[idx] = -spec.points[idx];
+            shape[idx+1] = spec.points[idx+1];
         }
         PolygonObstacle hit2 = new PolygonObstacle(shape, x, y);
         // now figure out which of the above is left/right hitbox
@@ -454,34 +450,162 @@ public class BirdHazard extends ComplexObstacle implements HazardModel, Drawable
             followingPath = false;
         }
         if (Math.abs(deltaX) < .001 && Math.abs(deltaY) < .001){
-            // determine next point to move to
-            switch (patrol){
-                case FORWARD:
-                    // end of forward path, time to reverse
-                    if (currentPathIndex == path.length - 2){
-                        patrol = MoveBehavior.REVERSE;
-                        currentPathIndex -= 2;
-                    }
-                    else currentPathIndex += 2;
-                    break;
-                case REVERSE:
-                    // end of backwards path
-                    if (currentPathIndex == 0){
-                        patrol = MoveBehavior.FORWARD;
-                        currentPathIndex += 2;
-                    }
-                    else currentPathIndex -= 2;
-                    break;
-                case LOOP:
-                    if (currentPathIndex == path.length - 2 ){
-                        currentPathIndex = 2 * loopTo;
-                    }
-                    else currentPathIndex += 2;
-                    break;
-                case STATIONARY:
-                    break;
+            advancePathIndex();
+        }
+    }
+
+    /**
+     * moves on to the next point of the path, according to the patrolling behavior.
+     */
+    private void advancePathIndex(){
+        switch (patrol){
+            case FORWARD:
+                // end of forward path, time to reverse
+                if (currentPathIndex == path.length - 2){
+                    patrol = MoveBehavior.REVERSE;
+                    currentPathIndex -= 2;
+                }
+                else currentPathIndex += 2;
+                break;
+            case REVERSE:
+                // end of backwards path
+                if (currentPathIndex == 0){
+                    patrol = MoveBehavior.FORWARD;
+                    currentPathIndex += 2;
+                }
+                else currentPathIndex -= 2;
+                break;
+            case LOOP:
+                if (currentPathIndex == path.length - 2 ){
+                    currentPathIndex = 2 * loopTo;
+                }
+                else currentPathIndex += 2;
+                break;
+            case STATIONARY:
+                break;
+        }
+    }
+
+    /**
+     * advances the patrol by the given number of steps, computing where the bird ends up directly from the
+     * lengths of the path segments instead of moving it step by step. The result matches the same number of
+     * patrol() steps up to rounding.
+     * @param steps number of steps to skip
+     */
+    private void skipPatrol(int steps){
+        float step = moveSpeed / 100f;
+        if (step <= 0 || !followingPath){
+            return;
+        }
+        float x = getX();
+        float y = getY();
+        boolean right = faceRight;
+        // state after visiting as many points as the path has, from then on the patrol repeats itself
+        int visited = 0;
+        int markIndex = -1;
+        MoveBehavior markPatrol = null;
+        int markSteps = 0;
+        while (steps > 0){
+            float pathX = path[currentPathIndex];
+            float pathY = path[currentPathIndex + 1];
+            float deltaX = pathX - x;
+            float deltaY = pathY - y;
+            float dist = (float) Math.sqrt(deltaX * deltaX + deltaY * deltaY);
+            if (deltaX != 0){
+                right = deltaX > 0;
+            }
+            // patrol() moves on once both coordinates are within .001 of the point (one more step)
+            int segmentSteps = 1;
+            if (dist > 0){
+                float reached = .001f * dist / Math.max(Math.abs(deltaX), Math.abs(deltaY));
+                if (dist >= reached){
+                    segmentSteps = (int) ((dist - reached) / step) + 2;
+                }
+            }
+            if (steps < segmentSteps){
+                float remaining = dist - steps * step;
+                if (remaining <= 0){
+                    x = pathX;
+                    y = pathY;
+                }
+                else {
+                    x = pathX - deltaX / dist * remaining;
+                    y = pathY - deltaY / dist * remaining;
+                }
+                break;
+            }
+            steps -= segmentSteps;
+            x = pathX;
+            y = pathY;
+            if (patrol == MoveBehavior.STATIONARY){
+                break;
+            }
+            advancePathIndex();
+            visited++;
+            if (visited == path.length / 2){
+                markIndex = currentPathIndex;
+                markPatrol = patrol;
+                markSteps = steps;
+            }
+            else if (currentPathIndex == markIndex && patrol == markPatrol){
+                // skip whole rounds of the patrol
+                steps %= markSteps - steps;
+                markIndex = -1;
             }
         }
+        faceRight = right;
+        setPosition(x, y);
+    }
+
+    /**
+     * puts the bird to sleep: its bodies are deactivated and its patrol is no longer simulated.
+     */
+    void sleep(){
+        asleep = true;
+        sleptSteps = 0;
+        for (Obstacle o : bodies){
+            o.setActive(false);
+        }
+    }
+
+    /**
+     * wakes the bird up, moving it to where its patrol would have taken it while it was asleep.
+     */
+    void wake(){
+        asleep = false;
+        skipPatrol(sleptSteps);
+        sleptSteps = 0;
+        // the bird jumps to its caught-up position, it must not be drawn sliding there from where it fell asleep
+        savePreviousState();
+        for (Obstacle o : bodies){
+            o.savePreviousState();
+        }
+        // left facing hit-box first, see activatePhysics()
+        bodies.get(0).setActive(!faceRight);
+        bodies.get(1).setActive(faceRight);
+    }
+
+    /**
+     * @return whether the bird may be put to sleep while it is far away: it patrols its path and has not
+     * spotted its target.
+     */
+    boolean canSleep(){
+        return followingPath && !seesTarget && !warning && !color.equals(BirdColor.BLUE);
+    }
+
+    /**
+     * computes the bounds of every AABB this bird can have while patrolling (its path and its current position).
+     * @param out the rectangle to store the bounds in
+     * @return out
+     */
+    Rectangle getPatrolBounds(Rectangle out){
+        float minX = Math.min(pathBounds[0], getX());
+        float minY = Math.min(pathBounds[1], getY());
+        float maxX = Math.max(pathBounds[2], getX());
+        float maxY = Math.max(pathBounds[3], getY());
+        // the AABB corner is the top left corner
+        return out.set(minX + boxCoordinate.x, minY + boxCoordinate.y - dimensions.y,
+                maxX - minX + dimensions.x, maxY - minY + dimensions.y);
     }
 
     public void move() {
@@ -544,7 +668,7 @@ public class BirdHazard extends ComplexObstacle implements HazardModel, Drawable
         if (!seesTarget && moveSpeed == 0){
             // not angry + not moving => still
             canvas.draw(birdRegion, Color.WHITE, stillFrame.getRegionWidth() / 2f, birdRegion.getRegionHeight() / 2f,
-                    (getX()) * drawScale.x, (getY()) * drawScale.y, getAngle(),
+                    getDrawX() * drawScale.x, getDrawY() * drawScale.y, getDrawAngle(),
                     effect * dimensions.x / birdRegion.getRegionWidth() * drawScale.x,
                     dimensions.y / birdRegion.getRegionHeight() * drawScale.y);
         }
@@ -558,7 +682,7 @@ public class BirdHazard extends ComplexObstacle implements HazardModel, Drawable
             }
 
             canvas.draw(birdRegion, Color.WHITE, birdRegion.getRegionWidth() / 2f, birdRegion.getRegionHeight() / 2f,
-                    (getX()) * drawScale.x, (getY()) * drawScale.y, getAngle(),
+                    getDrawX() * drawScale.x, getDrawY() * drawScale.y, getDrawAngle(),
                     effect * dimensions.x / birdRegion.getRegionWidth() * drawScale.x,
                     dimensions.y / birdRegion.getRegionHeight() * drawScale.y);
         }
@@ -570,7 +694,7 @@ public class BirdHazard extends ComplexObstacle implements HazardModel, Drawable
             int flip = faceRight ? 1 : -1;
             float eye = color == BirdColor.BLUE ? 7.5f : 6f;
             canvas.draw(warningRegion, Color.WHITE, warningRegion.getRegionWidth()/2f, warningRegion.getRegionHeight()/2f,
-                    (getX()) * drawScale.x + flip*birdRegion.getRegionWidth()/eye, (getY()) * drawScale.y, getAngle(),
+                    getDrawX() * drawScale.x + flip*birdRegion.getRegionWidth()/eye, getDrawY() * drawScale.y, getDrawAngle(),
                     dimensions.x/birdRegion.getRegionWidth() * drawScale.x,
                     dimensions.y/birdRegion.getRegionHeight() * drawScale.y);
             }
@@ -593,9 +717,11 @@ public class BirdHazard extends ComplexObstacle implements HazardModel, Drawable
 
 
         if (attack) {
-            CircleShape sensorShape = new CircleShape();
-            sensorShape.setRadius(sensorRadius);
-            canvas.drawPhysics(sensorShape, Color.RED, getX(), getY(), drawScale.x, drawScale.y);
+            if (sensorDebugShape == null) {
+                sensorDebugShape = new CircleShape();
+            }
+            sensorDebugShape.setRadius(sensorRadius);
+            canvas.drawPhysics(sensorDebugShape, Color.RED, getX(), getY(), drawScale.x, drawScale.y);
             //CAN CRASH THE GAME
             //JUST FOR VISUALIZATION
             /*
@@ -0,0 +1,256 @@
+package com.mygdx.game.model.hazard;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.Body;
+import com.badlogic.gdx.physics.box2d.CircleShape;
+import com.badlogic.gdx.physics.box2d.Fixture;
+import com.badlogic.gdx.physics.box2d.PolygonShape;
+import com.badlogic.gdx.physics.box2d.Shape;
+import com.badlogic.gdx.physics.box2d.Transform;
+import com.badlogic.gdx.physics.box2d.World;
+import com.badlogic.gdx.utils.Array;
+import com.mygdx.game.utility.obstacle.Obstacle;
+import com.mygdx.game.utility.util.OcclusionGrid;
+
+/**
+ * Line of sight checks of attacking birds. <br>
+ * Every bird that can currently attack its target scans it with a fan of RAYS_PER_BIRD rays. Birds are queued
+ * with request() during the bird update, then cast() sends out at most rayBudget rays in total. Birds that do
+ * not get all their rays in one step continue their fan in the next steps, starting with the birds that were
+ * left out, so a level with many birds spreads its ray casts over several steps instead of spiking. <br>
+ * Box2D is only asked about rays that can matter: a ray that misses the target's bounds cannot see it, and a
+ * ray that enters solid static geometry (the level's OcclusionGrid) before reaching those bounds is blocked.
+ * The remaining rays are cut right behind the target before being cast, which gives the same result as
+ * casting the full ray.
+ */
+public class BirdPerception {
+
+    /** number of rays in the fan of a bird */
+    public static final int RAYS_PER_BIRD = 5;
+
+    /** default maximum number of rays per step */
+    public static final int DEFAULT_RAY_BUDGET = 20;
+
+    /** margin (game units) added around the target's bounds */
+    private static final float BOUNDS_MARGIN = 0.05f;
+
+    /** maximum number of rays per step */
+    private int rayBudget = DEFAULT_RAY_BUDGET;
+
+    /** birds waiting for their line of sight check this step */
+    private final Array<BirdHazard> requests = new Array<>();
+
+    /** birds that spotted the target during the last cast() */
+    private final Array<BirdHazard> spotted = new Array<>();
+
+    /** index of the request served first (the first one left out last step) */
+    private int rotation;
+
+    /** number of rays cast during the last cast() */
+    private int raysCast;
+
+    /** the reused ray cast callback */
+    private final BirdRayCastCallback callback = new BirdRayCastCallback();
+
+    /** caches for ray computations */
+    private final Vector2 direction = new Vector2();
+    private final Vector2 origin = new Vector2();
+    private final Vector2 end = new Vector2();
+    private final Vector2 clipped = new Vector2();
+    private final Vector2 vertex = new Vector2();
+
+    /** fractions of the current ray at which it enters and leaves targetBounds */
+    private float boundsEnter, boundsExit;
+
+    /** world bounds of the target's fixtures during the current cast() */
+    private final Rectangle targetBounds = new Rectangle();
+
+    /** @return maximum number of rays per step */
+    public int getRayBudget() {
+        return rayBudget;
+    }
+
+    /**
+     * sets the maximum number of rays cast per step.
+     * @param budget number of rays, at least 1
+     */
+    public void setRayBudget(int budget) {
+        rayBudget = Math.max(1, budget);
+    }
+
+    /** @return number of rays cast during the last cast() */
+    public int getRaysCast() {
+        return raysCast;
+    }
+
+    /**
+     * queues a line of sight check of the bird for this step. Birds that already see their target are ignored.
+     * @param bird an attacking bird whose target is within its sensor radius
+     */
+    public void request(BirdHazard bird) {
+        if (!bird.seesTarget) {
+            requests.add(bird);
+        }
+    }
+
+    /**
+     * casts the rays of the queued birds, within the ray budget, and clears the queue.
+     * @param world the Box2D world
+     * @param occlusion the static geometry of the level
+     * @param target the obstacle the birds are looking for
+     * @return birds that spotted the target (reused array, valid until the next call)
+     */
+    public Array<BirdHazard> cast(World world, OcclusionGrid occlusion, Obstacle target) {
+        spotted.clear();
+        raysCast = 0;
+        int count = requests.size;
+        if (count > 0) {
+            computeBounds(target.getBody());
+        }
+        int first = count == 0 ? 0 : rotation % count;
+        rotation = 0;
+        for (int ii = 0; ii < count; ii++) {
+            int index = (first + ii) % count;
+            BirdHazard bird = requests.get(index);
+            if (castRays(world, occlusion, bird, target)) {
+                spotted.add(bird);
+            }
+            if (raysCast == rayBudget) {
+                // out of rays, the first bird that did not finish its fan goes first next step
+                rotation = bird.nextRay != 0 ? index : index + 1;
+                break;
+            }
+        }
+        requests.clear();
+        return spotted;
+    }
+
+    /**
+     * continues the ray fan of the bird, until the fan is complete, the target is seen or no rays are left.
+     * @return whether the bird saw the target
+     */
+    private boolean castRays(World world, OcclusionGrid occlusion, BirdHazard bird, Obstacle target) {
+        float bx = bird.getX();
+        float by = bird.getY();
+        float px = target.getX();
+        float py = target.getY();
+        direction.set(px, py);
+        direction.sub(bx, by);
+        direction.nor();
+
+        //adapted from https://stackoverflow.com/questions/6247153/angle-from-2d-unit-vector
+        float angle;
+        if (direction.x == 0) {
+            angle = (direction.y > 0) ? (float) Math.PI / 2 : (direction.y == 0) ? 0 : 3 * (float) Math.PI / 2;
+        } else if (direction.y == 0) {
+            angle = (direction.x >= 0) ? 0 : (float) Math.PI;
+        } else {
+            angle = (float) Math.atan(direction.y / direction.x);
+            if (direction.x < 0 && direction.y < 0) // quadrant Ⅲ
+                angle += Math.PI;
+            else if (direction.x < 0) // quadrant Ⅱ
+                angle += Math.PI;
+            else if (direction.y < 0) // quadrant Ⅳ
+                angle += 2 * Math.PI;
+        }
+
+        origin.set(bx, by);
+        while (raysCast < rayBudget) {
+            int i = bird.nextRay;
+            bird.nextRay = (i + 1) % RAYS_PER_BIRD;
+            raysCast++;
+            end.set(bx + bird.getSensorRadius(), by).rotateAroundRad(origin,
+                    angle - (float) (Math.PI / 16) + (float) (Math.PI / 8) * i / RAYS_PER_BIRD);
+            if (clipToBounds()) {
+                // a hit on solid static geometry before the target's bounds hides the target
+                float blocked = occlusion.firstHit(origin.x, origin.y, end.x, end.y);
+                if (blocked == 0 || blocked >= boundsEnter - BirdRayCastCallback.TIE_TOLERANCE) {
+                    // hits behind the target cannot change the outcome
+                    float scale = Math.min(1, boundsExit + 2 * (float) BirdRayCastCallback.TIE_TOLERANCE);
+                    clipped.set(origin).lerp(end, scale);
+                    callback.reset(target, scale);
+                    world.rayCast(callback, origin, clipped);
+                    if (callback.sawTarget()) {
+                        bird.nextRay = 0;
+                        return true;
+                    }
+                }
+            }
+            if (bird.nextRay == 0) {
+                // fan complete
+                return false;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * clips the ray from origin to end against targetBounds (slab test).
+     * @return whether the ray crosses the bounds, in which case boundsEnter and boundsExit are set
+     */
+    private boolean clipToBounds() {
+        float dx = end.x - origin.x;
+        float dy = end.y - origin.y;
+        float enter = 0;
+        float exit = 1;
+        if (dx != 0) {
+            float ta = (targetBounds.x - origin.x) / dx;
+            float tb = (targetBounds.x + targetBounds.width - origin.x) / dx;
+            enter = Math.max(enter, Math.min(ta, tb));
+            exit = Math.min(exit, Math.max(ta, tb));
+        } else if (origin.x < targetBounds.x || origin.x > targetBounds.x + targetBounds.width) {
+            return false;
+        }
+        if (dy != 0) {
+            float ta = (targetBounds.y - origin.y) / dy;
+            float tb = (targetBounds.y + targetBounds.height - origin.y) / dy;
+            enter = Math.max(enter, Math.min(ta, tb));
+            exit = Math.min(exit, Math.max(ta, tb));
+        } else if (origin.y < targetBounds.y || origin.y > targetBounds.y + targetBounds.height) {
+            return false;
+        }
+        boundsEnter = enter;
+        boundsExit = exit;
+        return enter <= exit;
+    }
+
+    /** loads the world AABB of the body's fixtures into targetBounds */
+    private void computeBounds(Body body) {
+        Transform transform = body.getTransform();
+        float minX = Float.POSITIVE_INFINITY;
+        float minY = Float.POSITIVE_INFINITY;
+        float maxX = Float.NEGATIVE_INFINITY;
+        float maxY = Float.NEGATIVE_INFINITY;
+        for (Fixture fixture : body.getFixtureList()) {
+            Shape shape = fixture.getShape();
+            if (shape.getType() == Shape.Type.Polygon) {
+                PolygonShape polygon = (PolygonShape) shape;
+                for (int ii = 0; ii < polygon.getVertexCount(); ii++) {
+                    polygon.getVertex(ii, vertex);
+                    transform.mul(vertex);
+                    minX = Math.min(minX, vertex.x);
+                    maxX = Math.max(maxX, vertex.x);
+                    minY = Math.min(minY, vertex.y);
+                    maxY = Math.max(maxY, vertex.y);
+                }
+            } else {
+                // circles (and anything else) by their bounding circle around the body
+                float r = shape.getRadius();
+                if (shape.getType() == Shape.Type.Circle) {
+                    vertex.set(((CircleShape) shape).getPosition());
+                } else {
+                    vertex.setZero();
+                }
+                transform.mul(vertex);
+                minX = Math.min(minX, vertex.x - r);
+                maxX = Math.max(maxX, vertex.x + r);
+                minY = Math.min(minY, vertex.y - r);
+                maxY = Math.max(maxY, vertex.y + r);
+            }
+        }
+        // small margin so that rays grazing the target still reach Box2D
+        float margin = BOUNDS_MARGIN;
+        targetBounds.set(minX - margin, minY - margin, maxX - minX + 2 * margin, maxY - minY + 2 * margin);
+    }
+}
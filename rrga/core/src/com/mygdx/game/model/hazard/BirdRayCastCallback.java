@@ -3,30 +3,83 @@ package com.mygdx.game.model.hazard;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.physics.box2d.Fixture;
 import com.badlogic.gdx.physics.box2d.RayCastCallback;
-import com.badlogic.gdx.utils.ObjectMap;
-import com.badlogic.gdx.utils.ObjectSet;
 import com.mygdx.game.model.NewWindModel;
-import com.mygdx.game.model.PlayerModel;
 import com.mygdx.game.model.UmbrellaModel;
 import com.mygdx.game.model.WindModel;
 
-import java.util.SortedMap;
-
+/**
+ * Closest-hit ray cast for bird line of sight. <br>
+ * See-through objects are ignored; of the remaining fixtures, only the closest hit and the closest hit on the
+ * target are tracked (no per-hit storage). The ray is clipped right behind the closest hit so that Box2D stops
+ * reporting fixtures that cannot matter. The callback is meant to be reused: call reset() before every ray.
+ */
 public class BirdRayCastCallback implements RayCastCallback {
 
-    public ObjectMap<Fixture, Float> collisions = new ObjectMap<>();
+    /** a target hit within this fraction of the closest hit counts as being the closest hit */
+    public static final double TIE_TOLERANCE = 0.001;
+
+    /** user data of the body that is looked for */
+    private Object target;
+
+    /** fraction of the closest hit so far */
+    private float closest;
+
+    /** fraction of the closest hit on the target so far */
+    private float targetFraction;
 
+    /** whether the target has been hit at all */
+    private boolean targetHit;
+
+    /** length of the cast ray as a fraction of the full ray (fractions are reported relative to the full ray) */
+    private float scale;
+
+    /**
+     * returns whether birds can see through the body with the given user data.
+     * @param data the user data of a body
+     * @return whether the body never blocks the sight of birds
+     */
+    public static boolean isSeeThrough(Object data) {
+        //add see-through objects here
+        return data instanceof UmbrellaModel ||
+                data instanceof WindModel ||
+                data instanceof NewWindModel ||
+                data instanceof LightningHazard ||
+                data instanceof BirdHazard;
+    }
+
+    /**
+     * prepares the callback for a new ray.
+     * @param target user data of the body that is looked for
+     * @param scale fraction of the full ray that is actually cast (hits further away cannot matter)
+     */
+    public void reset(Object target, float scale) {
+        this.target = target;
+        this.scale = scale;
+        closest = 1;
+        targetFraction = 1;
+        targetHit = false;
+    }
+
+    /** @return whether the closest hit of the last ray was the target (up to TIE_TOLERANCE) */
+    public boolean sawTarget() {
+        return targetHit && Math.abs(targetFraction - closest) < TIE_TOLERANCE;
+    }
 
     @Override
     public float reportRayFixture(Fixture fixture, Vector2 v1, Vector2 v2, float v) {
-        //add see-through objects here
-        if (!(fixture.getBody().getUserData() instanceof UmbrellaModel) &&
-                !(fixture.getBody().getUserData() instanceof WindModel) &&
-                !(fixture.getBody().getUserData() instanceof NewWindModel) &&
-                !(fixture.getBody().getUserData() instanceof LightningHazard) &&
-                !(fixture.getBody().getUserData() instanceof BirdHazard)) {
-            collisions.put(fixture, v);
+        Object data = fixture.getBody().getUserData();
+        if (isSeeThrough(data)) {
+            return -1;
+        }
+        v *= scale;
+        if (v < closest) {
+            closest = v;
+        }
+        if (data == target && (!targetHit || v < targetFraction)) {
+            targetFraction = v;
+            targetHit = true;
         }
-        return 1;
+        // keep reporting hits that may tie with the closest one
+        return Math.min(1, (closest + 2 * (float) TIE_TOLERANCE) / scale);
     }
 }
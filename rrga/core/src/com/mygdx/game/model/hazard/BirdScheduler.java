@@ -0,0 +1,89 @@
+package com.mygdx.game.model.hazard;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.mygdx.game.utility.obstacle.Obstacle;
+
+/**
+ * Decides which birds get their full update every step. <br>
+ * A patrolling bird whose whole patrol (path and AABB) is far from the target and outside of the view cannot
+ * see the target, hit it or be seen, so it is put to sleep: its bodies are deactivated and its patrol is not
+ * simulated. Once the target or the view gets close to its patrol again, the bird is woken up and placed where
+ * its patrol would have taken it (computed from the path, see BirdHazard.skipPatrol). Attacking birds, birds
+ * that left their path and nested birds are always simulated.
+ */
+public class BirdScheduler {
+
+    /** distance (game units) kept between the patrol of a sleeping bird and the target's detection range or the view */
+    public static final float WAKE_MARGIN = 4f;
+
+    /** the visible part of the level */
+    private final Rectangle view = new Rectangle();
+
+    /** whether the view has been set (without a view, e.g. headless, only the target wakes birds up) */
+    private boolean hasView;
+
+    /** cache for patrol bounds */
+    private final Rectangle patrolBounds = new Rectangle();
+
+    /**
+     * sets the visible part of the level, birds whose patrol is in view are never asleep.
+     * @param x camera center x (game units)
+     * @param y camera center y (game units)
+     * @param halfWidth half of the view width (game units)
+     * @param halfHeight half of the view height (game units)
+     */
+    public void setView(float x, float y, float halfWidth, float halfHeight) {
+        view.set(x - halfWidth, y - halfHeight, 2 * halfWidth, 2 * halfHeight);
+        hasView = true;
+    }
+
+    /**
+     * puts the bird to sleep or wakes it up for this step.
+     * @param bird the bird to schedule
+     * @param target the obstacle the birds are looking for
+     * @param bounds the bounds of the level (birds whose patrol leaves them are always simulated)
+     * @return whether the bird is awake and needs its full update this step
+     */
+    public boolean update(BirdHazard bird, Obstacle target, Rectangle bounds) {
+        if (!bird.asleep && !bird.canSleep()) {
+            return true;
+        }
+        boolean near = isNear(bird, target, bounds);
+        if (bird.asleep) {
+            if (near) {
+                bird.wake();
+                return true;
+            }
+            bird.sleptSteps++;
+            return false;
+        }
+        if (!near) {
+            bird.sleep();
+            return false;
+        }
+        return true;
+    }
+
+    /** @return whether any part of the bird's patrol is close to the target, the view or the level's edge */
+    private boolean isNear(BirdHazard bird, Obstacle target, Rectangle bounds) {
+        bird.getPatrolBounds(patrolBounds);
+        float left = patrolBounds.x;
+        float bottom = patrolBounds.y;
+        float right = patrolBounds.x + patrolBounds.width;
+        float top = patrolBounds.y + patrolBounds.height;
+
+        // birds outside of the level are removed (see GameplayController.update)
+        if (right - bird.getWidth() >= bounds.width + 20 || bottom + bird.getHeight() < 0
+                || left + bird.getWidth() <= -20 || top - bird.getHeight() > bounds.height * bounds.height) {
+            return true;
+        }
+
+        float range = bird.getSensorRadius() + WAKE_MARGIN;
+        if (target.getX() > left - range && target.getX() < right + range
+                && target.getY() > bottom - range && target.getY() < top + range) {
+            return true;
+        }
+        return hasView && view.x - WAKE_MARGIN < right && view.x + view.width + WAKE_MARGIN > left
+                && view.y - WAKE_MARGIN < top && view.y + view.height + WAKE_MARGIN > bottom;
+    }
+}
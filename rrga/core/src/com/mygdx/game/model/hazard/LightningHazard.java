@@ -4,8 +4,8 @@ import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.physics.box2d.BodyDef;
 import com.badlogic.gdx.physics.box2d.World;
-import com.badlogic.gdx.utils.JsonValue;
 import com.mygdx.game.GameCanvas;
+import com.mygdx.game.model.spec.LightningSpec;
 import com.mygdx.game.utility.util.Drawable;
 
 /**
@@ -13,8 +13,6 @@ import com.mygdx.game.utility.util.Drawable;
  */
 public class LightningHazard extends PolygonHazard implements Drawable {
 
-    private static final int DEFAULT_STRIKE_DURATION = 100;
-
     /** How long a lightning strike lasts */
     private final int strikeDuration;
 
@@ -24,6 +22,9 @@ public class LightningHazard extends PolygonHazard implements Drawable {
     /** How much longer the lightning will wait for until striking */
     private int waitTimer;
 
+    /** Ticks added to the first wait so that bolts are out of phase */
+    private final int initialTimerOffset;
+
     /** How much longer the lightning will strike for.
      * -1 if not currently striking */
     private int strikeTimer;
@@ -33,17 +34,18 @@ public class LightningHazard extends PolygonHazard implements Drawable {
 
     private final Vector2 temp = new Vector2();
 
-    public LightningHazard(JsonValue data, int dmg, float knockBack) {
-        super(data, dmg, knockBack);
+    public LightningHazard(LightningSpec spec, int dmg, float knockBack) {
+        super(spec.x, spec.y, spec.points, dmg, knockBack);
         setBodyType(BodyDef.BodyType.StaticBody);
         setDensity(0);
         setFriction(0);
         setRestitution(0);
-        waitDuration = data.getInt("strike_timer");
-        waitTimer = waitDuration + data.getInt("initial_timer_offset");
-        strikeDuration = data.getInt("strike_duration", DEFAULT_STRIKE_DURATION);
+        waitDuration = spec.strikeTimer;
+        initialTimerOffset = spec.initialTimerOffset;
+        waitTimer = waitDuration + initialTimerOffset;
+        strikeDuration = spec.strikeDuration;
         strikeTimer = -1;
-        depth = data.getInt("depth");
+        depth = spec.depth;
     }
 
     @Override
@@ -53,6 +55,15 @@ public class LightningHazard extends PolygonHazard implements Drawable {
         return result;
     }
 
+    /**
+     * rewinds this lightning to the start of its first wait, like a freshly created bolt.
+     */
+    public void restart() {
+        setActive(false);
+        waitTimer = waitDuration + initialTimerOffset;
+        strikeTimer = -1;
+    }
+
     public void draw(GameCanvas canvas) {
         if(isActive()) {
             super.draw(canvas);
@@ -5,8 +5,9 @@ import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Vector2;
-import com.badlogic.gdx.utils.JsonValue;
 import com.mygdx.game.GameCanvas;
+import com.mygdx.game.model.spec.BirdSpec;
+import com.mygdx.game.model.spec.NestSpec;
 import com.mygdx.game.utility.obstacle.PolygonObstacle;
 import com.mygdx.game.utility.util.Drawable;
 import com.mygdx.game.utility.util.PooledList;
@@ -16,8 +17,8 @@ public class NestHazard extends PolygonObstacle implements Drawable {
     private final float[] path;
     private final int spawnDelay;
 
-    /** blue bird json data for bird initializer*/
-    private final JsonValue blueBirdData;
+    /** blue bird spec for bird initializer*/
+    private final BirdSpec blueBirdSpec;
 
     private final float birdSpeed;
 
@@ -32,47 +33,37 @@ public class NestHazard extends PolygonObstacle implements Drawable {
 
     private final boolean visible;
 
-    public NestHazard(JsonValue nestData, JsonValue blueBirdData) {
-        super(nestData.get("points").asFloatArray(), nestData.getFloat("x"), nestData.getFloat("y"));
+    public NestHazard(NestSpec spec, BirdSpec blueBirdSpec) {
+        super(spec.points, spec.x, spec.y);
         setGravityScale(0);
         setDensity(0);
         setFriction(0);
         setRestitution(0);
         setSensor(true);
-        this.blueBirdData = blueBirdData;
-        this.path = nestData.get("path").asFloatArray();
-        birdSpeed = nestData.getFloat("bird_speed");
-        spawnDelay = nestData.getInt("spawn_delay");
-        visible = nestData.getBoolean("visible");
+        this.blueBirdSpec = blueBirdSpec;
+        // own copy, the first point is moved below
+        this.path = spec.path.clone();
+        birdSpeed = spec.birdSpeed;
+        spawnDelay = spec.spawnDelay;
+        visible = spec.visible;
 
         // load Drawable-necessary information
-        float[] aabb = nestData.get("AABB").asFloatArray();
+        float[] aabb = spec.aabb;
         boxCoordinate.x = aabb[0];
         boxCoordinate.y = aabb[1];
         dimensions.x = aabb[2];
         dimensions.y = aabb[3];
-        drawDepth = nestData.getInt("depth");
+        drawDepth = spec.depth;
 
         // offset bird upwards so bird rests on nests
         this.path[1] = getY() + 0.5f * dimensions.y;
     }
 
     /**
-     * NOTE: for correctness, this data needs to be consumed immediately because there's shared data between nests.
-     * @return blue nested bird initializer data
+     * @return blue nested bird spec, placed at the start of this nest's path
      */
-    public JsonValue getBirdInitializerData(){
-        // update blue bird data with essential properties before returning
-        // no need to set real speed. bird will be stationary until spawn is over.
-        blueBirdData.remove("movespeed");
-        blueBirdData.addChild("movespeed", new JsonValue(birdSpeed));
-        blueBirdData.remove("x");
-        blueBirdData.remove("y");
-        blueBirdData.addChild("x", new JsonValue(path[0]));
-        blueBirdData.addChild("y", new JsonValue(path[1]));
-        blueBirdData.remove("depth");
-        blueBirdData.addChild("depth", new JsonValue(drawDepth));
-        return blueBirdData;
+    public BirdSpec getBirdSpec(){
+        return blueBirdSpec.placedAt(path[0], path[1], birdSpeed, drawDepth);
     }
 
     public float getBirdSpeed(){
@@ -3,7 +3,6 @@ package com.mygdx.game.model.hazard;
 import com.badlogic.gdx.audio.Music;
 import com.badlogic.gdx.audio.Sound;
 import com.badlogic.gdx.graphics.Color;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.utils.JsonValue;
@@ -33,7 +32,7 @@ public class NestedBirdHazard extends BirdHazard{
     private int currentFrame;
 
     public NestedBirdHazard(NestHazard spawner, int damage, int birdSensorRadius, float birdKnockBack, Music sfx){
-        super(spawner.getBirdInitializerData(), damage, birdSensorRadius, birdKnockBack, sfx);
+        super(spawner.getBirdSpec(), damage, birdSensorRadius, birdKnockBack, sfx);
         this.spawner = spawner;
         spawningDuration = spawner.getSpawnDelay();
         spawningCountDown = 0;
@@ -56,7 +55,7 @@ public class NestedBirdHazard extends BirdHazard{
         super.setPath(path, -1);
     }
 
-    public void setSpawnAnimation(Texture texture, int rows, int columns){
+    public void setSpawnAnimation(TextureRegion texture, int rows, int columns){
         this.spawnFilmStrip = new FilmStrip(texture, rows, columns);
         totalFrameCount = rows * columns;
         currentFrame = 0;
@@ -71,7 +70,7 @@ public class NestedBirdHazard extends BirdHazard{
                 Vector2 dimensions = getDimensions();
                 int effect = isFaceRight() ? -1 : 1;
                 canvas.draw(birdRegion, Color.WHITE, birdRegion.getRegionWidth() / 2f, birdRegion.getRegionHeight() / 2f,
-                        (getX()) * drawScale.x, (getY()) * drawScale.y, getAngle(),
+                        getDrawX() * drawScale.x, getDrawY() * drawScale.y, getDrawAngle(),
                         effect * dimensions.x / birdRegion.getRegionWidth() * drawScale.x,
                         dimensions.y / birdRegion.getRegionHeight() * drawScale.y);
             }
@@ -81,6 +80,12 @@ public class NestedBirdHazard extends BirdHazard{
         super.draw(canvas);
     }
 
+    /** nested birds respawn at their nest, they are always simulated */
+    @Override
+    boolean canSleep() {
+        return false;
+    }
+
     @Override
     public void update(float delta) {
         if (spawningCountDown > 0){
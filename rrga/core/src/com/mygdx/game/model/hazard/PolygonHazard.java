@@ -2,7 +2,6 @@ package com.mygdx.game.model.hazard;
 
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.physics.box2d.BodyDef;
-import com.badlogic.gdx.utils.JsonValue;
 import com.mygdx.game.utility.obstacle.PolygonObstacle;
 
 /**
@@ -46,29 +45,16 @@ public class PolygonHazard extends PolygonObstacle implements HazardModel {
     public Vector2 getBoxCoordinate(){ return temp.set(boxCoordinate).add(getX(), getY()); }
 
     /**
-     * constructs a polygonal hazard with the given shape, damage and knock-back values.
-     * The position of the hazard must be retrievable from data as "x" and "y" attributes.
-     * The shape of the hazard is retrieved from data["points"]. This object keeps reference
-     * to kbForce (if not null).
-     * @param data the object data
-     * @param dam the damage that the hazard will do on each contact
-     * @param kb the knock-back scale factor
-     * @param kbForce the knock-back (normalized) force vector
-     */
-    public PolygonHazard(JsonValue data, int dam, float kb, Vector2 kbForce) {
-        this(data.getFloat("x"), data.getFloat("y"), data.get("points").asFloatArray(), dam, kb, kbForce);
-    }
-
-    /**
-     * constructs a polygonal hazard with the given shape, damage and knock-back values.
-     * The position of the hazard must be retrievable from data as "x" and "y" attributes.
-     * The shape of the hazard is retrieved from data["points"].
-     * @param data the object data
+     * constructs a polygonal hazard with the given shape, damage and knock-back values at
+     * the given position (x,y).
+     * @param x the object x-position
+     * @param y the object y-position
+     * @param points the object shape
      * @param dam the damage that the hazard will do on each contact
      * @param kb the knock-back scale factor
      */
-    public PolygonHazard(JsonValue data, int dam, float kb) {
-        this(data, dam, kb, null);
+    public PolygonHazard(float x, float y, float[] points, int dam, float kb) {
+        this(x, y, points, dam, kb, null);
     }
 
 
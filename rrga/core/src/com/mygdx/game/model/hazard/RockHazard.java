@@ -2,8 +2,8 @@ package com.mygdx.game.model.hazard;
 
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.math.Vector2;
-import com.badlogic.gdx.utils.JsonValue;
 import com.mygdx.game.GameCanvas;
+import com.mygdx.game.model.spec.StaticHazardSpec;
 
 public class RockHazard extends StaticHazard{
 
@@ -24,28 +24,25 @@ public class RockHazard extends StaticHazard{
 
     private final boolean flipY;
 
-    public RockHazard(JsonValue data, int dmg, float knockBack){
-        super(data, dmg, knockBack);
-        this.angle = data.getFloat("angle");
-        float[] aabb = data.get("AABB").asFloatArray();
-        size.set(aabb[2], aabb[3]);
-        temp.set(size);
+    public RockHazard(StaticHazardSpec spec, int dmg, float knockBack){
+        super(spec, dmg, knockBack);
+        this.angle = spec.angle;
+        size.set(spec.aabb[2], spec.aabb[3]);
+        dimensions.set(size);
+        boxCoordinate.set(spec.aabb[0], spec.aabb[1]);
         if (this.angle != 0){
             // need to compute new AABB (preferable rotational angles are pi/2, pi, 3pi/2)
             double psin = Math.abs(Math.sin(angle));
             double pcos = Math.abs(Math.cos(angle));
             // set new box dimensions
-            aabb[2] = (float) (temp.y * psin + temp.x * pcos);
-            aabb[3] = (float) (temp.x * psin + temp.y * pcos);
+            dimensions.x = (float) (size.y * psin + size.x * pcos);
+            dimensions.y = (float) (size.x * psin + size.y * pcos);
             // new box left corner (cartesian coordinate, relative to center of sticker)
-            aabb[0] = -aabb[2]/2f;
-            aabb[1] = aabb[3]/2f;
+            boxCoordinate.set(-dimensions.x/2f, dimensions.y/2f);
         }
-        dimensions.set(aabb[2], aabb[3]);
-        boxCoordinate.set(aabb[0],aabb[1]);
         setAngle(angle);
-        flipX = data.getBoolean("flipX");
-        flipY = data.getBoolean("flipY");
+        flipX = spec.flipX;
+        flipY = spec.flipY;
     }
 
     @Override
@@ -2,8 +2,8 @@ package com.mygdx.game.model.hazard;
 
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.physics.box2d.BodyDef;
-import com.badlogic.gdx.utils.JsonValue;
 import com.mygdx.game.GameCanvas;
+import com.mygdx.game.model.spec.StaticHazardSpec;
 import com.mygdx.game.utility.util.Drawable;
 
 /**
@@ -13,13 +13,13 @@ public class StaticHazard extends PolygonHazard implements Drawable {
 
     private final int drawDepth;
 
-    public StaticHazard(JsonValue data, int dmg, float knockBack) {
-        super(data, dmg, knockBack);
+    public StaticHazard(StaticHazardSpec spec, int dmg, float knockBack) {
+        super(spec.x, spec.y, spec.points, dmg, knockBack);
         setBodyType(BodyDef.BodyType.StaticBody);
         setDensity(0);
         setFriction(0);
         setRestitution(0);
-        drawDepth = data.getInt("depth");
+        drawDepth = spec.depth;
     }
 
     // DRAWABLE INTERFACE
@@ -0,0 +1,87 @@
+package com.mygdx.game.model.spec;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Immutable level data of a single bird, produced by the LevelParser.<br>
+ * The arrays are shared by every bird created from this spec and must not be modified.
+ */
+public final class BirdSpec {
+
+    /** initial position (first point of the path) */
+    public final float x;
+    public final float y;
+    /** draw depth */
+    public final int depth;
+    /** bird color (red, blue, green, brown) */
+    public final String color;
+    /** whether the bird attacks the player */
+    public final boolean attack;
+    /** whether the bird initially faces right */
+    public final boolean facingRight;
+    /** size of a single animation frame in pixels */
+    public final int filmStripWidth;
+    public final int filmStripHeight;
+    /** [x, y, width, height] of the bounding box, (x,y) is the top left corner relative to the bird */
+    public final float[] aabb;
+    /** hit-box polygon, relative to the bird */
+    public final float[] points;
+    /** path to follow [x1,y1, x2,y2, ...], starting at the bird's position */
+    public final float[] path;
+    /** path index to loop back to, -1 if the path does not loop */
+    public final int loopTo;
+    public final float moveSpeed;
+    public final float attackSpeed;
+
+    public BirdSpec(float x, float y, int depth, String color, boolean attack, boolean facingRight,
+                    int filmStripWidth, int filmStripHeight, float[] aabb, float[] points, float[] path,
+                    int loopTo, float moveSpeed, float attackSpeed) {
+        this.x = x;
+        this.y = y;
+        this.depth = depth;
+        this.color = color;
+        this.attack = attack;
+        this.facingRight = facingRight;
+        this.filmStripWidth = filmStripWidth;
+        this.filmStripHeight = filmStripHeight;
+        this.aabb = aabb;
+        this.points = points;
+        this.path = path;
+        this.loopTo = loopTo;
+        this.moveSpeed = moveSpeed;
+        this.attackSpeed = attackSpeed;
+    }
+
+    /**
+     * @return a copy of this spec for a bird placed at (x,y) with the given speed and depth
+     */
+    public BirdSpec placedAt(float x, float y, float moveSpeed, int depth){
+        return new BirdSpec(x, y, depth, color, attack, facingRight, filmStripWidth, filmStripHeight,
+                aabb, points, path, loopTo, moveSpeed, attackSpeed);
+    }
+
+    public void write(DataOutputStream out) throws IOException {
+        out.writeFloat(x);
+        out.writeFloat(y);
+        out.writeInt(depth);
+        out.writeUTF(color);
+        out.writeBoolean(attack);
+        out.writeBoolean(facingRight);
+        out.writeInt(filmStripWidth);
+        out.writeInt(filmStripHeight);
+        SpecIO.writeFloats(out, aabb);
+        SpecIO.writeFloats(out, points);
+        SpecIO.writeFloats(out, path);
+        out.writeInt(loopTo);
+        out.writeFloat(moveSpeed);
+        out.writeFloat(attackSpeed);
+    }
+
+    public static BirdSpec read(DataInputStream in) throws IOException {
+        return new BirdSpec(in.readFloat(), in.readFloat(), in.readInt(), in.readUTF(), in.readBoolean(),
+                in.readBoolean(), in.readInt(), in.readInt(), SpecIO.readFloats(in), SpecIO.readFloats(in),
+                SpecIO.readFloats(in), in.readInt(), in.readFloat(), in.readFloat());
+    }
+}
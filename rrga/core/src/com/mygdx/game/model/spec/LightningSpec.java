@@ -0,0 +1,124 @@
+package com.mygdx.game.model.spec;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Immutable level data of a single lightning bolt, produced by the LevelParser.<br>
+ * A bolt is either a still polygon drawn with a fill texture (points) or an animated bolt
+ * (tileIndex, film strip, AABB and one hit-box per frame).
+ * The arrays are shared by every bolt created from this spec and must not be modified.
+ */
+public final class LightningSpec {
+
+    public final float x;
+    public final float y;
+    /** draw depth */
+    public final int depth;
+    /** whether this is a still polygon drawn with a fill texture */
+    public final boolean fillTexture;
+    /** number of frames between strikes */
+    public final int strikeTimer;
+    /** number of frames a strike lasts */
+    public final int strikeDuration;
+    /** number of frames added to the first wait */
+    public final int initialTimerOffset;
+
+    /** polygon of a still bolt (null for animated bolts) */
+    public final float[] points;
+
+    /** index of the animated bolt's texture (animated bolts only) */
+    public final int tileIndex;
+    /** size of a single animation frame in pixels (animated bolts only) */
+    public final int filmStripWidth;
+    public final int filmStripHeight;
+    /** [x, y, width, height] of the bounding box (animated bolts only) */
+    public final float[] aabb;
+    public final boolean flipped;
+    /** hit-box polygon of every animation frame (animated bolts only) */
+    public final float[][] hitboxes;
+
+    /**
+     * creates the spec of a still lightning bolt
+     */
+    public LightningSpec(float x, float y, int depth, int strikeTimer, int strikeDuration, int initialTimerOffset,
+                         float[] points) {
+        this(x, y, depth, true, strikeTimer, strikeDuration, initialTimerOffset, points,
+                0, 0, 0, null, false, null);
+    }
+
+    /**
+     * creates the spec of an animated lightning bolt
+     */
+    public LightningSpec(float x, float y, int depth, int strikeTimer, int strikeDuration, int initialTimerOffset,
+                         int tileIndex, int filmStripWidth, int filmStripHeight, float[] aabb, boolean flipped,
+                         float[][] hitboxes) {
+        this(x, y, depth, false, strikeTimer, strikeDuration, initialTimerOffset, null,
+                tileIndex, filmStripWidth, filmStripHeight, aabb, flipped, hitboxes);
+    }
+
+    private LightningSpec(float x, float y, int depth, boolean fillTexture, int strikeTimer, int strikeDuration,
+                          int initialTimerOffset, float[] points, int tileIndex, int filmStripWidth,
+                          int filmStripHeight, float[] aabb, boolean flipped, float[][] hitboxes) {
+        this.x = x;
+        this.y = y;
+        this.depth = depth;
+        this.fillTexture = fillTexture;
+        this.strikeTimer = strikeTimer;
+        this.strikeDuration = strikeDuration;
+        this.initialTimerOffset = initialTimerOffset;
+        this.points = points;
+        this.tileIndex = tileIndex;
+        this.filmStripWidth = filmStripWidth;
+        this.filmStripHeight = filmStripHeight;
+        this.aabb = aabb;
+        this.flipped = flipped;
+        this.hitboxes = hitboxes;
+    }
+
+    public void write(DataOutputStream out) throws IOException {
+        out.writeFloat(x);
+        out.writeFloat(y);
+        out.writeInt(depth);
+        out.writeBoolean(fillTexture);
+        out.writeInt(strikeTimer);
+        out.writeInt(strikeDuration);
+        out.writeInt(initialTimerOffset);
+        SpecIO.writeFloats(out, points);
+        out.writeInt(tileIndex);
+        out.writeInt(filmStripWidth);
+        out.writeInt(filmStripHeight);
+        SpecIO.writeFloats(out, aabb);
+        out.writeBoolean(flipped);
+        out.writeInt(hitboxes == null ? -1 : hitboxes.length);
+        if (hitboxes != null){
+            for (float[] hitbox : hitboxes){
+                SpecIO.writeFloats(out, hitbox);
+            }
+        }
+    }
+
+    public static LightningSpec read(DataInputStream in) throws IOException {
+        float x = in.readFloat();
+        float y = in.readFloat();
+        int depth = in.readInt();
+        boolean fillTexture = in.readBoolean();
+        int strikeTimer = in.readInt();
+        int strikeDuration = in.readInt();
+        int initialTimerOffset = in.readInt();
+        float[] points = SpecIO.readFloats(in);
+        int tileIndex = in.readInt();
+        int filmStripWidth = in.readInt();
+        int filmStripHeight = in.readInt();
+        float[] aabb = SpecIO.readFloats(in);
+        boolean flipped = in.readBoolean();
+        int count = in.readInt();
+        float[][] hitboxes = count < 0 ? null : new float[count][];
+        for (int ii = 0; ii < count; ii++){
+            hitboxes[ii] = SpecIO.readFloats(in);
+        }
+        return new LightningSpec(x, y, depth, fillTexture, strikeTimer, strikeDuration, initialTimerOffset, points,
+                tileIndex, filmStripWidth, filmStripHeight, aabb, flipped, hitboxes);
+    }
+}
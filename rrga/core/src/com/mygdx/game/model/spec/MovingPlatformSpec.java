@@ -0,0 +1,63 @@
+package com.mygdx.game.model.spec;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Immutable level data of a single moving (cloud) platform, produced by the LevelParser.<br>
+ * The arrays are shared by every platform created from this spec and must not be modified.
+ */
+public final class MovingPlatformSpec {
+
+    public final float x;
+    public final float y;
+    /** draw depth */
+    public final int depth;
+    /** hit-box polygon, relative to the platform */
+    public final float[] points;
+    /** path to follow [x1,y1, x2,y2, ...], starting at the platform's position */
+    public final float[] path;
+    /** path index to loop back to, -1 if the path does not loop */
+    public final int loopTo;
+    public final float moveSpeed;
+    /** index of the cloud texture */
+    public final int tileIndex;
+    /** [x, y, width, height] of the bounding box, (x,y) is the top left corner relative to the platform */
+    public final float[] aabb;
+    /** whether to horizontally flip */
+    public final boolean flipped;
+
+    public MovingPlatformSpec(float x, float y, int depth, float[] points, float[] path, int loopTo, float moveSpeed,
+                              int tileIndex, float[] aabb, boolean flipped) {
+        this.x = x;
+        this.y = y;
+        this.depth = depth;
+        this.points = points;
+        this.path = path;
+        this.loopTo = loopTo;
+        this.moveSpeed = moveSpeed;
+        this.tileIndex = tileIndex;
+        this.aabb = aabb;
+        this.flipped = flipped;
+    }
+
+    public void write(DataOutputStream out) throws IOException {
+        out.writeFloat(x);
+        out.writeFloat(y);
+        out.writeInt(depth);
+        SpecIO.writeFloats(out, points);
+        SpecIO.writeFloats(out, path);
+        out.writeInt(loopTo);
+        out.writeFloat(moveSpeed);
+        out.writeInt(tileIndex);
+        SpecIO.writeFloats(out, aabb);
+        out.writeBoolean(flipped);
+    }
+
+    public static MovingPlatformSpec read(DataInputStream in) throws IOException {
+        return new MovingPlatformSpec(in.readFloat(), in.readFloat(), in.readInt(), SpecIO.readFloats(in),
+                SpecIO.readFloats(in), in.readInt(), in.readFloat(), in.readInt(), SpecIO.readFloats(in),
+                in.readBoolean());
+    }
+}
@@ -0,0 +1,69 @@
+package com.mygdx.game.model.spec;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Immutable level data of a single nest (blue bird spawner), produced by the LevelParser.<br>
+ * The arrays are shared by every nest created from this spec and must not be modified.
+ */
+public final class NestSpec {
+
+    public final float x;
+    public final float y;
+    /** draw depth */
+    public final int depth;
+    /** path of the spawned bird [x1,y1, x2,y2, ...], starting at the nest */
+    public final float[] path;
+    /** whether the nest itself is drawn */
+    public final boolean visible;
+    public final float birdSpeed;
+    /** number of frames a spawned bird stays still */
+    public final int spawnDelay;
+    public final boolean flipX;
+    /** size of a single animation frame in pixels */
+    public final int filmStripWidth;
+    public final int filmStripHeight;
+    /** [x, y, width, height] of the bounding box, (x,y) is the top left corner relative to the nest */
+    public final float[] aabb;
+    /** hit-box polygon, relative to the nest */
+    public final float[] points;
+
+    public NestSpec(float x, float y, int depth, float[] path, boolean visible, float birdSpeed, int spawnDelay,
+                    boolean flipX, int filmStripWidth, int filmStripHeight, float[] aabb, float[] points) {
+        this.x = x;
+        this.y = y;
+        this.depth = depth;
+        this.path = path;
+        this.visible = visible;
+        this.birdSpeed = birdSpeed;
+        this.spawnDelay = spawnDelay;
+        this.flipX = flipX;
+        this.filmStripWidth = filmStripWidth;
+        this.filmStripHeight = filmStripHeight;
+        this.aabb = aabb;
+        this.points = points;
+    }
+
+    public void write(DataOutputStream out) throws IOException {
+        out.writeFloat(x);
+        out.writeFloat(y);
+        out.writeInt(depth);
+        SpecIO.writeFloats(out, path);
+        out.writeBoolean(visible);
+        out.writeFloat(birdSpeed);
+        out.writeInt(spawnDelay);
+        out.writeBoolean(flipX);
+        out.writeInt(filmStripWidth);
+        out.writeInt(filmStripHeight);
+        SpecIO.writeFloats(out, aabb);
+        SpecIO.writeFloats(out, points);
+    }
+
+    public static NestSpec read(DataInputStream in) throws IOException {
+        return new NestSpec(in.readFloat(), in.readFloat(), in.readInt(), SpecIO.readFloats(in), in.readBoolean(),
+                in.readFloat(), in.readInt(), in.readBoolean(), in.readInt(), in.readInt(),
+                SpecIO.readFloats(in), SpecIO.readFloats(in));
+    }
+}
@@ -0,0 +1,87 @@
+package com.mygdx.game.model.spec;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Immutable level data of a single static platform, produced by the LevelParser.<br>
+ * A platform is either an invisible polygon or a textured asset (log, branch, ...).
+ * The arrays are shared by every platform created from this spec and must not be modified.
+ */
+public final class PlatformSpec {
+
+    public final float x;
+    public final float y;
+    /** draw depth */
+    public final int depth;
+    /** hit-box polygon, relative to the platform */
+    public final float[] points;
+    /** whether this platform is drawn with a texture */
+    public final boolean textured;
+
+    /** name of the texture (textured platforms only) */
+    public final String texture;
+    /** [x, y, width, height] of the un-rotated bounding box (textured platforms only) */
+    public final float[] aabb;
+    public final boolean flipX;
+    public final boolean flipY;
+    /** rotation in radians (textured platforms only) */
+    public final float angle;
+
+    /**
+     * creates the spec of an invisible platform
+     */
+    public PlatformSpec(float x, float y, int depth, float[] points) {
+        this(x, y, depth, points, false, null, null, false, false, 0);
+    }
+
+    /**
+     * creates the spec of a textured platform
+     */
+    public PlatformSpec(float x, float y, int depth, float[] points, String texture, float[] aabb,
+                        boolean flipX, boolean flipY, float angle) {
+        this(x, y, depth, points, true, texture, aabb, flipX, flipY, angle);
+    }
+
+    private PlatformSpec(float x, float y, int depth, float[] points, boolean textured, String texture,
+                         float[] aabb, boolean flipX, boolean flipY, float angle) {
+        this.x = x;
+        this.y = y;
+        this.depth = depth;
+        this.points = points;
+        this.textured = textured;
+        this.texture = texture;
+        this.aabb = aabb;
+        this.flipX = flipX;
+        this.flipY = flipY;
+        this.angle = angle;
+    }
+
+    public void write(DataOutputStream out) throws IOException {
+        out.writeFloat(x);
+        out.writeFloat(y);
+        out.writeInt(depth);
+        SpecIO.writeFloats(out, points);
+        out.writeBoolean(textured);
+        if (textured){
+            out.writeUTF(texture);
+            SpecIO.writeFloats(out, aabb);
+            out.writeBoolean(flipX);
+            out.writeBoolean(flipY);
+            out.writeFloat(angle);
+        }
+    }
+
+    public static PlatformSpec read(DataInputStream in) throws IOException {
+        float x = in.readFloat();
+        float y = in.readFloat();
+        int depth = in.readInt();
+        float[] points = SpecIO.readFloats(in);
+        if (!in.readBoolean()){
+            return new PlatformSpec(x, y, depth, points);
+        }
+        return new PlatformSpec(x, y, depth, points, in.readUTF(), SpecIO.readFloats(in),
+                in.readBoolean(), in.readBoolean(), in.readFloat());
+    }
+}
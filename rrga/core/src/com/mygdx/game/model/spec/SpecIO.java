@@ -0,0 +1,36 @@
+package com.mygdx.game.model.spec;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Binary encoding helpers shared by the spec classes (see LevelParser.writeCompiledLevel()).
+ */
+final class SpecIO {
+
+    static void writeFloats(DataOutputStream out, float[] values) throws IOException {
+        if (values == null){
+            out.writeInt(-1);
+            return;
+        }
+        out.writeInt(values.length);
+        for (float v : values){
+            out.writeFloat(v);
+        }
+    }
+
+    static float[] readFloats(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0){
+            return null;
+        }
+        float[] values = new float[length];
+        for (int ii = 0; ii < length; ii++){
+            values[ii] = in.readFloat();
+        }
+        return values;
+    }
+
+    private SpecIO() {}
+}
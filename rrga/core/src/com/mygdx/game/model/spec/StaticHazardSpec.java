@@ -0,0 +1,82 @@
+package com.mygdx.game.model.spec;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Immutable level data of a single static hazard (brambles, rocks) or death zone, produced by the LevelParser.<br>
+ * The arrays are shared by every hazard created from this spec and must not be modified.
+ */
+public final class StaticHazardSpec {
+
+    /** the kinds of static hazards */
+    public enum Type {
+        /** invisible polygon */
+        NO_FILL,
+        /** polygon drawn with the bramble fill texture */
+        FILL,
+        /** rock asset */
+        ROCK
+    }
+
+    public final Type type;
+    public final float x;
+    public final float y;
+    /** draw depth */
+    public final int depth;
+    /** hit-box polygon, relative to the hazard */
+    public final float[] points;
+
+    /** [x, y, width, height] of the un-rotated bounding box (rocks only) */
+    public final float[] aabb;
+    public final boolean flipX;
+    public final boolean flipY;
+    /** rotation in radians (rocks only) */
+    public final float angle;
+
+    /**
+     * creates the spec of a polygonal hazard (or death zone)
+     */
+    public StaticHazardSpec(float x, float y, int depth, float[] points, boolean fill) {
+        this(fill ? Type.FILL : Type.NO_FILL, x, y, depth, points, null, false, false, 0);
+    }
+
+    /**
+     * creates the spec of a rock
+     */
+    public StaticHazardSpec(float x, float y, int depth, float[] points, float[] aabb,
+                            boolean flipX, boolean flipY, float angle) {
+        this(Type.ROCK, x, y, depth, points, aabb, flipX, flipY, angle);
+    }
+
+    private StaticHazardSpec(Type type, float x, float y, int depth, float[] points, float[] aabb,
+                             boolean flipX, boolean flipY, float angle) {
+        this.type = type;
+        this.x = x;
+        this.y = y;
+        this.depth = depth;
+        this.points = points;
+        this.aabb = aabb;
+        this.flipX = flipX;
+        this.flipY = flipY;
+        this.angle = angle;
+    }
+
+    public void write(DataOutputStream out) throws IOException {
+        out.writeByte(type.ordinal());
+        out.writeFloat(x);
+        out.writeFloat(y);
+        out.writeInt(depth);
+        SpecIO.writeFloats(out, points);
+        SpecIO.writeFloats(out, aabb);
+        out.writeBoolean(flipX);
+        out.writeBoolean(flipY);
+        out.writeFloat(angle);
+    }
+
+    public static StaticHazardSpec read(DataInputStream in) throws IOException {
+        return new StaticHazardSpec(Type.values()[in.readByte()], in.readFloat(), in.readFloat(), in.readInt(),
+                SpecIO.readFloats(in), SpecIO.readFloats(in), in.readBoolean(), in.readBoolean(), in.readFloat());
+    }
+}
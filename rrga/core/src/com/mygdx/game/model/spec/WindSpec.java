@@ -0,0 +1,50 @@
+package com.mygdx.game.model.spec;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Immutable level data of a single wind gust, produced by the LevelParser.<br>
+ * The arrays are shared by every wind created from this spec and must not be modified.
+ */
+public final class WindSpec {
+
+    public final float x;
+    public final float y;
+    /** draw depth */
+    public final int depth;
+    /** wind polygon, relative to (x,y) */
+    public final float[] points;
+    /** magnitude of the wind force */
+    public final float magnitude;
+    /** direction of the wind force in radians */
+    public final float direction;
+    /** particle type */
+    public final String particle;
+
+    public WindSpec(float x, float y, int depth, float[] points, float magnitude, float direction, String particle) {
+        this.x = x;
+        this.y = y;
+        this.depth = depth;
+        this.points = points;
+        this.magnitude = magnitude;
+        this.direction = direction;
+        this.particle = particle;
+    }
+
+    public void write(DataOutputStream out) throws IOException {
+        out.writeFloat(x);
+        out.writeFloat(y);
+        out.writeInt(depth);
+        SpecIO.writeFloats(out, points);
+        out.writeFloat(magnitude);
+        out.writeFloat(direction);
+        out.writeUTF(particle);
+    }
+
+    public static WindSpec read(DataInputStream in) throws IOException {
+        return new WindSpec(in.readFloat(), in.readFloat(), in.readInt(), SpecIO.readFloats(in), in.readFloat(),
+                in.readFloat(), in.readUTF());
+    }
+}
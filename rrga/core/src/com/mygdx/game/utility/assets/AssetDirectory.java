@@ -27,11 +27,15 @@ import com.badlogic.gdx.graphics.g2d.*;
 import com.badlogic.gdx.graphics.g2d.freetype.FreeTypeFontGenerator;
 import com.badlogic.gdx.graphics.g2d.freetype.FreeTypeFontGeneratorLoader;
 import com.badlogic.gdx.graphics.g2d.freetype.FreetypeFontLoader;
+import com.badlogic.gdx.graphics.glutils.PixmapTextureData;
+import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.scenes.scene2d.ui.Skin;
 import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.JsonValue;
 import com.badlogic.gdx.utils.ObjectMap;
 
+import java.util.Comparator;
+
 import com.mygdx.game.utility.audio.*;
 import com.mygdx.game.utility.util.*;
 import com.mygdx.game.utility.audio.AudioSource;
@@ -51,7 +55,7 @@ import com.mygdx.game.utility.util.FilmStrip;
  * objects.  However, it also requires {@link AssetParser} objects.  An asset parser
  * takes an JSON entry in the directory and instructs the appropriate loader how to
  * load that file.  This class has built in parsers for the classes {@link Texture}, 
- * {@link TextureRegion},  {@link BitmapFont}, {@link SoundEffect}, {@link MusicQueue},
+ * {@link TextureRegion}, {@link TextureAtlas}, {@link BitmapFont}, {@link SoundEffect}, {@link MusicQueue},
  * and {@link JsonValue}.
  *
  * If you wish to add custom assets, you need to add BOTH a custom {@link AssetLoader}
@@ -63,6 +67,12 @@ import com.mygdx.game.utility.util.FilmStrip;
  * audio assets, fonts, and other JSON files.  To add more assets, you will need to
  * extend this class.
  *
+ * Textures of the {@link #ATLAS_CATEGORY} are not loaded as separate textures. They
+ * are packed into the pages of a runtime {@link TextureAtlas} once loading finishes,
+ * and {@link #getEntry} returns them as regions of these pages. This way sprites of
+ * different images can be drawn in a single batch without switching textures.
+ * Textures that cannot be packed (see {@link AtlasParser}) are loaded as usual.
+ *
  * We have decided not implement this class as a singleton. It is possible that you 
  * may want more than one asset manager (for managing separate scenes).  If you
  * need to globalize access to this asset manager, use {@link ResourceManager}.
@@ -77,6 +87,25 @@ public class AssetDirectory extends AssetManager {
     /** The dedicated loader for the {@link Index} class */
     protected DirectoryLoader topLoader;
 
+    /** The category of the textures packed into the runtime atlas */
+    public static final String ATLAS_CATEGORY = "game";
+    /** The width and height of an atlas page (pixels) */
+    public static final int ATLAS_PAGE_SIZE = 2048;
+    /** The largest width or height of an image packed into a shared atlas page (pixels) */
+    public static final int ATLAS_MAX_IMAGE = 1024;
+    /** The padding between two images of an atlas page (pixels) */
+    public static final int ATLAS_PADDING = 2;
+
+    /** The loader of the JSON assets (it keeps their checksums) */
+    protected JsonValueLoader jsonLoader;
+
+    /** The parser of the textures packed into the atlas */
+    protected AtlasParser atlasParser;
+    /** The runtime atlas (null until loading is finished) */
+    protected TextureAtlas atlas;
+    /** The atlas region of each packed texture key */
+    protected ObjectMap<String, TextureRegion> packedRegions = new ObjectMap<String, TextureRegion>();
+
     /**
      * This class represents the top level index of an asset directory.
      *
@@ -162,7 +191,8 @@ public class AssetDirectory extends AssetManager {
         setLoader( TextureRegion.class, new TextureRegionLoader( resolver ) );
         setLoader( FilmStrip.class, new FilmStripLoader( resolver ) );
 
-        setLoader( JsonValue.class, new JsonValueLoader( resolver ) );
+        jsonLoader = new JsonValueLoader( resolver );
+        setLoader( JsonValue.class, jsonLoader );
 
         // Why not?
         setLoader( Skin.class, new SkinLoader( resolver ) );
@@ -171,8 +201,11 @@ public class AssetDirectory extends AssetManager {
 
         // And now the default parsers
         topLoader.addParser( new JsonValueParser() );
-        topLoader.addParser( new TextureParser() );
+        atlasParser = new AtlasParser( ATLAS_CATEGORY );
+        topLoader.addParser( atlasParser );
+        topLoader.addParser( new TextureParser( atlasParser ) );
         topLoader.addParser( new TextureRegionParser() );
+        topLoader.addParser( new TextureAtlasParser() );
         topLoader.addParser( new FilmStripParser() );
         topLoader.addParser( new FreetypeFontParser() );
         topLoader.addParser( new SoundParser() );
@@ -192,6 +225,108 @@ public class AssetDirectory extends AssetManager {
         return (float)getLoadedAssets()/(getLoadedAssets()+getQueuedAssets());
     }
     
+    /**
+     * Updates the loading of the assets, see {@link AssetManager#update()}.
+     *
+     * Once the directory is loaded, the textures of the {@link #ATLAS_CATEGORY}
+     * are packed into the atlas before this method returns true.
+     *
+     * @return true if all loading is finished.
+     */
+    @Override
+    public synchronized boolean update() {
+        if (!super.update()) {
+            return false;
+        }
+        if (contents != null && atlas == null) {
+            packAtlas();
+        }
+        return true;
+    }
+
+    /**
+     * Packs the pixmaps loaded by the {@link AtlasParser} into the pages of the atlas.
+     *
+     * The largest images are packed first, which keeps the pages dense. Every image
+     * gets a duplicated border so that linear filtering does not bleed into its
+     * neighbors. Images larger than {@link #ATLAS_MAX_IMAGE} would fill most of a page
+     * on their own, so they get a texture of their own instead (still owned by the atlas).
+     *
+     * Each page is cropped to the area its images use before it is uploaded, so the
+     * last page is only as large as its contents. Neither the pixmaps nor the pages
+     * are kept once the textures are uploaded.
+     */
+    protected void packAtlas() {
+        PixmapPacker packer = new PixmapPacker( ATLAS_PAGE_SIZE, ATLAS_PAGE_SIZE, Pixmap.Format.RGBA8888,
+                                                ATLAS_PADDING, true );
+        ObjectMap<String, String> keys = contents.keymap.remove( Pixmap.class );
+        Array<String> files = new Array<String>();
+        if (keys != null) {
+            for (String file : keys.values()) {
+                if (!files.contains( file, false )) {
+                    files.add( file );
+                }
+            }
+        }
+        files.sort( new Comparator<String>() {
+            @Override
+            public int compare(String a, String b) {
+                Pixmap pa = get( a, Pixmap.class );
+                Pixmap pb = get( b, Pixmap.class );
+                return pb.getWidth()*pb.getHeight() - pa.getWidth()*pa.getHeight();
+            }
+        } );
+
+        atlas = new TextureAtlas();
+        for (String file : files) {
+            Pixmap pixmap = get( file, Pixmap.class );
+            if (pixmap.getWidth() > ATLAS_MAX_IMAGE || pixmap.getHeight() > ATLAS_MAX_IMAGE) {
+                Texture texture = new Texture( new PixmapTextureData( pixmap, null, false, false ) );
+                texture.setFilter( Texture.TextureFilter.Linear, Texture.TextureFilter.Linear );
+                atlas.addRegion( file, texture, 0, 0, pixmap.getWidth(), pixmap.getHeight() );
+            } else {
+                packer.pack( file, pixmap );
+            }
+            unload( file );
+        }
+        for (PixmapPacker.Page page : packer.getPages()) {
+            int width = 0;
+            int height = 0;
+            for (Rectangle rect : page.getRects().values()) {
+                width = Math.max( width, (int)(rect.x+rect.width) );
+                height = Math.max( height, (int)(rect.y+rect.height) );
+            }
+            width = Math.min( width+ATLAS_PADDING, ATLAS_PAGE_SIZE );
+            height = Math.min( height+ATLAS_PADDING, ATLAS_PAGE_SIZE );
+
+            Pixmap pixels = new Pixmap( width, height, Pixmap.Format.RGBA8888 );
+            pixels.setBlending( Pixmap.Blending.None );
+            pixels.drawPixmap( page.getPixmap(), 0, 0, 0, 0, width, height );
+            Texture texture = new Texture( new PixmapTextureData( pixels, null, false, true ) );
+            texture.setFilter( Texture.TextureFilter.Linear, Texture.TextureFilter.Linear );
+            for (ObjectMap.Entry<String, PixmapPacker.PixmapPackerRectangle> entry : page.getRects()) {
+                Rectangle rect = entry.value;
+                atlas.addRegion( entry.key, texture, (int)rect.x, (int)rect.y, (int)rect.width, (int)rect.height );
+            }
+        }
+        packer.dispose();
+
+        if (keys != null) {
+            for (ObjectMap.Entry<String, String> entry : keys) {
+                packedRegions.put( entry.key, atlas.findRegion( entry.value ) );
+            }
+        }
+    }
+
+    /**
+     * Returns the atlas of the packed textures.
+     *
+     * @return the atlas of the packed textures (null until loading is finished)
+     */
+    public TextureAtlas getAtlas() {
+        return atlas;
+    }
+
     /**
      * Returns the file name for the asset directory.
      *
@@ -206,7 +341,7 @@ public class AssetDirectory extends AssetManager {
      * 
      * Each asset must have an associated {@link AssetParser} for this to work.
      * There are default parsers for the classes {@link Texture}, {@link TextureRegion},
-     * {@link BitmapFont}, {@link SoundEffect}, {@link MusicQueue}, {@link JsonValue}.
+     * {@link TextureAtlas}, {@link BitmapFont}, {@link SoundEffect}, {@link MusicQueue}, {@link JsonValue}.
      *
      * Any additional asset parsers should be added with the {@link #addParser} method. 
      */
@@ -226,6 +361,11 @@ public class AssetDirectory extends AssetManager {
         if (contents == null) {
             return;
         }
+        if (atlas != null) {
+            atlas.dispose();
+            atlas = null;
+        }
+        packedRegions.clear();
         for (ObjectMap<String, String> category : contents.keymap.values()) {
             for (String filename : category.values()) {
                 unload( filename );
@@ -280,14 +420,19 @@ public class AssetDirectory extends AssetManager {
      * Returns the asset associated with the given directory key
      * 
      * The method {@link #loadAssets} must have been called for this method to
-     * return a value.
+     * return a value. Textures packed into the atlas are only available as
+     * {@link TextureRegion}s (regions of the atlas pages).
      *
      * @param key  the asset directory key
      * @param type the asset type
      *
      * @return the asset associated with the given directory key
      */
+    @SuppressWarnings("unchecked")
     public <T> T getEntry(String key, Class<T> type) {
+        if (type == TextureRegion.class && packedRegions.containsKey( key )) {
+            return (T)packedRegions.get( key );
+        }
         ObjectMap<String, String> keys = contents.keymap.get( type, null );
         if (keys == null) {
             return null;
@@ -299,6 +444,25 @@ public class AssetDirectory extends AssetManager {
         return get( filename, type );
     }
 
+    /**
+     * Returns the CRC-32 of the JSON file associated with the given directory key
+     *
+     * The checksum is computed while the file is loaded, so this does not read the
+     * file again.
+     *
+     * @param key  the asset directory key of a {@link JsonValue}
+     *
+     * @return the CRC-32 of the JSON file, or -1 if there is no such JSON asset
+     */
+    public long getChecksum(String key) {
+        ObjectMap<String, String> keys = contents.keymap.get( JsonValue.class, null );
+        String filename = keys == null ? null : keys.get( key, null );
+        if (filename == null) {
+            return -1;
+        }
+        return jsonLoader.getChecksum( filename );
+    }
+
     /**
      * Returns true if there is an asset associated with the given directory key
      * 
@@ -311,6 +475,9 @@ public class AssetDirectory extends AssetManager {
      * @return true if there is an asset associated with the given directory key
      */
     public <T> boolean hasEntry(String key, Class<T> type) {
+        if (type == TextureRegion.class && packedRegions.containsKey( key )) {
+            return true;
+        }
         ObjectMap<String, String> keys = contents.keymap.get( type, null );
         if (keys == null) {
             return false;
@@ -0,0 +1,129 @@
+/*
+ * AtlasParser.java
+ *
+ * This is a parser for the textures of a category that are packed into a
+ * runtime texture atlas instead of being loaded as separate textures.
+ */
+package com.mygdx.game.utility.assets;
+
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.utils.JsonValue;
+import com.badlogic.gdx.utils.ObjectMap;
+
+/**
+ * This class parses the texture entries of one category (the key prefix before
+ * the ':', e.g. "game") into {@link Pixmap} assets.
+ *
+ * Once everything is loaded, {@link AssetDirectory} packs these pixmaps into a few
+ * large atlas pages and serves the images as {@link com.badlogic.gdx.graphics.g2d.TextureRegion}s
+ * of these pages, so that drawing them does not switch textures.
+ *
+ * Only textures that can live in an atlas are packed: textures with repeat wrapping
+ * (they are tiled), mipmaps or non-linear filters, and textures marked with
+ * "pack": false, are left to the {@link TextureParser}.
+ */
+public class AtlasParser implements AssetParser<Pixmap> {
+    /** The key prefix of the packed textures (category followed by ':') */
+    private final String prefix;
+    /** The current texture entry in the JSON directory */
+    private JsonValue root;
+
+    /**
+     * Creates a parser for the textures of the given category
+     *
+     * @param category  the category of the packed textures (e.g. "game")
+     */
+    public AtlasParser(String category) {
+        prefix = category + ":";
+    }
+
+    /**
+     * Returns the asset type generated by this parser
+     *
+     * @return the asset type generated by this parser
+     */
+    public Class<Pixmap> getType() {
+        return Pixmap.class;
+    }
+
+    /**
+     * Returns true if the texture entry is packed into the atlas
+     *
+     * @param entry the JSON entry of a texture
+     *
+     * @return true if the texture entry is packed into the atlas
+     */
+    public boolean accepts(JsonValue entry) {
+        if (!entry.name().startsWith( prefix )) {
+            return false;
+        }
+        if (entry.isString()) {
+            return true;
+        }
+        return entry.getBoolean( "pack", true ) && !entry.getBoolean( "mipmaps", false )
+                && entry.has( "file" )
+                && ParserUtils.parseFilter( entry.get( "minFilter" ), Texture.TextureFilter.Linear ) == Texture.TextureFilter.Linear
+                && ParserUtils.parseFilter( entry.get( "magFilter" ), Texture.TextureFilter.Linear ) == Texture.TextureFilter.Linear
+                && ParserUtils.parseWrap( entry.get( "wrapU" ), Texture.TextureWrap.ClampToEdge ) == Texture.TextureWrap.ClampToEdge
+                && ParserUtils.parseWrap( entry.get( "wrapV" ), Texture.TextureWrap.ClampToEdge ) == Texture.TextureWrap.ClampToEdge;
+    }
+
+    /**
+     * Resets the parser iterator for the given directory.
+     *
+     * The value directory is assumed to be the root of a larger JSON structure.
+     * The individual assets are defined by subtrees in this structure.
+     *
+     * @param directory    The JSON representation of the asset directory
+     */
+    public void reset(JsonValue directory) {
+        root = directory.getChild( "textures" );
+        skip();
+    }
+
+    /**
+     * Returns true if there are still assets left to generate
+     *
+     * @return true if there are still assets left to generate
+     */
+    public boolean hasNext() {
+        return root != null;
+    }
+
+    /**
+     * Processes the next packed texture, loading its image into the asset manager
+     *
+     * The key is mapped to the image file. This method fails silently if there
+     * are no available assets to process.
+     *
+     * @param manager	The asset manager to load an asset
+     * @param keymap    The mapping of JSON keys to asset file names
+     */
+    public void processNext(AssetManager manager, ObjectMap<String,String> keymap) {
+        String file = root.isString() ? root.asString() : root.getString( "file" );
+        keymap.put( root.name(), file );
+        manager.load( file, Pixmap.class );
+        root = root.next();
+        skip();
+    }
+
+    /**
+     * Returns true if o is another AtlasParser
+     *
+     * @return true if o is another AtlasParser
+     */
+    public boolean equals(Object o) {
+        return o instanceof AtlasParser && ((AtlasParser)o).prefix.equals( prefix );
+    }
+
+    /**
+     * Advances the iterator to the next packed texture entry
+     */
+    private void skip() {
+        while (root != null && !accepts( root )) {
+            root = root.next();
+        }
+    }
+}
@@ -20,15 +20,31 @@ import com.badlogic.gdx.assets.loaders.FileHandleResolver;
 import com.badlogic.gdx.assets.loaders.resolvers.InternalFileHandleResolver;
 import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
 import com.badlogic.gdx.utils.JsonReader;
 import com.badlogic.gdx.utils.JsonValue;
+import com.badlogic.gdx.utils.ObjectLongMap;
+import com.badlogic.gdx.utils.StreamUtils;
+
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
 
 /**
  * This class is an {@link AssetLoader} to load {@link JsonValue} assets.
+ *
+ * The loader also records the CRC-32 of every file it reads, so that data
+ * derived from a JSON file (e.g. a precompiled level) can tell whether the
+ * file has changed since, without reading it again.
  */
 public class JsonValueLoader extends AsynchronousAssetLoader<JsonValue, JsonValueLoader.JsonValueParameters> {
     /** The asynchronously read JsonValue */
     protected JsonValue cachedData;
+    /** The checksum of the asynchronously read file */
+    protected long cachedChecksum;
+    /** The checksum of every loaded file */
+    protected final ObjectLongMap<String> checksums = new ObjectLongMap<String>();
 
     /**
      * The definable parameters for a {@link JsonValue}.
@@ -64,6 +80,17 @@ public class JsonValueLoader extends AsynchronousAssetLoader<JsonValue, JsonValu
         return cachedData;
     }
 
+    /**
+     * Returns the CRC-32 of the given file, as it was when it was loaded.
+     *
+     * @param fileName  The name of a loaded asset
+     *
+     * @return the CRC-32 of the given file, or -1 if it was not loaded by this loader.
+     */
+    public long getChecksum(String fileName) {
+        return checksums.get( fileName, -1 );
+    }
+
     /** 
      * Loads thread-safe part of the asset and injects any dependencies into the AssetManager.
      *
@@ -78,7 +105,18 @@ public class JsonValueLoader extends AsynchronousAssetLoader<JsonValue, JsonValu
     @Override
     public void loadAsync (AssetManager manager, String fileName, FileHandle file, JsonValueParameters params) {
         JsonReader reader = new JsonReader();
-        cachedData = reader.parse(file);
+        CheckedInputStream input = new CheckedInputStream( file.read(), new CRC32() );
+        Reader chars = null;
+        try {
+            chars = new InputStreamReader( input, "UTF-8" );
+            cachedData = reader.parse( chars );
+        } catch (Exception ex) {
+            throw new GdxRuntimeException( "Error parsing json file: " + file, ex );
+        } finally {
+            StreamUtils.closeQuietly( chars );
+            StreamUtils.closeQuietly( input );
+        }
+        cachedChecksum = input.getChecksum().getValue();
     }
 
     /** 
@@ -96,6 +134,7 @@ public class JsonValueLoader extends AsynchronousAssetLoader<JsonValue, JsonValu
     public JsonValue loadSync (AssetManager manager, String fileName, FileHandle file, JsonValueParameters params) {
         JsonValue json = cachedData;
         cachedData = null;
+        checksums.put( fileName, cachedChecksum );
         return json;
     }
 
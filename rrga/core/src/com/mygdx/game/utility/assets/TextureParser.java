@@ -31,6 +31,24 @@ import com.badlogic.gdx.utils.ObjectMap;
 public class TextureParser implements AssetParser<Texture> {
     /** The current font entry in the JSON directory */
     private JsonValue root;
+    /** The parser of the textures packed into an atlas (skipped by this parser), or null */
+    private AtlasParser atlas;
+
+    /**
+     * Creates a parser for all textures of the directory
+     */
+    public TextureParser() {
+        this( null );
+    }
+
+    /**
+     * Creates a parser for the textures of the directory that the atlas does not pack
+     *
+     * @param atlas the parser of the packed textures (may be null)
+     */
+    public TextureParser(AtlasParser atlas) {
+        this.atlas = atlas;
+    }
 
     /**
      * Returns the asset type generated by this parser
@@ -52,6 +70,7 @@ public class TextureParser implements AssetParser<Texture> {
     public void reset(JsonValue directory) {
         root = directory;
         root = root.getChild( "textures" );
+        skip();
     }
 
     /**
@@ -104,6 +123,16 @@ public class TextureParser implements AssetParser<Texture> {
             }
 		}
         root = root.next();
+        skip();
+    }
+
+    /**
+     * Advances the iterator past the textures packed into the atlas
+     */
+    private void skip() {
+        while (atlas != null && root != null && atlas.accepts( root )) {
+            root = root.next();
+        }
     }
 
     /**
@@ -67,6 +67,16 @@ public abstract class Obstacle {
 	/** A cache value for when the user wants to access the drawing scale */
 	protected Vector2 scaleCache = new Vector2();
 
+	/// Render interpolation
+	/** Blend factor between the previous and the current physics state when drawing */
+	private static float renderAlpha = 1.0f;
+	/** The x-coordinate before the last fixed step */
+	private float previousX;
+	/** The y-coordinate before the last fixed step */
+	private float previousY;
+	/** The angle before the last fixed step */
+	private float previousAngle;
+
 
 	/// BodyDef Methods
 	/**
@@ -886,7 +896,65 @@ public abstract class Obstacle {
     public void setDrawScale(float x, float y) {
     	drawScale.set(x,y);
     }
-    	
+
+	/// RENDER INTERPOLATION
+	/**
+	 * Sets how far the renderer is between the last two fixed physics steps.
+	 *
+	 * When physics runs at a fixed rate and drawing does not, a frame usually falls
+	 * between two steps. Drawing at the blended state hides the stutter of 0 or 2
+	 * steps in one frame. The default of 1 draws the current state.
+	 *
+	 * @param alpha  0 for the state before the last step, 1 for the current state
+	 */
+	public static void setRenderAlpha(float alpha) {
+		renderAlpha = alpha;
+	}
+
+	/**
+	 * Records the current position and angle as the state before the next fixed step.
+	 *
+	 * Must also be called whenever the object is placed without stepping (creation,
+	 * restarts), otherwise it is drawn sliding in from its old position.
+	 */
+	public void savePreviousState() {
+		previousX = getX();
+		previousY = getY();
+		previousAngle = getAngle();
+	}
+
+	/**
+	 * Returns the x-coordinate to draw this object at
+	 *
+	 * @return the x-coordinate blended between the last two fixed steps
+	 */
+	public float getDrawX() {
+		return previousX + (getX() - previousX) * renderAlpha;
+	}
+
+	/**
+	 * Returns the y-coordinate to draw this object at
+	 *
+	 * @return the y-coordinate blended between the last two fixed steps
+	 */
+	public float getDrawY() {
+		return previousY + (getY() - previousY) * renderAlpha;
+	}
+
+	/**
+	 * Returns the angle to draw this object at
+	 *
+	 * The angle is blended along the shortest arc, so an angle that wraps around
+	 * (e.g. from PI to -PI) does not spin the object the long way for a frame.
+	 *
+	 * @return the angle (in radians) blended between the last two fixed steps
+	 */
+	public float getDrawAngle() {
+		float delta = getAngle() - previousAngle;
+		delta = (float) Math.atan2(Math.sin(delta), Math.cos(delta));
+		return previousAngle + delta * renderAlpha;
+	}
+
 	/// DEBUG METHODS
 	/**
      * Returns the physics object tag.
@@ -933,6 +1001,8 @@ public abstract class Obstacle {
 		bodyinfo.allowSleep = true;
 		bodyinfo.gravityScale = 1.0f;
 		bodyinfo.position.set(x,y);
+		previousX = x;
+		previousY = y;
 		bodyinfo.fixedRotation = false;
 		// Objects are physics objects unless otherwise noted
 		bodyinfo.type = BodyType.DynamicBody;
@@ -978,6 +1048,10 @@ public abstract class Obstacle {
 	 * primary purpose is to adjust changes to the fixture, which have to take place 
 	 * after collision.
 	 *
+	 * This is called for every object every step, so it must not allocate; use
+	 * cache fields for any intermediate vectors. The headless AllocationCheck
+	 * fails the build otherwise.
+	 *
 	 * @param dt Timing values from parent loop
 	 */
 	public void update(float delta) { 
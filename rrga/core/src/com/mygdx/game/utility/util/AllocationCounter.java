@@ -0,0 +1,148 @@
+package com.mygdx.game.utility.util;
+
+import com.badlogic.gdx.Gdx;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Debug helper that measures how many bytes the calling thread allocates between begin() and end(). <br>
+ * The game loop is expected to be allocation-free, so in debug mode GameMode logs the average about once a
+ * second, and the headless AllocationCheck (gradle task checkAllocations, part of check) fails the build when
+ * stepping a warmed-up level allocates in more than a few frames. Measuring relies on the HotSpot extension of
+ * ThreadMXBean; on VMs without it the counter does nothing.
+ */
+public class AllocationCounter {
+
+    /** number of measured frames between two log lines */
+    private static final int REPORT_INTERVAL = 60;
+
+    /** the HotSpot thread bean, or null if per-thread allocation counting is not available */
+    private static final com.sun.management.ThreadMXBean BEAN = findBean();
+
+    /** name used in log lines */
+    private final String name;
+
+    /** whether the average is logged every REPORT_INTERVAL frames */
+    private final boolean logging;
+
+    /** allocated bytes of this thread when the current measurement started */
+    private long start;
+
+    /** bytes allocated during the measured frames since the last report */
+    private long total;
+
+    /** number of measured frames since the last report */
+    private int frames;
+
+    /** average bytes per frame of the last report */
+    private long average;
+
+    /** bytes allocated during all measured frames since the last reset() */
+    private long allocated;
+
+    /** number of measured frames since the last reset() */
+    private int measured;
+
+    /** number of measured frames that allocated anything since the last reset() */
+    private int allocating;
+
+    /**
+     * creates a counter.
+     * @param name name used in log lines (e.g. "update")
+     */
+    public AllocationCounter(String name) {
+        this(name, true);
+    }
+
+    /**
+     * creates a counter.
+     * @param name name used in log lines (e.g. "update")
+     * @param logging whether the average is logged about once a second
+     */
+    public AllocationCounter(String name, boolean logging) {
+        this.name = name;
+        this.logging = logging;
+    }
+
+    /** @return whether allocations can be measured on this VM */
+    public static boolean isSupported() {
+        return BEAN != null;
+    }
+
+    /** starts measuring a frame */
+    public void begin() {
+        if (BEAN != null) {
+            start = BEAN.getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+    }
+
+    /** stops measuring a frame, logging the average once every REPORT_INTERVAL frames */
+    public void end() {
+        if (BEAN == null) {
+            return;
+        }
+        long bytes = BEAN.getThreadAllocatedBytes(Thread.currentThread().getId()) - start;
+        allocated += bytes;
+        measured++;
+        if (bytes > 0) {
+            allocating++;
+        }
+        total += bytes;
+        frames++;
+        if (frames == REPORT_INTERVAL) {
+            average = total / frames;
+            total = 0;
+            frames = 0;
+            if (logging) {
+                Gdx.app.log("AllocationCounter", name + ": " + average + " bytes/frame");
+            }
+        }
+    }
+
+    /** forgets all measured frames */
+    public void reset() {
+        total = 0;
+        frames = 0;
+        average = 0;
+        allocated = 0;
+        measured = 0;
+        allocating = 0;
+    }
+
+    /** @return bytes allocated during all measured frames since the last reset() */
+    public long getAllocated() {
+        return allocated;
+    }
+
+    /** @return number of measured frames since the last reset() */
+    public int getMeasured() {
+        return measured;
+    }
+
+    /** @return number of measured frames that allocated anything since the last reset() */
+    public int getAllocating() {
+        return allocating;
+    }
+
+    /** @return average bytes allocated per frame as of the last report */
+    public long getAverage() {
+        return average;
+    }
+
+    private static com.sun.management.ThreadMXBean findBean() {
+        try {
+            ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+            if (bean instanceof com.sun.management.ThreadMXBean) {
+                com.sun.management.ThreadMXBean hotspot = (com.sun.management.ThreadMXBean) bean;
+                if (hotspot.isThreadAllocatedMemorySupported()) {
+                    hotspot.setThreadAllocatedMemoryEnabled(true);
+                    return hotspot;
+                }
+            }
+        } catch (Throwable e) {
+            // not a HotSpot VM (or no management API)
+        }
+        return null;
+    }
+}
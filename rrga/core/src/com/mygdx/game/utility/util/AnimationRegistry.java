@@ -0,0 +1,159 @@
+package com.mygdx.game.utility.util;
+
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.Animation;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectMap;
+
+/**
+ * A cache of filmstrip animations shared by every model that uses the same filmstrip. <br>
+ * A filmstrip is either a whole texture or a region of one (e.g. an image packed into the game atlas, see
+ * AssetDirectory). An animation is cut (TextureRegion.split) and built once per filmstrip, frame size, frame count, frame duration,
+ * play mode and flip, and the same instance is handed out afterwards. Animations are only read by their users
+ * (getKeyFrame with the user's own elapsed time), so sharing them is safe as long as nobody modifies them:
+ * users must NOT change the play mode, frame duration or frames of a returned animation. <br>
+ * The registry is used while parsing levels on a worker thread, so all access is synchronized.
+ */
+public class AnimationRegistry {
+
+    /** the cached animations of each filmstrip (Texture or TextureRegion) */
+    private static final ObjectMap<Object, Array<Entry>> entries = new ObjectMap<>();
+
+    /** a cached animation and the parameters it was built with */
+    private static class Entry {
+        int frameWidth;
+        int frameHeight;
+        int frameCount;
+        float frameDuration;
+        Animation.PlayMode playMode;
+        boolean flipX;
+        boolean flipY;
+        Animation<TextureRegion> animation;
+    }
+
+    /**
+     * returns the animation of all frames of the filmstrip, in row-major order.
+     * @param region the filmstrip region
+     * @param frameWidth width of a frame (pixels)
+     * @param frameHeight height of a frame (pixels)
+     * @param frameDuration duration of a frame (seconds)
+     * @param playMode the play mode of the animation
+     * @return the shared animation (must not be modified)
+     */
+    public static Animation<TextureRegion> get(TextureRegion region, int frameWidth, int frameHeight,
+                                               float frameDuration, Animation.PlayMode playMode) {
+        int count = (region.getRegionHeight() / frameHeight) * (region.getRegionWidth() / frameWidth);
+        return get(region, frameWidth, frameHeight, count, frameDuration, playMode, false, false);
+    }
+
+    /**
+     * returns the animation of the first frameCount frames of the filmstrip, in row-major order.
+     * @param region the filmstrip region
+     * @param frameWidth width of a frame (pixels)
+     * @param frameHeight height of a frame (pixels)
+     * @param frameCount number of frames of the animation
+     * @param frameDuration duration of a frame (seconds)
+     * @param playMode the play mode of the animation
+     * @return the shared animation (must not be modified)
+     */
+    public static Animation<TextureRegion> get(TextureRegion region, int frameWidth, int frameHeight, int frameCount,
+                                               float frameDuration, Animation.PlayMode playMode) {
+        return get(region, frameWidth, frameHeight, frameCount, frameDuration, playMode, false, false);
+    }
+
+    /**
+     * returns the animation of the first frameCount frames of the filmstrip, in row-major order,
+     * with every frame flipped as requested.
+     * @param region the filmstrip region
+     * @param frameWidth width of a frame (pixels)
+     * @param frameHeight height of a frame (pixels)
+     * @param frameCount number of frames of the animation
+     * @param frameDuration duration of a frame (seconds)
+     * @param playMode the play mode of the animation
+     * @param flipX whether to flip the frames horizontally
+     * @param flipY whether to flip the frames vertically
+     * @return the shared animation (must not be modified)
+     */
+    public static synchronized Animation<TextureRegion> get(TextureRegion region, int frameWidth, int frameHeight,
+                                                            int frameCount, float frameDuration,
+                                                            Animation.PlayMode playMode, boolean flipX, boolean flipY) {
+        return get(region, region, frameWidth, frameHeight, frameCount, frameDuration, playMode, flipX, flipY);
+    }
+
+    /**
+     * returns the animation of the first frameCount frames of the filmstrip texture, in row-major order,
+     * with every frame flipped as requested.
+     * @param texture the filmstrip texture
+     * @param frameWidth width of a frame (pixels)
+     * @param frameHeight height of a frame (pixels)
+     * @param frameCount number of frames of the animation
+     * @param frameDuration duration of a frame (seconds)
+     * @param playMode the play mode of the animation
+     * @param flipX whether to flip the frames horizontally
+     * @param flipY whether to flip the frames vertically
+     * @return the shared animation (must not be modified)
+     */
+    public static synchronized Animation<TextureRegion> get(Texture texture, int frameWidth, int frameHeight,
+                                                            int frameCount, float frameDuration,
+                                                            Animation.PlayMode playMode, boolean flipX, boolean flipY) {
+        return get(texture, null, frameWidth, frameHeight, frameCount, frameDuration, playMode, flipX, flipY);
+    }
+
+    /**
+     * returns the cached animation of the filmstrip, building it on first use.
+     * @param key the filmstrip (Texture or TextureRegion)
+     * @param region the filmstrip region, or null if the filmstrip is the whole texture key
+     */
+    private static Animation<TextureRegion> get(Object key, TextureRegion region, int frameWidth, int frameHeight,
+                                                int frameCount, float frameDuration,
+                                                Animation.PlayMode playMode, boolean flipX, boolean flipY) {
+        Array<Entry> list = entries.get(key);
+        if (list == null) {
+            list = new Array<>(false, 2);
+            entries.put(key, list);
+        }
+        for (Entry e : list) {
+            if (e.frameWidth == frameWidth && e.frameHeight == frameHeight && e.frameCount == frameCount
+                    && e.frameDuration == frameDuration && e.playMode == playMode
+                    && e.flipX == flipX && e.flipY == flipY) {
+                return e.animation;
+            }
+        }
+
+        TextureRegion[][] cells = region != null ? region.split(frameWidth, frameHeight)
+                : TextureRegion.split((Texture) key, frameWidth, frameHeight);
+        TextureRegion[] frames = new TextureRegion[frameCount];
+        // Placing animation frames in order
+        int index = 0;
+        for (int i = 0; i < cells.length && index < frameCount; i++) {
+            for (int j = 0; j < cells[i].length && index < frameCount; j++) {
+                frames[index] = cells[i][j];
+                frames[index].flip(flipX, flipY);
+                index++;
+            }
+        }
+
+        Entry e = new Entry();
+        e.frameWidth = frameWidth;
+        e.frameHeight = frameHeight;
+        e.frameCount = frameCount;
+        e.frameDuration = frameDuration;
+        e.playMode = playMode;
+        e.flipX = flipX;
+        e.flipY = flipY;
+        e.animation = new Animation<>(frameDuration, frames);
+        e.animation.setPlayMode(playMode);
+        list.add(e);
+        return e.animation;
+    }
+
+    /**
+     * forgets all cached animations (e.g. when their textures are unloaded).
+     */
+    public static synchronized void clear() {
+        entries.clear();
+    }
+
+    private AnimationRegistry() {}
+}
@@ -0,0 +1,80 @@
+package com.mygdx.game.utility.util;
+
+import com.badlogic.gdx.physics.box2d.Contact;
+import com.badlogic.gdx.physics.box2d.Fixture;
+
+/**
+ * Dispatches Box2D contacts to handlers registered per pair of collision categories. <br>
+ * The category of a fixture is the (single) bit set in the categoryBits of its filter. Handlers are kept in a
+ * flat table indexed by the category numbers of the two fixtures, so dispatching a contact costs two filter
+ * reads and one array lookup. Contacts between categories without a handler are ignored.
+ */
+public class ContactDispatcher {
+
+    /** number of Box2D collision categories */
+    private static final int CATEGORIES = 16;
+
+    /** a handler of contacts between fixtures of two categories */
+    public interface Handler {
+        /**
+         * handles a contact.
+         * @param contact the Box2D contact
+         * @param first the fixture of (one of) the first categories the handler was registered for
+         * @param second the fixture of (one of) the second categories the handler was registered for
+         */
+        void handle(Contact contact, Fixture first, Fixture second);
+    }
+
+    /** the handler of each category pair [category(A) * CATEGORIES + category(B)] */
+    private final Handler[] handlers = new Handler[CATEGORIES * CATEGORIES];
+
+    /** whether fixture B of the contact is the first fixture of the pair's handler */
+    private final boolean[] swapped = new boolean[CATEGORIES * CATEGORIES];
+
+    /**
+     * registers the handler for all pairs of the given categories, replacing previous handlers of these pairs.
+     * @param firstCategories the categories (bits) of the first fixture passed to the handler
+     * @param secondCategories the categories (bits) of the second fixture passed to the handler
+     * @param handler the handler
+     */
+    public void register(int firstCategories, int secondCategories, Handler handler) {
+        for (int ii = 0; ii < CATEGORIES; ii++) {
+            if ((firstCategories & (1 << ii)) == 0) {
+                continue;
+            }
+            for (int jj = 0; jj < CATEGORIES; jj++) {
+                if ((secondCategories & (1 << jj)) == 0) {
+                    continue;
+                }
+                handlers[ii * CATEGORIES + jj] = handler;
+                swapped[ii * CATEGORIES + jj] = false;
+                handlers[jj * CATEGORIES + ii] = handler;
+                swapped[jj * CATEGORIES + ii] = ii != jj;
+            }
+        }
+    }
+
+    /**
+     * passes the contact to the handler of the categories of its fixtures, if there is one.
+     * @param contact the Box2D contact
+     */
+    public void dispatch(Contact contact) {
+        Fixture fixA = contact.getFixtureA();
+        Fixture fixB = contact.getFixtureB();
+        int index = category(fixA) * CATEGORIES + category(fixB);
+        Handler handler = handlers[index];
+        if (handler == null) {
+            return;
+        }
+        if (swapped[index]) {
+            handler.handle(contact, fixB, fixA);
+        } else {
+            handler.handle(contact, fixA, fixB);
+        }
+    }
+
+    /** @return the category number (0-15) of the fixture */
+    private static int category(Fixture fixture) {
+        return Integer.numberOfTrailingZeros(fixture.getFilterData().categoryBits) & (CATEGORIES - 1);
+    }
+}
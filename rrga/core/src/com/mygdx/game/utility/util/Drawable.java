@@ -31,7 +31,9 @@ public interface Drawable{
     void setDrawScale(Vector2 scale);
 
     /**
-     * Draws the drawable to the provided drawing context.
+     * Draws the drawable to the provided drawing context. <br>
+     * NOTE: this is called for every visible drawable every frame, so it must not allocate
+     * (no new vectors, colors, regions or strings); keep caches as fields instead.
      * @param canvas Drawing context
      */
     void draw(GameCanvas canvas);
@@ -0,0 +1,140 @@
+package com.mygdx.game.utility.util;
+
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.IntArray;
+
+import java.util.Arrays;
+
+/**
+ * A uniform grid over the drawables of a level that never move, answering "what could be on screen". <br>
+ * Static drawables (stickers, platforms, winds, static hazards...) are bucketed by their AABB once, when they are
+ * registered, and receive an id. A query only visits the cells overlapping the view rectangle and marks the ids
+ * found there, so its cost depends on what is near the camera rather than on the size of the level. <br>
+ * The grid does not order anything: the RenderQueue walks its depth buckets and asks the grid whether each static
+ * drawable was marked by the last query.
+ */
+public class DrawableGrid {
+
+    /** side length of a cell (game standardized units) */
+    private final float cellSize;
+
+    /** number of columns and rows of the grid */
+    private int cols, rows;
+
+    /** per cell, the ids of the static drawables overlapping it */
+    private IntArray[] cells = new IntArray[0];
+
+    /** number of registered drawables (the next id) */
+    private int count;
+
+    /** per id, the query that last marked it */
+    private int[] stamps = new int[0];
+
+    /** the current query number */
+    private int stamp;
+
+    /**
+     * creates an empty grid.
+     * @param cellSize side length of a cell (game standardized units)
+     */
+    public DrawableGrid(float cellSize) {
+        this.cellSize = cellSize;
+    }
+
+    /**
+     * removes all drawables and resizes the grid to cover the given world. <br>
+     * Drawables outside the world are kept in the border cells.
+     * @param width world width
+     * @param height world height
+     */
+    public void reset(float width, float height) {
+        cols = Math.max(1, (int) Math.ceil(width / cellSize));
+        rows = Math.max(1, (int) Math.ceil(height / cellSize));
+        int size = cols * rows;
+        if (cells.length < size) {
+            IntArray[] grown = new IntArray[size];
+            System.arraycopy(cells, 0, grown, 0, cells.length);
+            for (int ii = cells.length; ii < size; ii++) {
+                grown[ii] = new IntArray();
+            }
+            cells = grown;
+        }
+        for (IntArray cell : cells) {
+            cell.clear();
+        }
+        count = 0;
+        Arrays.fill(stamps, 0);
+        stamp = 0;
+    }
+
+    /**
+     * registers a drawable that never moves.
+     * @param drawable the drawable
+     * @return the id of the drawable (see isMarked)
+     */
+    public int add(Drawable drawable) {
+        int id = count++;
+        if (stamps.length < count) {
+            stamps = Arrays.copyOf(stamps, Math.max(16, 2 * count));
+        }
+        Vector2 corner = drawable.getBoxCorner();
+        float left = corner.x;
+        float top = corner.y;
+        Vector2 dimensions = drawable.getDimensions();
+        int c0 = column(left);
+        int c1 = column(left + dimensions.x);
+        int r0 = row(top - dimensions.y);
+        int r1 = row(top);
+        for (int r = r0; r <= r1; r++) {
+            for (int c = c0; c <= c1; c++) {
+                cells[r * cols + c].add(id);
+            }
+        }
+        return id;
+    }
+
+    /**
+     * marks the drawables that may overlap the given rectangle. <br>
+     * Drawables are marked if one of their cells overlaps the rectangle; callers still need to test the exact
+     * bounding box.
+     * @param left left edge of the view
+     * @param bottom bottom edge of the view
+     * @param right right edge of the view
+     * @param top top edge of the view
+     */
+    public void query(float left, float bottom, float right, float top) {
+        stamp++;
+        int c0 = column(left);
+        int c1 = column(right);
+        int r0 = row(bottom);
+        int r1 = row(top);
+        for (int r = r0; r <= r1; r++) {
+            for (int c = c0; c <= c1; c++) {
+                IntArray cell = cells[r * cols + c];
+                for (int ii = 0; ii < cell.size; ii++) {
+                    stamps[cell.get(ii)] = stamp;
+                }
+            }
+        }
+    }
+
+    /**
+     * @param id the id of a registered drawable
+     * @return whether the drawable was marked by the last query
+     */
+    public boolean isMarked(int id) {
+        return stamps[id] == stamp;
+    }
+
+    /** @return the grid column containing x, clamped to the grid */
+    private int column(float x) {
+        int c = (int) Math.floor(x / cellSize);
+        return Math.min(cols - 1, Math.max(0, c));
+    }
+
+    /** @return the grid row containing y, clamped to the grid */
+    private int row(float y) {
+        int r = (int) Math.floor(y / cellSize);
+        return Math.min(rows - 1, Math.max(0, r));
+    }
+}
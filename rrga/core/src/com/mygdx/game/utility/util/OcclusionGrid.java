@@ -0,0 +1,382 @@
+package com.mygdx.game.utility.util;
+
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.ChainShape;
+import com.badlogic.gdx.physics.box2d.CircleShape;
+import com.badlogic.gdx.physics.box2d.EdgeShape;
+import com.badlogic.gdx.physics.box2d.Fixture;
+import com.badlogic.gdx.physics.box2d.PolygonShape;
+import com.badlogic.gdx.physics.box2d.Shape;
+import com.badlogic.gdx.physics.box2d.Transform;
+import com.badlogic.gdx.utils.Array;
+
+import java.util.Arrays;
+
+/**
+ * An occupancy bitmask of static geometry, used for line of sight tests that do not need Box2D. <br>
+ * Fixtures are rasterized once into two masks: a cell is solid if it lies entirely inside a single fixture,
+ * and touched if any fixture overlaps it. A segment that starts in an untouched cell (outside of all geometry)
+ * and enters a solid cell is certainly blocked by then; anything else still needs an exact test. A segment is
+ * walked cell by cell (DDA) until it enters a solid cell; the walk only reads bits, so its cost depends on the
+ * length of the segment rather than on the number of fixtures in the level. <br>
+ * The grid covers the bounds of the fixtures it was built from; everything outside is empty.
+ */
+public class OcclusionGrid {
+
+    /** side length of a cell (game standardized units) */
+    private final float cellSize;
+
+    /** bottom left corner of the grid */
+    private float originX, originY;
+
+    /** number of columns and rows of the grid */
+    private int cols, rows;
+
+    /** one bit per cell (row major), set if the cell is inside a fixture */
+    private long[] solid = new long[0];
+
+    /** one bit per cell (row major), set if a fixture overlaps the cell */
+    private long[] touched = new long[0];
+
+    /** caches for rasterization */
+    private final Vector2 vertex = new Vector2();
+    private float[] polygon = new float[16];
+    private float chordLeft, chordRight;
+
+    /**
+     * creates an empty grid.
+     * @param cellSize side length of a cell (game standardized units)
+     */
+    public OcclusionGrid(float cellSize) {
+        this.cellSize = cellSize;
+    }
+
+    /**
+     * rasterizes the given fixtures (at their current transforms), replacing the previous contents.
+     * @param fixtures the occluding fixtures
+     */
+    public void build(Array<Fixture> fixtures) {
+        float minX = Float.POSITIVE_INFINITY;
+        float minY = Float.POSITIVE_INFINITY;
+        float maxX = Float.NEGATIVE_INFINITY;
+        float maxY = Float.NEGATIVE_INFINITY;
+        for (Fixture fixture : fixtures) {
+            int count = worldVertices(fixture);
+            for (int ii = 0; ii < count; ii += 2) {
+                minX = Math.min(minX, polygon[ii]);
+                maxX = Math.max(maxX, polygon[ii]);
+                minY = Math.min(minY, polygon[ii + 1]);
+                maxY = Math.max(maxY, polygon[ii + 1]);
+            }
+        }
+        if (minX > maxX) {
+            cols = 0;
+            rows = 0;
+            return;
+        }
+        originX = minX - cellSize;
+        originY = minY - cellSize;
+        cols = (int) Math.ceil((maxX - originX) / cellSize) + 1;
+        rows = (int) Math.ceil((maxY - originY) / cellSize) + 1;
+        int words = (cols * rows + 63) / 64;
+        if (solid.length < words) {
+            solid = new long[words];
+            touched = new long[words];
+        } else {
+            Arrays.fill(solid, 0);
+            Arrays.fill(touched, 0);
+        }
+
+        for (Fixture fixture : fixtures) {
+            Shape shape = fixture.getShape();
+            if (shape.getType() == Shape.Type.Polygon) {
+                rasterizePolygon(worldVertices(fixture));
+            } else if (shape.getType() == Shape.Type.Circle) {
+                CircleShape circleShape = (CircleShape) shape;
+                vertex.set(circleShape.getPosition());
+                fixture.getBody().getTransform().mul(vertex);
+                rasterizeCircle(vertex.x, vertex.y, circleShape.getRadius());
+            } else {
+                // edges and chains have no inside, they touch every cell of their bounding box
+                touchBox(worldVertices(fixture));
+            }
+        }
+    }
+
+    /**
+     * walks the cells crossed by the segment, in order, until it enters a solid cell.
+     * @return fraction of the segment in [0,1] at which it enters the first solid cell, 1 if it never does,
+     * 0 if it starts in a touched cell (the grid cannot tell what happens then)
+     */
+    public float firstHit(float x0, float y0, float x1, float y1) {
+        if (cols == 0) {
+            return 1;
+        }
+        // segment in grid coordinates
+        float gx = (x0 - originX) / cellSize;
+        float gy = (y0 - originY) / cellSize;
+        float dx = (x1 - x0) / cellSize;
+        float dy = (y1 - y0) / cellSize;
+
+        // clip to the grid (slab test)
+        float tEnter = 0;
+        float tExit = 1;
+        if (dx != 0) {
+            float ta = -gx / dx;
+            float tb = (cols - gx) / dx;
+            tEnter = Math.max(tEnter, Math.min(ta, tb));
+            tExit = Math.min(tExit, Math.max(ta, tb));
+        } else if (gx < 0 || gx >= cols) {
+            return 1;
+        }
+        if (dy != 0) {
+            float ta = -gy / dy;
+            float tb = (rows - gy) / dy;
+            tEnter = Math.max(tEnter, Math.min(ta, tb));
+            tExit = Math.min(tExit, Math.max(ta, tb));
+        } else if (gy < 0 || gy >= rows) {
+            return 1;
+        }
+        if (tEnter > tExit) {
+            return 1;
+        }
+
+        int cx = Math.min(cols - 1, Math.max(0, (int) Math.floor(gx + tEnter * dx)));
+        int cy = Math.min(rows - 1, Math.max(0, (int) Math.floor(gy + tEnter * dy)));
+        int stepX = dx > 0 ? 1 : -1;
+        int stepY = dy > 0 ? 1 : -1;
+        float tDeltaX = dx != 0 ? Math.abs(1 / dx) : Float.POSITIVE_INFINITY;
+        float tDeltaY = dy != 0 ? Math.abs(1 / dy) : Float.POSITIVE_INFINITY;
+        float tMaxX = dx > 0 ? (cx + 1 - gx) / dx : dx < 0 ? (cx - gx) / dx : Float.POSITIVE_INFINITY;
+        float tMaxY = dy > 0 ? (cy + 1 - gy) / dy : dy < 0 ? (cy - gy) / dy : Float.POSITIVE_INFINITY;
+
+        if (tEnter == 0 && isSet(touched, cy * cols + cx)) {
+            return 0;
+        }
+        float t = tEnter;
+        while (true) {
+            if (isSet(solid, cy * cols + cx)) {
+                return t;
+            }
+            if (tMaxX < tMaxY) {
+                t = tMaxX;
+                tMaxX += tDeltaX;
+                cx += stepX;
+                if (cx < 0 || cx >= cols) {
+                    break;
+                }
+            } else {
+                t = tMaxY;
+                tMaxY += tDeltaY;
+                cy += stepY;
+                if (cy < 0 || cy >= rows) {
+                    break;
+                }
+            }
+            if (t > tExit) {
+                break;
+            }
+        }
+        return 1;
+    }
+
+    /**
+     * marks the cells overlapping and inside the convex polygon in the first count values of polygon,
+     * one row of cells at a time.
+     */
+    private void rasterizePolygon(int count) {
+        float minY = polygon[1];
+        float maxY = minY;
+        for (int ii = 3; ii < count; ii += 2) {
+            minY = Math.min(minY, polygon[ii]);
+            maxY = Math.max(maxY, polygon[ii]);
+        }
+        for (int r = row(minY); r <= row(maxY); r++) {
+            float bottom = originY + r * cellSize;
+            float top = bottom + cellSize;
+
+            // horizontal extent of the polygon within the row
+            float left = Float.POSITIVE_INFINITY;
+            float right = Float.NEGATIVE_INFINITY;
+            for (int ii = 0; ii < count; ii += 2) {
+                float y = polygon[ii + 1];
+                if (y >= bottom && y <= top) {
+                    left = Math.min(left, polygon[ii]);
+                    right = Math.max(right, polygon[ii]);
+                }
+            }
+            boolean bottomCut = chord(count, bottom);
+            float bottomLeft = chordLeft;
+            float bottomRight = chordRight;
+            if (bottomCut) {
+                left = Math.min(left, bottomLeft);
+                right = Math.max(right, bottomRight);
+            }
+            boolean topCut = chord(count, top);
+            if (topCut) {
+                left = Math.min(left, chordLeft);
+                right = Math.max(right, chordRight);
+            }
+            if (left > right) {
+                continue;
+            }
+            for (int c = column(left); c <= column(right); c++) {
+                set(touched, r * cols + c);
+            }
+
+            // the polygon is convex: a cell is inside if its four corners are, i.e. if it lies within the
+            // chords of both the bottom and the top edge of the row
+            if (bottomCut && topCut) {
+                float inLeft = Math.max(bottomLeft, chordLeft);
+                float inRight = Math.min(bottomRight, chordRight);
+                int c0 = (int) Math.ceil((inLeft - originX) / cellSize);
+                int c1 = (int) Math.floor((inRight - originX) / cellSize) - 1;
+                for (int c = Math.max(0, c0); c <= Math.min(cols - 1, c1); c++) {
+                    set(solid, r * cols + c);
+                }
+            }
+        }
+    }
+
+    /**
+     * intersects the horizontal line at height y with the convex polygon in the first count values of polygon.
+     * @return whether the line crosses the polygon, in which case chordLeft and chordRight are set
+     */
+    private boolean chord(int count, float y) {
+        chordLeft = Float.POSITIVE_INFINITY;
+        chordRight = Float.NEGATIVE_INFINITY;
+        for (int ii = 0; ii < count; ii += 2) {
+            int jj = (ii + 2) % count;
+            float x1 = polygon[ii];
+            float y1 = polygon[ii + 1];
+            float x2 = polygon[jj];
+            float y2 = polygon[jj + 1];
+            if ((y < y1) == (y < y2) && y != y1 && y != y2) {
+                continue;
+            }
+            float x = y1 == y2 ? x1 : x1 + (y - y1) / (y2 - y1) * (x2 - x1);
+            chordLeft = Math.min(chordLeft, Math.min(x, y1 == y2 ? x2 : x));
+            chordRight = Math.max(chordRight, Math.max(x, y1 == y2 ? x2 : x));
+        }
+        return chordLeft <= chordRight;
+    }
+
+    /** marks the cells overlapping the bounding box of the first count values of polygon as touched */
+    private void touchBox(int count) {
+        float minX = Float.POSITIVE_INFINITY;
+        float minY = Float.POSITIVE_INFINITY;
+        float maxX = Float.NEGATIVE_INFINITY;
+        float maxY = Float.NEGATIVE_INFINITY;
+        for (int ii = 0; ii < count; ii += 2) {
+            minX = Math.min(minX, polygon[ii]);
+            maxX = Math.max(maxX, polygon[ii]);
+            minY = Math.min(minY, polygon[ii + 1]);
+            maxY = Math.max(maxY, polygon[ii + 1]);
+        }
+        for (int r = row(minY); r <= row(maxY); r++) {
+            for (int c = column(minX); c <= column(maxX); c++) {
+                set(touched, r * cols + c);
+            }
+        }
+    }
+
+    /** marks the cells inside and overlapping the circle */
+    private void rasterizeCircle(float x, float y, float radius) {
+        float radius2 = radius * radius;
+        for (int r = row(y - radius); r <= row(y + radius); r++) {
+            float bottom = originY + r * cellSize;
+            float farY = Math.max(Math.abs(bottom - y), Math.abs(bottom + cellSize - y));
+            float nearY = y - Math.max(bottom, Math.min(y, bottom + cellSize));
+            for (int c = column(x - radius); c <= column(x + radius); c++) {
+                float left = originX + c * cellSize;
+                float farX = Math.max(Math.abs(left - x), Math.abs(left + cellSize - x));
+                float nearX = x - Math.max(left, Math.min(x, left + cellSize));
+                int bit = r * cols + c;
+                // the nearest point of the cell decides whether it is touched, the farthest corner if it is inside
+                if (nearX * nearX + nearY * nearY <= radius2) {
+                    set(touched, bit);
+                    if (farX * farX + farY * farY <= radius2) {
+                        set(solid, bit);
+                    }
+                }
+            }
+        }
+    }
+
+    /** sets a bit of a mask */
+    private static void set(long[] mask, int bit) {
+        mask[bit >>> 6] |= 1L << bit;
+    }
+
+    /** @return whether a bit of a mask is set */
+    private static boolean isSet(long[] mask, int bit) {
+        return (mask[bit >>> 6] & (1L << bit)) != 0;
+    }
+
+    /**
+     * loads the world coordinates of the vertices of the fixture's shape into the polygon cache
+     * (circles are approximated by their bounding box).
+     * @return number of values written (2 per vertex)
+     */
+    private int worldVertices(Fixture fixture) {
+        Shape shape = fixture.getShape();
+        Transform transform = fixture.getBody().getTransform();
+        int count = 0;
+        switch (shape.getType()) {
+            case Polygon:
+                PolygonShape polygonShape = (PolygonShape) shape;
+                for (int ii = 0; ii < polygonShape.getVertexCount(); ii++) {
+                    polygonShape.getVertex(ii, vertex);
+                    count = addVertex(transform.mul(vertex), count);
+                }
+                break;
+            case Circle:
+                CircleShape circleShape = (CircleShape) shape;
+                float radius = circleShape.getRadius();
+                vertex.set(circleShape.getPosition());
+                transform.mul(vertex);
+                float x = vertex.x;
+                float y = vertex.y;
+                count = addVertex(vertex.set(x - radius, y - radius), count);
+                count = addVertex(vertex.set(x + radius, y + radius), count);
+                break;
+            case Edge:
+                EdgeShape edgeShape = (EdgeShape) shape;
+                edgeShape.getVertex1(vertex);
+                count = addVertex(transform.mul(vertex), count);
+                edgeShape.getVertex2(vertex);
+                count = addVertex(transform.mul(vertex), count);
+                break;
+            case Chain:
+                ChainShape chainShape = (ChainShape) shape;
+                for (int ii = 0; ii < chainShape.getVertexCount(); ii++) {
+                    chainShape.getVertex(ii, vertex);
+                    count = addVertex(transform.mul(vertex), count);
+                }
+                break;
+        }
+        return count;
+    }
+
+    /** appends a vertex to the polygon cache, growing it if needed */
+    private int addVertex(Vector2 v, int count) {
+        if (count + 2 > polygon.length) {
+            float[] grown = new float[polygon.length * 2];
+            System.arraycopy(polygon, 0, grown, 0, count);
+            polygon = grown;
+        }
+        polygon[count] = v.x;
+        polygon[count + 1] = v.y;
+        return count + 2;
+    }
+
+    /** @return the grid column containing x, clamped to the grid */
+    private int column(float x) {
+        return Math.min(cols - 1, Math.max(0, (int) Math.floor((x - originX) / cellSize)));
+    }
+
+    /** @return the grid row containing y, clamped to the grid */
+    private int row(float y) {
+        return Math.min(rows - 1, Math.max(0, (int) Math.floor((y - originY) / cellSize)));
+    }
+}
@@ -0,0 +1,268 @@
+package com.mygdx.game.utility.util;
+
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.IntMap;
+import com.badlogic.gdx.utils.ObjectIntMap;
+import com.mygdx.game.utility.obstacle.SimpleObstacle;
+
+/**
+ * The drawables of a level in draw order: one bucket per depth, drawn from the greatest depth to the smallest. <br>
+ * Each bucket keeps its drawables in a flat array in insertion order, so drawables can be added (appended to the
+ * bucket of their depth) and removed (cleared in place, the bucket is compacted before it is walked again) in O(1)
+ * while the level runs, without re-sorting anything. <br>
+ * Drawables that never move are also registered in a DrawableGrid, so that collecting the visible drawables only
+ * looks at the static drawables near the view. Drawables that move, and those without a meaningful bounding box
+ * (tiled layers), are always collected. <br>
+ * Once a level is built, the static drawables of each bucket are grouped by texture where that cannot change the
+ * picture: a drawable is only moved before drawables it does not overlap, and never past a movable drawable.
+ */
+public class RenderQueue {
+
+    /** grid id of the drawables that are always collected */
+    private static final int ALWAYS = -1;
+
+    /** grid id of static drawables added before the queue was built */
+    private static final int UNREGISTERED = -2;
+
+    /** the drawables of one depth */
+    private static class Bucket {
+        /** the depth of all drawables of this bucket */
+        final int depth;
+        /** the drawables in draw order (null for removed drawables) */
+        final Array<Drawable> drawables = new Array<>(true, 16, Drawable.class);
+        /** per drawable, its grid id (or ALWAYS / UNREGISTERED) */
+        final IntArray ids = new IntArray();
+        /** number of removed drawables still in the arrays */
+        int holes;
+
+        Bucket(int depth) {
+            this.depth = depth;
+        }
+    }
+
+    /** the buckets, by decreasing depth (draw order) */
+    private final Array<Bucket> buckets = new Array<>();
+
+    /** the bucket of each depth */
+    private final IntMap<Bucket> byDepth = new IntMap<>();
+
+    /** the index of every drawable in its bucket */
+    private final ObjectIntMap<Drawable> slots = new ObjectIntMap<>();
+
+    /** the static drawables indexed by location */
+    private final DrawableGrid grid;
+
+    /** whether the static drawables have been registered in the grid */
+    private boolean built;
+
+    /** cache for grouping a bucket by texture */
+    private final Array<Drawable> groupCache = new Array<>();
+
+    /** cache for grouping a bucket by texture */
+    private final IntArray groupIdCache = new IntArray();
+
+    /**
+     * creates an empty queue.
+     * @param cellSize side length of a cell of the grid of static drawables (game standardized units)
+     */
+    public RenderQueue(float cellSize) {
+        grid = new DrawableGrid(cellSize);
+    }
+
+    /**
+     * removes all drawables.
+     */
+    public void clear() {
+        buckets.clear();
+        byDepth.clear();
+        slots.clear();
+        built = false;
+    }
+
+    /**
+     * adds a drawable at the end of the bucket of its depth. <br>
+     * Static drawables added after build() are registered in the grid right away.
+     * @param drawable the drawable (must not be in the queue already)
+     * @param movable whether the drawable can move or has no meaningful bounding box (always collected)
+     */
+    public void add(Drawable drawable, boolean movable) {
+        int depth = drawable.getDepth();
+        Bucket bucket = byDepth.get(depth);
+        if (bucket == null) {
+            bucket = new Bucket(depth);
+            byDepth.put(depth, bucket);
+            int index = 0;
+            while (index < buckets.size && buckets.get(index).depth > depth) {
+                index++;
+            }
+            buckets.insert(index, bucket);
+        }
+        slots.put(drawable, bucket.drawables.size);
+        bucket.drawables.add(drawable);
+        if (movable) {
+            bucket.ids.add(ALWAYS);
+        } else {
+            bucket.ids.add(built ? grid.add(drawable) : UNREGISTERED);
+        }
+    }
+
+    /**
+     * removes a drawable from the queue (does nothing if it is not in the queue).
+     * @param drawable the drawable to remove
+     */
+    public void remove(Drawable drawable) {
+        int slot = slots.remove(drawable, -1);
+        if (slot < 0) {
+            return;
+        }
+        Bucket bucket = byDepth.get(drawable.getDepth());
+        bucket.drawables.set(slot, null);
+        bucket.holes++;
+    }
+
+    /**
+     * @param drawable a drawable
+     * @return whether the drawable is in the queue
+     */
+    public boolean contains(Drawable drawable) {
+        return slots.containsKey(drawable);
+    }
+
+    /**
+     * groups the static drawables of every bucket by texture and registers them in the grid. <br>
+     * Call once all drawables of the level have been added.
+     * @param width world width
+     * @param height world height
+     */
+    public void build(float width, float height) {
+        grid.reset(width, height);
+        for (Bucket bucket : buckets) {
+            compact(bucket);
+            groupByTexture(bucket);
+            for (int ii = 0; ii < bucket.drawables.size; ii++) {
+                if (bucket.ids.get(ii) != ALWAYS) {
+                    bucket.ids.set(ii, grid.add(bucket.drawables.get(ii)));
+                }
+            }
+        }
+        built = true;
+    }
+
+    /**
+     * collects the drawables that may overlap the given rectangle, in draw order. <br>
+     * Static drawables are only returned if their grid cells overlap the rectangle; callers still need to test
+     * the exact bounding box.
+     * @param left left edge of the view
+     * @param bottom bottom edge of the view
+     * @param right right edge of the view
+     * @param top top edge of the view
+     * @param out cleared and filled with the candidate drawables
+     */
+    public void collect(float left, float bottom, float right, float top, Array<Drawable> out) {
+        out.clear();
+        grid.query(left, bottom, right, top);
+        for (Bucket bucket : buckets) {
+            compact(bucket);
+            Drawable[] drawables = bucket.drawables.items;
+            int[] ids = bucket.ids.items;
+            for (int ii = 0; ii < bucket.drawables.size; ii++) {
+                int id = ids[ii];
+                if (id == ALWAYS || id == UNREGISTERED || grid.isMarked(id)) {
+                    out.add(drawables[ii]);
+                }
+            }
+        }
+    }
+
+    /**
+     * drops the removed drawables of the bucket, keeping the order of the others.
+     */
+    private void compact(Bucket bucket) {
+        if (bucket.holes == 0) {
+            return;
+        }
+        Drawable[] drawables = bucket.drawables.items;
+        int[] ids = bucket.ids.items;
+        int size = 0;
+        for (int ii = 0; ii < bucket.drawables.size; ii++) {
+            Drawable drawable = drawables[ii];
+            if (drawable == null) {
+                continue;
+            }
+            if (size != ii) {
+                drawables[size] = drawable;
+                ids[size] = ids[ii];
+                slots.put(drawable, size);
+            }
+            size++;
+        }
+        bucket.drawables.truncate(size);
+        bucket.ids.size = size;
+        bucket.holes = 0;
+    }
+
+    /**
+     * moves every static drawable of the bucket right after the closest earlier drawable with the same texture,
+     * if it does not overlap any drawable in between and none of them can move.
+     */
+    private void groupByTexture(Bucket bucket) {
+        groupCache.clear();
+        groupIdCache.clear();
+        for (int ii = 0; ii < bucket.drawables.size; ii++) {
+            Drawable drawable = bucket.drawables.get(ii);
+            int id = bucket.ids.get(ii);
+            int index = groupCache.size;
+            Texture texture = id == ALWAYS ? null : textureOf(drawable);
+            if (texture != null) {
+                for (int jj = groupCache.size - 1; jj >= 0; jj--) {
+                    Drawable other = groupCache.get(jj);
+                    if (groupIdCache.get(jj) == ALWAYS || overlaps(drawable, other)) {
+                        break;
+                    }
+                    if (textureOf(other) == texture) {
+                        index = jj + 1;
+                        break;
+                    }
+                }
+            }
+            groupCache.insert(index, drawable);
+            groupIdCache.insert(index, id);
+        }
+        for (int ii = 0; ii < groupCache.size; ii++) {
+            bucket.drawables.set(ii, groupCache.get(ii));
+            bucket.ids.set(ii, groupIdCache.get(ii));
+            slots.put(groupCache.get(ii), ii);
+        }
+        groupCache.clear();
+    }
+
+    /** @return the texture the drawable is drawn with, or null if it is unknown or changes */
+    private static Texture textureOf(Drawable drawable) {
+        TextureRegion region = null;
+        if (drawable instanceof SimpleObstacle) {
+            region = ((SimpleObstacle) drawable).getTexture();
+        } else if (drawable instanceof Sticker && !(drawable instanceof AnimatedSticker)) {
+            region = ((Sticker) drawable).texture;
+        }
+        return region == null ? null : region.getTexture();
+    }
+
+    /** @return whether the bounding boxes of the two drawables overlap */
+    private static boolean overlaps(Drawable a, Drawable b) {
+        Vector2 corner = a.getBoxCorner();
+        float aLeft = corner.x;
+        float aTop = corner.y;
+        Vector2 dimensions = a.getDimensions();
+        float aRight = aLeft + dimensions.x;
+        float aBottom = aTop - dimensions.y;
+        corner = b.getBoxCorner();
+        float bLeft = corner.x;
+        float bTop = corner.y;
+        dimensions = b.getDimensions();
+        return aLeft <= bLeft + dimensions.x && bLeft <= aRight && aBottom <= bTop && bTop - dimensions.y <= aTop;
+    }
+}
@@ -4,7 +4,6 @@ import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.physics.box2d.PolygonShape;
-import com.badlogic.gdx.utils.JsonValue;
 import com.mygdx.game.GameCanvas;
 
 /**
@@ -43,38 +42,40 @@ public class Sticker implements Drawable {
      * @param y position y coordinate
      * @param angle rotational angle in radians
      * @param depth sticker draw depth
-     * @param AABB the JSON data containing box data
+     * @param aabb the box data {corner bx, corner by, AABB physics width, AABB physics height} (not modified)
      * @param texture the texture (with flipping already applied)
      */
-    public Sticker(float x, float y, float angle, int depth, JsonValue AABB, TextureRegion texture){
+    public Sticker(float x, float y, float angle, int depth, float[] aabb, TextureRegion texture){
         pos.set(x,y);
-        // AABB[0 ... 3] = {corner bx, corner by, AABB physics width, AABB physics height}
-        float[] aabb = AABB.asFloatArray();
         this.angle = angle;
         float width = aabb[2];
         float height = aabb[3];
         size.set(width, height);
+        float boxWidth = width;
+        float boxHeight = height;
+        float bx = aabb[0];
+        float by = aabb[1];
         if (this.angle != 0){
             // need to compute new AABB (preferable rotational angles are pi/2, pi, 3pi/2)
             double psin = Math.abs(Math.sin(angle));
             double pcos = Math.abs(Math.cos(angle));
             // set new box dimensions
-            aabb[2] = (float) (height * psin + width * pcos);
-            aabb[3] = (float) (width * psin + height * pcos);
+            boxWidth = (float) (height * psin + width * pcos);
+            boxHeight = (float) (width * psin + height * pcos);
             // new box left corner (cartesian coordinate, relative to center of sticker)
-            aabb[0] = -aabb[2]/2f;
-            aabb[1] = aabb[3]/2f;
+            bx = -boxWidth/2f;
+            by = boxHeight/2f;
         }
-        boxDimensions.set(aabb[2], aabb[3]);
-        corner.set(aabb[0],aabb[1]).add(pos);
+        boxDimensions.set(boxWidth, boxHeight);
+        corner.set(bx, by).add(pos);
         this.texture = texture;
         this.depth = depth;
         this.drawScale = new Vector2(1,1);
         this.cache = new Vector2();
         shape = new PolygonShape();
         float[] vertices = new float[]{
-                -aabb[2]/2f, -aabb[3]/2f, -aabb[2]/2f, aabb[3]/2f,
-                aabb[2]/2f, aabb[3]/2f, aabb[2]/2f,-aabb[3]/2f
+                -boxWidth/2f, -boxHeight/2f, -boxWidth/2f, boxHeight/2f,
+                boxWidth/2f, boxHeight/2f, boxWidth/2f,-boxHeight/2f
         };
         shape.set(vertices);
     }
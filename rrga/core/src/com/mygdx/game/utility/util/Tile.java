@@ -1,36 +1,35 @@
 package com.mygdx.game.utility.util;
 
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 
 /**
  * A tile is a square texture region cut from a tileset.
  * To render a tile correctly, retrieve the rotation and flipping properties to be used by a drawing context.
+ * <br>
+ * Tiles are immutable and share their texture region with every other tile of the same tileset id, so a tile
+ * can be shared between cells and read from any thread.
  */
 public class Tile {
 
-    private boolean flipX;
+    private final boolean flipX;
 
-    private boolean flipY;
+    private final boolean flipY;
 
-    private float angle;
+    private final float angle;
 
-    /** this should be a reference to the filmstrip (tileset but optimized for memory) */
-    private final FilmStrip textureFilmStrip;
-
-    private final int frameId;
-
-    public Tile(FilmStrip textureFilmStrip, int frameId){
-        this.textureFilmStrip = textureFilmStrip;
-        this.frameId = frameId;
-        angle = 0;
-    }
+    /** the region of this tile in the tileset texture (shared, never modified) */
+    private final TextureRegion region;
 
     /**
-     * set the COUNTER-CLOCKWISE rotation of this tile in RADIANS
-     * @param angle one of 0, PI/2, PI, 3PI/2
+     * @param region the region of the tile in its tileset (shared, not modified)
+     * @param flipX whether to flip the region horizontally
+     * @param flipY whether to flip the region vertically
+     * @param angle the COUNTER-CLOCKWISE rotation in RADIANS, one of 0, PI/2, PI, 3PI/2
      */
-    public void setRotation(float angle){
+    public Tile(TextureRegion region, boolean flipX, boolean flipY, float angle){
+        this.region = region;
+        this.flipX = flipX;
+        this.flipY = flipY;
         this.angle = angle;
     }
 
@@ -41,11 +40,6 @@ public class Tile {
         return this.angle;
     }
 
-    public void setFlip(boolean flipX, boolean flipY){
-        this.flipX = flipX;
-        this.flipY = flipY;
-    }
-
     public boolean isFlipX() {
         return flipX;
     }
@@ -55,17 +49,11 @@ public class Tile {
     }
 
     /**
+     * NOTE: the region is shared by all tiles with the same tileset id and must not be modified.
      * @return reference to tile texture region selected from tileset
      */
     public TextureRegion getRegion(){
-        textureFilmStrip.setFrame(this.frameId);
-        // cut out region starting from second left corner of each 130x130 tile
-        int x = textureFilmStrip.getRegionX() + 1;
-        int y = textureFilmStrip.getRegionY() + 1;
-        int width = textureFilmStrip.getRegionWidth() - 2;
-        int height = textureFilmStrip.getRegionHeight() - 2;
-        textureFilmStrip.setRegion(x, y, width, height);
-        return textureFilmStrip;
+        return region;
     }
 
     /**
@@ -73,7 +61,7 @@ public class Tile {
      * @return deep copy of reference to tile texture region selected from tileset
      */
     public TextureRegion getRegionCopy(){
-        return new TextureRegion(this.getRegion());
+        return new TextureRegion(region);
     }
 
 }
@@ -1,14 +1,28 @@
 package com.mygdx.game.utility.util;
 
 import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.SpriteCache;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.IntArray;
 import com.mygdx.game.GameCanvas;
 
 /**
  * A TiledLayer is a grid of tiles, represented by a tiled layer in Tiled editor.
+ * <br>
+ * Tiles never change, so their geometry is baked into a SpriteCache the first time the layer is drawn:
+ * one cache entry per chunk of CHUNK_SIZE x CHUNK_SIZE tiles. Drawing the layer then submits one entry per
+ * visible chunk instead of one sprite per visible tile. The cache holds GL resources and must be disposed
+ * (on the render thread) once the layer is no longer used.
  */
-public class TiledLayer implements Drawable {
+public class TiledLayer implements Drawable, Disposable {
+
+    /** side length of a cached chunk, in tiles */
+    private static final int CHUNK_SIZE = 16;
+
+    /** most sprites a SpriteCache can hold when using indices */
+    private static final int MAX_INDEXED_SPRITES = 8191;
 
     private final int drawDepth;
 
@@ -26,11 +40,33 @@ public class TiledLayer implements Drawable {
 
     private final Tile[] tiles;
 
+    /** number of chunk columns and rows */
+    private final int chunksX, chunksY;
+
+    /** baked tile geometry, null until first drawn */
+    private SpriteCache cache;
+
+    /** the draw scale the cache was built with */
+    private final Vector2 cacheScale = new Vector2();
+
+    /** per chunk, its cache id or -1 if the chunk has no tiles */
+    private final int[] chunkIds;
+
+    /** per chunk, its number of tiles */
+    private final int[] chunkTiles;
+
+    /** cache of the chunk ids to draw this frame */
+    private final IntArray visibleChunks = new IntArray();
+
     public TiledLayer(Tile[] tiles, int drawDepth, int width, int height){
         this.tiles = tiles;
         this.drawDepth = drawDepth;
         this.width = width;
         this.height = height;
+        chunksX = (width + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        chunksY = (height + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        chunkIds = new int[chunksX * chunksY];
+        chunkTiles = new int[chunksX * chunksY];
     }
 
     @Override
@@ -73,28 +109,78 @@ public class TiledLayer implements Drawable {
      */
     public void draw(GameCanvas canvas, float cx, float cy, float rx, float ry){
         tilesDrawn = 0;
+        if (cache == null || !cacheScale.equals(drawScale)) {
+            buildCache();
+        }
         int centerTileX = (int) (cx);
         int centerTileY = (int) (cy);
         int minX = (int) Math.max(0, Math.floor(centerTileX - rx));
         int maxX = (int) Math.min(width- 1, Math.ceil(centerTileX + rx));
         int minY = (int) Math.max(0, Math.floor(centerTileY - ry));
         int maxY = (int) Math.min(height - 1, Math.ceil(centerTileY + ry));
-        // draw a grid of tiles around the camera's tile
-        // O(dw * dh)
-        for (int j = minY; j <= maxY; j++) {
-            for (int i = minX; i <= maxX; i++) {
-                int idx = j * width + i;
-                Tile tile = tiles[idx];
-                if (tile != null) {
-                    int effectX = tile.isFlipX() ? -1 : 1;
-                    int effectY = tile.isFlipY() ? -1 : 1;
-                    TextureRegion t = tile.getRegion();
-                    canvas.draw(t, Color.WHITE, (int)(t.getRegionWidth()/2f), (int)(t.getRegionHeight()/2f),
-                            (int)((i + 0.5f) * drawScale.x), (int) ((j + 0.5f) * drawScale.y), tile.getRotationRad(),
-                            effectX * drawScale.x/t.getRegionWidth(),
-                            effectY * drawScale.y/t.getRegionHeight()
-                    );
-                    tilesDrawn++;
+        if (minX > maxX || minY > maxY) {
+            return;
+        }
+        // draw the chunks overlapping the grid of tiles around the camera's tile
+        visibleChunks.clear();
+        for (int cj = minY / CHUNK_SIZE; cj <= maxY / CHUNK_SIZE; cj++) {
+            for (int ci = minX / CHUNK_SIZE; ci <= maxX / CHUNK_SIZE; ci++) {
+                int chunk = cj * chunksX + ci;
+                if (chunkIds[chunk] >= 0) {
+                    visibleChunks.add(chunkIds[chunk]);
+                    tilesDrawn += chunkTiles[chunk];
+                }
+            }
+        }
+        canvas.drawCache(cache, visibleChunks);
+    }
+
+    /**
+     * bakes every tile into the sprite cache, one cache entry per chunk, at the current draw scale.
+     * Tiles are placed exactly where drawing them one by one through GameCanvas would put them.
+     */
+    private void buildCache() {
+        if (cache != null) {
+            cache.dispose();
+        }
+        int count = 0;
+        for (Tile tile : tiles) {
+            if (tile != null) count++;
+        }
+        cache = new SpriteCache(Math.max(1, count), count <= MAX_INDEXED_SPRITES);
+        cacheScale.set(drawScale);
+        for (int cj = 0; cj < chunksY; cj++) {
+            for (int ci = 0; ci < chunksX; ci++) {
+                int chunk = cj * chunksX + ci;
+                chunkIds[chunk] = -1;
+                chunkTiles[chunk] = 0;
+                int maxY = Math.min(height, (cj + 1) * CHUNK_SIZE);
+                int maxX = Math.min(width, (ci + 1) * CHUNK_SIZE);
+                for (int j = cj * CHUNK_SIZE; j < maxY; j++) {
+                    for (int i = ci * CHUNK_SIZE; i < maxX; i++) {
+                        Tile tile = tiles[j * width + i];
+                        if (tile == null) {
+                            continue;
+                        }
+                        if (chunkTiles[chunk] == 0) {
+                            cache.beginCache();
+                        }
+                        int effectX = tile.isFlipX() ? -1 : 1;
+                        int effectY = tile.isFlipY() ? -1 : 1;
+                        TextureRegion t = tile.getRegion();
+                        float ox = (int)(t.getRegionWidth()/2f);
+                        float oy = (int)(t.getRegionHeight()/2f);
+                        cache.add(t, (int)((i + 0.5f) * drawScale.x) - ox, (int) ((j + 0.5f) * drawScale.y) - oy,
+                                ox, oy, t.getRegionWidth(), t.getRegionHeight(),
+                                effectX * drawScale.x/t.getRegionWidth(),
+                                effectY * drawScale.y/t.getRegionHeight(),
+                                180.0f * tile.getRotationRad() / (float) Math.PI
+                        );
+                        chunkTiles[chunk]++;
+                    }
+                }
+                if (chunkTiles[chunk] > 0) {
+                    chunkIds[chunk] = cache.endCache();
                 }
             }
         }
@@ -109,4 +195,15 @@ public class TiledLayer implements Drawable {
     public void drawDebug(GameCanvas canvas) {
         // nothing happens, too inefficient to draw box for every tile.
     }
+
+    /**
+     * releases the baked tile geometry. The layer can still be drawn afterwards, which rebuilds the cache.
+     */
+    @Override
+    public void dispose() {
+        if (cache != null) {
+            cache.dispose();
+            cache = null;
+        }
+    }
 }
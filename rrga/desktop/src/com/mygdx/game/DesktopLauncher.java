@@ -7,7 +7,9 @@ import com.badlogic.gdx.backends.lwjgl3.Lwjgl3ApplicationConfiguration;
 public class DesktopLauncher {
 	public static void main (String[] arg) {
 		Lwjgl3ApplicationConfiguration config = new Lwjgl3ApplicationConfiguration();
-		config.setForegroundFPS(60);
+		// the simulation runs in fixed steps (see GameMode.update), so the frame rate is only capped by vsync
+		config.setForegroundFPS(0);
+		config.useVsync(true);
 		config.setTitle("Gale");
 		config.setResizable(true);
 		// Default size for Physics Lab 4
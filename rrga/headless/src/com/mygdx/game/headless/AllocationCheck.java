@@ -0,0 +1,111 @@
+package com.mygdx.game.headless;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.utils.JsonReader;
+import com.badlogic.gdx.utils.JsonValue;
+import com.mygdx.game.utility.util.AllocationCounter;
+
+/**
+ * Build-time check of the no-allocation contract of the gameplay loop (Obstacle.update and everything else
+ * GameplayController runs per frame).
+ * <br>
+ * Usage (working directory must be the assets folder):
+ * <pre>
+ * AllocationCheck [level|first-last] [frames] [script.json]
+ * </pre>
+ * Every level is played twice with the same input. The first run warms up the level: classes are loaded,
+ * caches and pools are grown and code paths are reached for the first time. The second run is measured: at most
+ * MAX_ALLOCATING_FRAMES of its frames may allocate anything, the process exits with status 1 otherwise. The
+ * verdict counts frames rather than bytes: the VM allocates a few hundred bytes now and then when it recompiles
+ * code, in a frame or two at unpredictable times, while game code that allocates does so in every frame that
+ * runs it (every frame of the run, or every frame of an event such as a bird attack). Levels that end early
+ * keep being stepped, so every level is measured over the same number of frames.
+ * <br>
+ * Drawing is not checked here: there is no canvas without a GL context. GameMode logs the draw allocations
+ * in debug mode instead.
+ */
+public class AllocationCheck extends ApplicationAdapter {
+
+    /** fraction of the measured frames of a level that may allocate */
+    private static final float MAX_ALLOCATING_FRAMES = 0.05f;
+
+    private final int firstLevel;
+    private final int lastLevel;
+    private final int frames;
+    private final String scriptFile;
+
+    public AllocationCheck(int firstLevel, int lastLevel, int frames, String scriptFile) {
+        this.firstLevel = firstLevel;
+        this.lastLevel = lastLevel;
+        this.frames = frames;
+        this.scriptFile = scriptFile;
+    }
+
+    @Override
+    public void create() {
+        if (!AllocationCounter.isSupported()) {
+            System.out.println("allocation counting is not supported by this VM, skipping the check");
+            Gdx.app.exit();
+            return;
+        }
+        HeadlessSimulation sim = new HeadlessSimulation();
+        if (scriptFile != null) {
+            sim.setScript(new JsonReader().parse(Gdx.files.internal(scriptFile)));
+        }
+        int last = lastLevel;
+        if (last < 0) {
+            last = sim.getDirectory().getEntry("global:constants", JsonValue.class).getInt("levelCount");
+        }
+
+        AllocationCounter counter = new AllocationCounter("step", false);
+        int failures = 0;
+        for (int level = firstLevel; level <= last; level++) {
+            sim.loadLevel(level);
+            for (int ii = 0; ii < frames; ii++) {
+                sim.step();
+            }
+
+            sim.loadLevel(level);
+            counter.reset();
+            for (int ii = 0; ii < frames; ii++) {
+                counter.begin();
+                sim.step();
+                counter.end();
+            }
+            System.out.printf("level %d: %d bytes in %d frames, %d frames allocated%n",
+                    level, counter.getAllocated(), counter.getMeasured(), counter.getAllocating());
+            if (counter.getAllocating() > MAX_ALLOCATING_FRAMES * counter.getMeasured()) {
+                failures++;
+            }
+        }
+        sim.dispose();
+
+        if (failures > 0) {
+            System.out.println(failures + " level(s) allocate in more than "
+                    + Math.round(MAX_ALLOCATING_FRAMES * 100) + "% of their frames");
+            System.exit(1);
+        }
+        Gdx.app.exit();
+    }
+
+    public static void main(String[] arg) {
+        int first = 1;
+        int last = -1;
+        int frames = 1800;
+        String script = null;
+        if (arg.length > 0) {
+            String[] range = arg[0].split("-");
+            first = Integer.parseInt(range[0]);
+            last = range.length > 1 ? Integer.parseInt(range[1]) : first;
+        }
+        if (arg.length > 1) frames = Integer.parseInt(arg[1]);
+        if (arg.length > 2) script = arg[2];
+
+        HeadlessApplicationConfiguration config = new HeadlessApplicationConfiguration();
+        config.updatesPerSecond = -1;
+        new HeadlessApplication(new AllocationCheck(first, last, frames, script), config);
+    }
+}
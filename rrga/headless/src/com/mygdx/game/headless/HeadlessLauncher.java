@@ -0,0 +1,79 @@
+package com.mygdx.game.headless;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.utils.JsonReader;
+
+/**
+ * Runs levels without a window: no Lwjgl3Application, GL context or audio device.
+ * <br>
+ * Usage (working directory must be the assets folder):
+ * <pre>
+ * HeadlessLauncher [level|first-last] [frames] [script.json]
+ * </pre>
+ * For every level the final player state and the stepping throughput are printed, so two
+ * builds can be compared for both behaviour (diff the state lines) and speed.
+ */
+public class HeadlessLauncher extends ApplicationAdapter {
+
+    private final int firstLevel;
+    private final int lastLevel;
+    private final int frames;
+    private final String scriptFile;
+
+    public HeadlessLauncher(int firstLevel, int lastLevel, int frames, String scriptFile) {
+        this.firstLevel = firstLevel;
+        this.lastLevel = lastLevel;
+        this.frames = frames;
+        this.scriptFile = scriptFile;
+    }
+
+    @Override
+    public void create() {
+        long start = System.nanoTime();
+        HeadlessSimulation sim = new HeadlessSimulation();
+        System.out.printf("assets loaded in %.1f ms%n", (System.nanoTime() - start) / 1e6);
+
+        if (scriptFile != null) {
+            sim.setScript(new JsonReader().parse(Gdx.files.internal(scriptFile)));
+        }
+
+        for (int level = firstLevel; level <= lastLevel; level++) {
+            start = System.nanoTime();
+            sim.loadLevel(level);
+            long loaded = System.nanoTime();
+            int n = sim.run(frames);
+            long end = System.nanoTime();
+
+            double stepMs = (end - loaded) / 1e6;
+            System.out.printf("level %d: load %.1f ms, %d frames in %.1f ms (%.0f frames/s, %.1fx real time)%n",
+                    level, (loaded - start) / 1e6, n, stepMs, n / (stepMs / 1000),
+                    n * 1000.0 / 60 / stepMs);
+            System.out.println("level " + level + ": " + sim.describe());
+        }
+
+        sim.dispose();
+        Gdx.app.exit();
+    }
+
+    public static void main(String[] arg) {
+        int first = 1;
+        int last = 1;
+        int frames = 3600;
+        String script = null;
+        if (arg.length > 0) {
+            String[] range = arg[0].split("-");
+            first = Integer.parseInt(range[0]);
+            last = range.length > 1 ? Integer.parseInt(range[1]) : first;
+        }
+        if (arg.length > 1) frames = Integer.parseInt(arg[1]);
+        if (arg.length > 2) script = arg[2];
+
+        HeadlessApplicationConfiguration config = new HeadlessApplicationConfiguration();
+        // all the work happens in create(), we never need render()
+        config.updatesPerSecond = -1;
+        new HeadlessApplication(new HeadlessLauncher(first, last, frames, script), config);
+    }
+}
@@ -0,0 +1,237 @@
+package com.mygdx.game.headless;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.JsonValue;
+import com.mygdx.game.GameplayController;
+import com.mygdx.game.LevelParser;
+import com.mygdx.game.model.PlayerModel;
+import com.mygdx.game.utility.assets.AssetDirectory;
+
+/**
+ * Drives the gameplay loop of a single level without a window, GL context or audio device.
+ * <br>
+ * This mirrors the per-frame work of GameMode (read input, update, postUpdate) minus the
+ * drawing, camera and show-goal intro, so that a level can be stepped as fast as the CPU
+ * allows. It must be used from inside a running libGDX application (e.g. HeadlessApplication)
+ * so that Gdx.files, Gdx.audio and the natives are available.
+ */
+public class HeadlessSimulation {
+
+    /** default gravity used by GameMode */
+    private static final float DEFAULT_GRAVITY = -4.9f;
+
+    /** the asset directory (owned by this simulation when it loaded it) */
+    private final AssetDirectory directory;
+    /** whether dispose() should unload the directory */
+    private final boolean ownsDirectory;
+
+    private final LevelParser parser;
+    private final GameplayController gameplayController;
+    private final Rectangle bounds = new Rectangle();
+    private final Vector2 scale = new Vector2(1, 1);
+
+    /** input script replayed every time a level is loaded */
+    private JsonValue script;
+    private ScriptedInputController input;
+
+    /** number of frames stepped since the last level load */
+    private int frame;
+
+    /**
+     * Installs a no-op GL implementation if there is no GL context.
+     * Must be called before any texture is created.
+     */
+    public static void installStubGL() {
+        if (Gdx.gl == null) {
+            Gdx.gl = Gdx.gl20 = StubGL20.create();
+        }
+    }
+
+    /**
+     * Loads the given asset directory synchronously.
+     *
+     * @param file asset directory file name (relative to the assets folder)
+     * @return the loaded directory
+     */
+    public static AssetDirectory loadAssets(String file) {
+        installStubGL();
+        AssetDirectory directory = new AssetDirectory(file);
+        directory.loadAssets();
+        directory.finishLoading();
+        return directory;
+    }
+
+    /**
+     * Creates a simulation that loads (and owns) the default "assets.json" directory.
+     */
+    public HeadlessSimulation() {
+        this(loadAssets("assets.json"), true);
+    }
+
+    /**
+     * Creates a simulation over an already loaded asset directory.
+     *
+     * @param directory the loaded asset directory
+     * @param ownsDirectory whether dispose() should unload the directory
+     */
+    public HeadlessSimulation(AssetDirectory directory, boolean ownsDirectory) {
+        this.directory = directory;
+        this.ownsDirectory = ownsDirectory;
+        installStubGL();
+
+        gameplayController = new GameplayController(bounds, new Vector2(0, DEFAULT_GRAVITY));
+        gameplayController.gatherAssets(directory);
+        gameplayController.setScale(scale);
+        parser = new LevelParser(directory);
+        gameplayController.getLevelContainer().setParser(parser);
+    }
+
+    /**
+     * Sets the input script replayed from the start of every level load.
+     *
+     * @param script JSON array of input segments (see ScriptedInputController), or null for idle
+     */
+    public void setScript(JsonValue script) {
+        this.script = script;
+    }
+
+    /**
+     * Parses and populates the given level, exactly like GameMode.reset().
+     * The precompiled form of the level is used when present.
+     *
+     * @param level level number (asset key "tiled:level" + level)
+     */
+    public void loadLevel(int level) {
+        parser.parseLevel(directory, level);
+        populate();
+    }
+
+    /**
+     * Parses and populates the given level data, exactly like GameMode.reset().
+     *
+     * @param levelData the Tiled level JSON
+     */
+    public void loadLevel(JsonValue levelData) {
+        parser.parseLevel(levelData);
+        populate();
+    }
+
+    /**
+     * Restarts the loaded level in place, exactly like replaying it from GameMode.
+     */
+    public void restart() {
+        gameplayController.restart();
+        resetInput();
+    }
+
+    /**
+     * Re-populates the current (already parsed) level in a fresh world.
+     */
+    public void populate() {
+        bounds.set(0, 0, parser.getWorldSize().x, parser.getWorldSize().y);
+        gameplayController.setBounds(bounds);
+        gameplayController.reset();
+        resetInput();
+    }
+
+    /**
+     * Rewinds the input script and the frame counter.
+     */
+    private void resetInput() {
+        input = new ScriptedInputController(script, gameplayController.getLevelContainer().getUmbrella().isOpen());
+        frame = 0;
+    }
+
+    /**
+     * Advances the simulation by one fixed frame.
+     *
+     * @return whether the level is still running (neither completed nor failed)
+     */
+    public boolean step() {
+        update();
+        postUpdate();
+        return !isDone();
+    }
+
+    /**
+     * First half of a frame: reads the scripted input and runs GameplayController.update.
+     */
+    public void update() {
+        input.readInput(bounds, scale);
+        if (!isDone()) {
+            gameplayController.update(input, GameplayController.WORLD_STEP);
+        }
+    }
+
+    /**
+     * Second half of a frame: runs GameplayController.postUpdate (world step, object updates).
+     */
+    public void postUpdate() {
+        gameplayController.postUpdate(GameplayController.WORLD_STEP);
+        frame++;
+    }
+
+    /**
+     * Advances the simulation until the level ends or the frame limit is hit.
+     *
+     * @param maxFrames maximum number of frames to step
+     * @return number of frames stepped
+     */
+    public int run(int maxFrames) {
+        int n = 0;
+        while (n < maxFrames) {
+            n++;
+            if (!step()) break;
+        }
+        return n;
+    }
+
+    /** @return whether the level has been completed or failed */
+    public boolean isDone() {
+        return gameplayController.isCompleted() || gameplayController.isFailed();
+    }
+
+    /** @return number of frames stepped since the last level load */
+    public int getFrame() {
+        return frame;
+    }
+
+    /** @return the gameplay controller being driven */
+    public GameplayController getGameplayController() {
+        return gameplayController;
+    }
+
+    /** @return the level parser */
+    public LevelParser getParser() {
+        return parser;
+    }
+
+    /** @return the asset directory */
+    public AssetDirectory getDirectory() {
+        return directory;
+    }
+
+    /**
+     * @return one-line summary of the current state, suitable for regression diffs
+     */
+    public String describe() {
+        PlayerModel avatar = gameplayController.getPlayer();
+        String state = gameplayController.isCompleted() ? "completed"
+                : gameplayController.isFailed() ? "failed" : "running";
+        return String.format("frame=%d state=%s pos=(%.4f, %.4f) vel=(%.4f, %.4f) health=%d",
+                frame, state, avatar.getX(), avatar.getY(), avatar.getVX(), avatar.getVY(), avatar.getHealth());
+    }
+
+    /**
+     * Releases the physics world and, if owned, the assets.
+     */
+    public void dispose() {
+        gameplayController.dispose();
+        if (ownsDirectory) {
+            directory.unloadAssets();
+            directory.dispose();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.mygdx.game.headless;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.physics.box2d.Box2D;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.JsonValue;
+import com.badlogic.gdx.utils.StreamUtils;
+import com.mygdx.game.LevelParser;
+import com.mygdx.game.utility.assets.AssetDirectory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Build-time level compiler: parses every Tiled level once and writes it in the precompiled
+ * format that LevelParser.parseCompiledLevel() loads at runtime.
+ * <br>
+ * Usage (working directory must be the assets folder):
+ * <pre>
+ * LevelCompiler [output folder]
+ * </pre>
+ * The output folder defaults to LevelParser.COMPILED_DIRECTORY inside the assets folder.
+ */
+public class LevelCompiler extends ApplicationAdapter {
+
+    private final String outputDir;
+
+    public LevelCompiler(String outputDir) {
+        this.outputDir = outputDir;
+    }
+
+    @Override
+    public void create() {
+        // stickers build Box2D shapes for their bounding boxes
+        Box2D.init();
+        AssetDirectory directory = HeadlessSimulation.loadAssets("assets.json");
+        int levelCount = directory.getEntry("global:constants", JsonValue.class).getInt("levelCount");
+        FileHandle output = Gdx.files.local(outputDir);
+        output.mkdirs();
+
+        long start = System.nanoTime();
+        for (int level = 1; level <= levelCount; level++) {
+            // a fresh parser per level, so that nothing carries over between levels
+            LevelParser parser = new LevelParser(directory);
+            parser.parseLevel(directory.getEntry("tiled:level" + level, JsonValue.class));
+
+            FileHandle file = output.child("level" + level + LevelParser.COMPILED_EXTENSION);
+            OutputStream out = file.write(false);
+            try {
+                parser.writeCompiledLevel(out, parser.getLevelFingerprint(directory, level));
+            } catch (IOException e) {
+                throw new GdxRuntimeException("Couldn't write precompiled level: " + file, e);
+            } finally {
+                StreamUtils.closeQuietly(out);
+            }
+            System.out.printf("level %d -> %s (%d bytes)%n", level, file.path(), file.length());
+        }
+        System.out.printf("compiled %d levels in %.1f ms%n", levelCount, (System.nanoTime() - start) / 1e6);
+
+        directory.unloadAssets();
+        directory.dispose();
+        Gdx.app.exit();
+    }
+
+    public static void main(String[] arg) {
+        String outputDir = arg.length > 0 ? arg[0] : LevelParser.COMPILED_DIRECTORY;
+        HeadlessApplicationConfiguration config = new HeadlessApplicationConfiguration();
+        config.updatesPerSecond = -1;
+        new HeadlessApplication(new LevelCompiler(outputDir), config);
+    }
+}
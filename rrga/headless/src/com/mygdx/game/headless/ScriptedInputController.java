@@ -0,0 +1,132 @@
+package com.mygdx.game.headless;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.JsonValue;
+import com.mygdx.game.InputController;
+
+/**
+ * Input controller that replays a fixed script instead of polling devices.
+ * <br>
+ * A script is a JSON array of segments, each held for a number of frames:
+ * <pre>
+ * [ { "frames": 60, "horizontal": 1, "aim": 30, "open": true, "lighter": false, "zoom": false }, ... ]
+ * </pre>
+ * "aim" is the umbrella angle in degrees, counter-clockwise from straight up (the same angle
+ * the game derives from the mouse). "open" is the desired umbrella state; a toggle is issued
+ * whenever the current state differs. When the script runs out the last segment is held.
+ */
+public class ScriptedInputController extends InputController {
+
+    /** distance (in screen pixels) of the fake cursor from the screen center */
+    private static final float AIM_RADIUS = 100f;
+
+    /** the script segments */
+    private final JsonValue script;
+
+    /** the segment currently replayed */
+    private JsonValue segment;
+    /** frames remaining in the current segment */
+    private int remaining;
+
+    /** umbrella state we expect the game to be in */
+    private boolean umbrellaOpen;
+
+    private float horizontal;
+    private boolean toggle;
+    private boolean lighter;
+    private boolean zoom;
+    private final Vector2 mouse = new Vector2();
+
+    /**
+     * Creates a scripted controller.
+     *
+     * @param script JSON array of input segments (may be null or empty for no input)
+     * @param umbrellaOpen whether the umbrella starts open
+     */
+    public ScriptedInputController(JsonValue script, boolean umbrellaOpen) {
+        this.script = script;
+        this.umbrellaOpen = umbrellaOpen;
+        segment = script != null ? script.child : null;
+        remaining = segment != null ? segment.getInt("frames", 1) : 0;
+        secondaryControlMode = false;
+    }
+
+    /**
+     * Advances the script by one frame. Bounds and scale are ignored.
+     */
+    @Override
+    public void readInput(Rectangle bounds, Vector2 scale) {
+        while (segment != null && remaining <= 0 && segment.next != null) {
+            segment = segment.next;
+            remaining = segment.getInt("frames", 1);
+        }
+        remaining--;
+
+        if (segment == null) {
+            horizontal = 0;
+            toggle = lighter = zoom = false;
+            setAim(0);
+            return;
+        }
+        horizontal = segment.getFloat("horizontal", 0);
+        lighter = segment.getBoolean("lighter", false);
+        zoom = segment.getBoolean("zoom", false);
+        boolean open = segment.getBoolean("open", umbrellaOpen);
+        toggle = open != umbrellaOpen;
+        umbrellaOpen = open;
+        setAim(segment.getFloat("aim", 0));
+    }
+
+    /**
+     * Places the fake cursor so that the game computes the given umbrella angle.
+     *
+     * @param degrees angle counter-clockwise from straight up
+     */
+    private void setAim(float degrees) {
+        float cx = Gdx.graphics.getWidth() / 2f;
+        float cy = Gdx.graphics.getHeight() / 2f;
+        float dx = -MathUtils.sinDeg(degrees) * AIM_RADIUS;
+        float dy = MathUtils.cosDeg(degrees) * AIM_RADIUS;
+        // screen coordinates have y pointing down
+        mouse.set(cx + dx, Gdx.graphics.getHeight() - (cy + dy));
+    }
+
+    @Override
+    public Vector2 getMousePos() { return mouse; }
+
+    @Override
+    public float getHorizontal() { return horizontal; }
+
+    @Override
+    public float getMouseMovement() { return 0; }
+
+    @Override
+    public boolean getLighter() { return lighter; }
+
+    @Override
+    public boolean didReset() { return false; }
+
+    @Override
+    public boolean didDebug() { return false; }
+
+    @Override
+    public boolean didNext() { return false; }
+
+    @Override
+    public boolean didExit() { return false; }
+
+    @Override
+    public boolean didToggle() { return toggle; }
+
+    @Override
+    public boolean isToggleHeld() { return umbrellaOpen; }
+
+    @Override
+    public boolean didPause() { return false; }
+
+    @Override
+    public boolean didZoom() { return zoom; }
+}
@@ -0,0 +1,56 @@
+package com.mygdx.game.headless;
+
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.IntBuffer;
+
+/**
+ * A do-nothing OpenGL implementation for running without a GL context.
+ * <br>
+ * The headless backend leaves Gdx.gl unset, but our asset pipeline still creates
+ * textures (level container, parser tilesets, fonts). Every GL call on this stub is a
+ * no-op that returns the zero value of its return type, so textures keep their pixmap
+ * dimensions and regions/filmstrips can be built without ever touching a GPU.
+ * <br>
+ * Shader creation, compile and link queries report success, so sprite batches (and with them
+ * GameCanvas) can also be created; their draw calls then only cost the CPU side.
+ */
+public class StubGL20 {
+
+    /**
+     * @return a GL20 instance on which every call is a no-op
+     */
+    public static GL20 create() {
+        // the stub reports no active uniforms, do not fail on lookups
+        ShaderProgram.pedantic = false;
+        return (GL20) Proxy.newProxyInstance(GL20.class.getClassLoader(), new Class<?>[]{GL20.class},
+                new InvocationHandler() {
+                    @Override
+                    public Object invoke(Object proxy, Method method, Object[] args) {
+                        String name = method.getName();
+                        if (name.equals("glGetShaderiv") || name.equals("glGetProgramiv")) {
+                            int pname = (Integer) args[1];
+                            boolean ok = pname == GL20.GL_COMPILE_STATUS || pname == GL20.GL_LINK_STATUS;
+                            ((IntBuffer) args[2]).put(0, ok ? 1 : 0);
+                            return null;
+                        }
+                        // shader/program/buffer handles must be non-zero to count as created
+                        if (name.equals("glCreateShader") || name.equals("glCreateProgram")
+                                || name.equals("glGenBuffer")) return 1;
+                        Class<?> type = method.getReturnType();
+                        if (type == boolean.class) return false;
+                        if (type == int.class) return 0;
+                        if (type == float.class) return 0f;
+                        if (type == long.class) return 0L;
+                        if (type == String.class) return "";
+                        return null;
+                    }
+                });
+    }
+
+    private StubGL20() {}
+}